@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.core;
+
+import java.util.ArrayDeque;
+
+import android.os.Handler;
+import android.os.Looper;
+
+/**
+ * Dispatcher delivering the results of completed WorkerTasks and WorkerFutures on the main UI thread.
+ * One shared Handler is used and all tasks completing before the main thread handles the posted message
+ * are delivered together in one batch. Dispatching a task does not allocate new objects.
+ */
+final class MainThreadDispatcher implements Runnable {
+
+    private final Handler handler;
+    private final Object lock = new Object();
+    private ArrayDeque<Delivery> pending = new ArrayDeque<>();
+    private ArrayDeque<Delivery> batch = new ArrayDeque<>();
+    private boolean scheduled;
+
+    private MainThreadDispatcher() {
+        this(new Handler(Looper.getMainLooper()));
+    }
+
+    /**
+     * Construct a new MainThreadDispatcher posting its batches to the given Handler
+     *
+     * @param handler of the main UI thread
+     */
+    MainThreadDispatcher(Handler handler) {
+        this.handler = handler;
+    }
+
+    /**
+     * Get the instance of this MainThreadDispatcher
+     *
+     * @return the instance of this MainThreadDispatcher
+     */
+    static MainThreadDispatcher getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Dispatch the completed task, the result of the task will be delivered on the main UI thread.
+     *
+     * @param task that has been completed
+     */
+    void dispatch(Delivery task) {
+        synchronized (lock) {
+            pending.add(task);
+            if (scheduled) {
+                return;
+            }
+            scheduled = true;
+        }
+        handler.post(this);
+    }
+
+    /**
+     * Deliver the results of all tasks that have been dispatched since the previous batch.
+     * This method is called on the main UI thread.
+     */
+    @Override
+    public void run() {
+        ArrayDeque<Delivery> tasks;
+        synchronized (lock) {
+            tasks = pending;
+            pending = batch;
+            batch = tasks;
+            scheduled = false;
+        }
+        Delivery task;
+        while ((task = tasks.poll()) != null) {
+            task.deliver();
+        }
+    }
+
+    /**
+     * Interface implemented by tasks of which the result is delivered on the main UI thread
+     */
+    interface Delivery {
+
+        /**
+         * Deliver the result of the completed task, this method is called on the main UI thread.
+         */
+        void deliver();
+    }
+
+    private static class InstanceHolder {
+        static final MainThreadDispatcher INSTANCE = new MainThreadDispatcher();
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.core;
+
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded executor running queued tasks in order of their priority, tasks with the same priority are run in the
+ * order in which they were submitted. Idle threads are stopped after the keep alive time.
+ */
+public final class PriorityExecutor extends ThreadPoolExecutor {
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+
+    /**
+     * Construct a new PriorityExecutor
+     *
+     * @param name used to name the threads of this executor
+     * @param poolSize maximum number of threads running tasks at the same time
+     * @param keepAliveSeconds number of seconds an idle thread is kept alive
+     * @param threadPriority the java.lang.Thread priority of the threads
+     */
+    public PriorityExecutor(String name, int poolSize, long keepAliveSeconds, int threadPriority) {
+        super(poolSize, poolSize, keepAliveSeconds, TimeUnit.SECONDS, new PriorityBlockingQueue<>(),
+            new NamedThreadFactory(name, threadPriority));
+        allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Execute the task with the priority of the WorkerTask, other tasks are executed with the normal priority.
+     *
+     * @param command the task to execute
+     */
+    @Override
+    public void execute(Runnable command) {
+        if (command instanceof PriorityRunnable) {
+            super.execute(command);
+        } else {
+            int priority = command instanceof WorkerTask ? ((WorkerTask<?>) command).getPriority() : Workers.PRIORITY_NORMAL;
+            execute(command, priority);
+        }
+    }
+
+    /**
+     * Execute the task with the given priority
+     *
+     * @param command the task to execute
+     * @param priority of the task, i.e. Workers.PRIORITY_HIGH
+     */
+    public void execute(Runnable command, int priority) {
+        if (command == null) {
+            throw new NullPointerException("command cannot be null");
+        }
+        super.execute(new PriorityRunnable(command, priority, sequence.getAndIncrement()));
+        updateMaxQueueDepth();
+    }
+
+    /**
+     * Set the maximum number of threads running tasks at the same time
+     *
+     * @param poolSize the maximum number of threads
+     */
+    public void setPoolSize(int poolSize) {
+        if (poolSize < 1) {
+            throw new IllegalArgumentException("poolSize must be larger than 0");
+        }
+        if (poolSize > getMaximumPoolSize()) {
+            setMaximumPoolSize(poolSize);
+            setCorePoolSize(poolSize);
+        } else {
+            setCorePoolSize(poolSize);
+            setMaximumPoolSize(poolSize);
+        }
+    }
+
+    /**
+     * Get the number of tasks waiting in the queue to be executed
+     *
+     * @return the current queue depth
+     */
+    public int getQueueDepth() {
+        return getQueue().size();
+    }
+
+    /**
+     * Get the largest number of tasks that have been waiting in the queue at the same time
+     *
+     * @return the maximum queue depth
+     */
+    public int getMaxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+
+    private void updateMaxQueueDepth() {
+        int depth = getQueueDepth();
+        int max;
+        do {
+            max = maxQueueDepth.get();
+        } while (depth > max && !maxQueueDepth.compareAndSet(max, depth));
+    }
+
+    /**
+     * Runnable wrapper ordered by priority and sequence number in the queue of this executor
+     */
+    private static final class PriorityRunnable implements Runnable, Comparable<PriorityRunnable> {
+        private final Runnable runnable;
+        private final int priority;
+        private final long sequence;
+
+        PriorityRunnable(Runnable runnable, int priority, long sequence) {
+            this.runnable = runnable;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public void run() {
+            runnable.run();
+        }
+
+        @Override
+        public int compareTo(PriorityRunnable other) {
+            if (priority != other.priority) {
+                return priority > other.priority ? -1 : 1;
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+
+    /**
+     * ThreadFactory creating named threads with the given thread priority
+     */
+    private static final class NamedThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+        private final String name;
+        private final int threadPriority;
+
+        NamedThreadFactory(String name, int threadPriority) {
+            this.name = name;
+            this.threadPriority = threadPriority;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(threadPriority);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.core;
+
+/**
+ * Combiner creating one result from the results of two WorkerFutures in a background thread
+ */
+public interface WorkerCombiner<A, B, R> {
+
+    /**
+     * Combine the results of both completed WorkerFutures
+     *
+     * @param first the result of the first WorkerFuture
+     * @param second the result of the second WorkerFuture
+     * @return the combined result
+     */
+    R combine(A first, B second) throws Exception;
+}
@@ -0,0 +1,23 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.core;
+
+/**
+ * Function applied to the result of a WorkerFuture in a background thread
+ */
+public interface WorkerFunction<T, R> {
+
+    /**
+     * Apply this function to the result of the completed WorkerFuture
+     *
+     * @param value the result of the completed WorkerFuture
+     * @return the result of this function
+     */
+    R apply(T value) throws Exception;
+}
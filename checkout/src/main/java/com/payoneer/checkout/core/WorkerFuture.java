@@ -0,0 +1,430 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A WorkerFuture represents one stage of an asynchronous pipeline. Stages run on a PriorityExecutor and can be
+ * composed with then, combine, all and timeout. Cancelling a stage also cancels all stages it depends on,
+ * which allows a complete pipeline to be cancelled as a unit by cancelling its last stage.
+ * <p>
+ * Like the WorkerTask, the WorkerSubscriber is notified on the main UI Thread and must be subscribed or unsubscribed
+ * on the main UI Thread. The WorkerSubscriber is not notified when the WorkerFuture has been cancelled.
+ */
+public final class WorkerFuture<V> implements MainThreadDispatcher.Delivery {
+
+    private final static int PENDING = 0;
+    private final static int SUCCESS = 1;
+    private final static int ERROR = 2;
+    private final static int CANCELLED = 3;
+
+    private final PriorityExecutor executor;
+    private final int priority;
+    private final List<WorkerFuture<?>> sources;
+    private List<Runnable> listeners = new ArrayList<>();
+
+    private int state;
+    private V result;
+    private Throwable error;
+    private Future<?> execution;
+
+    /** Set from the main UI Thread, read by the completing stage to decide whether it must be delivered */
+    private volatile WorkerSubscriber<V> subscriber;
+
+    /** Only accessed from the main UI Thread */
+    private boolean notified;
+
+    private WorkerFuture(PriorityExecutor executor, int priority, WorkerFuture<?>... sources) {
+        this.executor = executor;
+        this.priority = priority;
+        this.sources = Arrays.asList(sources);
+    }
+
+    /**
+     * Create a new WorkerFuture running the Callable on the executor with the given priority
+     *
+     * @param callable the Callable to run in the background
+     * @param executor on which the Callable and all following stages are run
+     * @param priority of the Callable and all following stages, i.e. Workers.PRIORITY_HIGH
+     * @return newly created WorkerFuture
+     */
+    public static <V> WorkerFuture<V> fromCallable(Callable<V> callable, PriorityExecutor executor, int priority) {
+        WorkerFuture<V> future = new WorkerFuture<>(executor, priority);
+        future.execute(callable);
+        return future;
+    }
+
+    /**
+     * Create a new WorkerFuture which is already completed with the given value
+     *
+     * @param value the result of the WorkerFuture
+     * @param executor on which all following stages are run
+     * @param priority of all following stages
+     * @return newly created and completed WorkerFuture
+     */
+    public static <V> WorkerFuture<V> fromValue(V value, PriorityExecutor executor, int priority) {
+        WorkerFuture<V> future = new WorkerFuture<>(executor, priority);
+        future.complete(value);
+        return future;
+    }
+
+    /**
+     * Create a new WorkerFuture applying the function to the result of this WorkerFuture once it has completed successfully.
+     * An error or cancellation of this WorkerFuture is passed on to the new WorkerFuture.
+     *
+     * @param function to be applied to the result of this WorkerFuture
+     * @return newly created WorkerFuture
+     */
+    public <R> WorkerFuture<R> then(final WorkerFunction<? super V, ? extends R> function) {
+        final WorkerFuture<R> next = new WorkerFuture<>(executor, priority, this);
+        addListener(() -> {
+            if (next.completeWithFailure(this)) {
+                return;
+            }
+            final V value = getResult();
+            next.execute(() -> function.apply(value));
+        });
+        return next;
+    }
+
+    /**
+     * Create a new WorkerFuture combining the results of both WorkerFutures once both have completed successfully.
+     * If one of them fails or is cancelled then the new WorkerFuture fails or is cancelled and the other is cancelled.
+     *
+     * @param first the first WorkerFuture
+     * @param second the second WorkerFuture
+     * @param combiner creating the result from the results of both WorkerFutures
+     * @return newly created WorkerFuture
+     */
+    public static <A, B, R> WorkerFuture<R> combine(final WorkerFuture<A> first, final WorkerFuture<B> second,
+        final WorkerCombiner<? super A, ? super B, ? extends R> combiner) {
+        final WorkerFuture<R> next = new WorkerFuture<>(first.executor, first.priority, first, second);
+        Runnable listener = () -> {
+            if (next.completeWithFailure(first) || next.completeWithFailure(second)) {
+                return;
+            }
+            if (first.isSuccess() && second.isSuccess()) {
+                final A firstValue = first.getResult();
+                final B secondValue = second.getResult();
+                next.execute(() -> combiner.combine(firstValue, secondValue));
+            }
+        };
+        first.addListener(listener);
+        second.addListener(listener);
+        return next;
+    }
+
+    /**
+     * Create a new WorkerFuture containing the results of all WorkerFutures, in the same order, once all of them
+     * have completed successfully. If one of them fails or is cancelled then the new WorkerFuture fails or is
+     * cancelled and the others are cancelled.
+     *
+     * @param futures the list of WorkerFutures
+     * @param executor on which all following stages are run
+     * @param priority of all following stages
+     * @return newly created WorkerFuture
+     */
+    public static <V> WorkerFuture<List<V>> all(final List<WorkerFuture<V>> futures, PriorityExecutor executor, int priority) {
+        final WorkerFuture<List<V>> next = new WorkerFuture<>(executor, priority, futures.toArray(new WorkerFuture<?>[0]));
+        if (futures.isEmpty()) {
+            next.complete(Collections.emptyList());
+            return next;
+        }
+        Runnable listener = () -> {
+            List<V> results = new ArrayList<>(futures.size());
+            for (WorkerFuture<V> future : futures) {
+                if (next.completeWithFailure(future)) {
+                    return;
+                }
+                if (!future.isSuccess()) {
+                    return;
+                }
+                results.add(future.getResult());
+            }
+            next.complete(results);
+        };
+        for (WorkerFuture<V> future : futures) {
+            future.addListener(listener);
+        }
+        return next;
+    }
+
+    /**
+     * Create a new WorkerFuture which fails with a TimeoutException if this WorkerFuture has not completed
+     * within the given time. This WorkerFuture and its sources are cancelled when the timeout occurs.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit the time unit of the timeout
+     * @return newly created WorkerFuture
+     */
+    public WorkerFuture<V> timeout(long timeout, TimeUnit unit) {
+        final WorkerFuture<V> next = new WorkerFuture<>(executor, priority, this);
+        final ScheduledFuture<?> timer = TimerHolder.TIMER.schedule(() -> {
+            if (next.fail(new TimeoutException("WorkerFuture timed out after " + unit.toMillis(timeout) + "ms"))) {
+                next.cancelSources();
+            }
+        }, timeout, unit);
+
+        addListener(() -> {
+            timer.cancel(false);
+            if (!next.completeWithFailure(this)) {
+                next.complete(getResult());
+            }
+        });
+        return next;
+    }
+
+    /**
+     * Create a new WorkerFuture completing with the result of this WorkerFuture. Cancelling the new WorkerFuture
+     * does not cancel this WorkerFuture, which allows this WorkerFuture to be shared by multiple pipelines.
+     *
+     * @return newly created WorkerFuture
+     */
+    public WorkerFuture<V> share() {
+        final WorkerFuture<V> next = new WorkerFuture<>(executor, priority);
+        addListener(() -> {
+            if (!next.completeWithFailure(this)) {
+                next.complete(getResult());
+            }
+        });
+        return next;
+    }
+
+    /**
+     * Cancel this WorkerFuture and all WorkerFutures it depends on. A running stage is interrupted.
+     *
+     * @return true when cancelled, false if this WorkerFuture was already completed
+     */
+    public boolean cancel() {
+        Future<?> running;
+        synchronized (this) {
+            if (state != PENDING) {
+                return false;
+            }
+            state = CANCELLED;
+            running = execution;
+        }
+        if (running != null) {
+            running.cancel(true);
+        }
+        cancelSources();
+        notifyListeners();
+        return true;
+    }
+
+    /**
+     * Subscribe the WorkerSubscriber to this WorkerFuture, this subscriber will be notified when the WorkerFuture
+     * is successful or has failed. If this WorkerFuture has already completed then the subscriber will be notified
+     * in the next main looper message.
+     *
+     * @param subscriber the subscriber to assign to this WorkerFuture
+     */
+    public void subscribe(WorkerSubscriber<V> subscriber) {
+        this.subscriber = subscriber;
+        if (isDone() && !notified) {
+            MainThreadDispatcher.getInstance().dispatch(this);
+        }
+    }
+
+    /**
+     * Unsubscribe from this WorkerFuture, the subscriber will not be notified anymore
+     */
+    public void unsubscribe() {
+        this.subscriber = null;
+    }
+
+    /**
+     * Check if a Subscriber has been subscribed to this WorkerFuture.
+     *
+     * @return true when subscribed, false otherwise
+     */
+    public boolean isSubscribed() {
+        return subscriber != null;
+    }
+
+    /**
+     * Check if this WorkerFuture has completed, failed or has been cancelled
+     *
+     * @return true when done, false otherwise
+     */
+    public synchronized boolean isDone() {
+        return state != PENDING;
+    }
+
+    /**
+     * Check if this WorkerFuture has been cancelled
+     *
+     * @return true when cancelled, false otherwise
+     */
+    public synchronized boolean isCancelled() {
+        return state == CANCELLED;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deliver() {
+        WorkerSubscriber<V> current = subscriber;
+        if (current == null || notified) {
+            return;
+        }
+        int currentState;
+        synchronized (this) {
+            currentState = state;
+        }
+        if (currentState == SUCCESS) {
+            notified = true;
+            current.onSuccess(getResult());
+        } else if (currentState == ERROR) {
+            notified = true;
+            current.onError(getError());
+        }
+    }
+
+    private synchronized boolean isSuccess() {
+        return state == SUCCESS;
+    }
+
+    private synchronized V getResult() {
+        return result;
+    }
+
+    private synchronized Throwable getError() {
+        return error;
+    }
+
+    private void execute(final Callable<? extends V> callable) {
+        FutureTask<Void> task = new FutureTask<>(() -> {
+            try {
+                complete(callable.call());
+            } catch (Exception e) {
+                fail(e);
+            }
+        }, null);
+
+        synchronized (this) {
+            if (state != PENDING || execution != null) {
+                return;
+            }
+            execution = task;
+        }
+        executor.execute(task, priority);
+    }
+
+    private boolean complete(V value) {
+        synchronized (this) {
+            if (state != PENDING) {
+                return false;
+            }
+            state = SUCCESS;
+            result = value;
+        }
+        onCompleted();
+        return true;
+    }
+
+    private boolean fail(Throwable cause) {
+        synchronized (this) {
+            if (state != PENDING) {
+                return false;
+            }
+            state = ERROR;
+            error = cause;
+        }
+        onCompleted();
+        return true;
+    }
+
+    /**
+     * Complete this WorkerFuture with the error or cancellation of the source.
+     *
+     * @param source the WorkerFuture this WorkerFuture depends on
+     * @return true when the source failed or was cancelled, false otherwise
+     */
+    private boolean completeWithFailure(WorkerFuture<?> source) {
+        int sourceState;
+        synchronized (source) {
+            sourceState = source.state;
+        }
+        if (sourceState == ERROR) {
+            if (fail(source.getError())) {
+                cancelSources();
+            }
+            return true;
+        }
+        if (sourceState == CANCELLED) {
+            cancel();
+            return true;
+        }
+        return false;
+    }
+
+    private void cancelSources() {
+        for (WorkerFuture<?> source : sources) {
+            source.cancel();
+        }
+    }
+
+    private void onCompleted() {
+        notifyListeners();
+        // stages without a subscriber, i.e. intermediate stages of a pipeline, do not post to the main thread.
+        // A subscriber subscribing after completion is dispatched by subscribe()
+        if (subscriber != null) {
+            MainThreadDispatcher.getInstance().dispatch(this);
+        }
+    }
+
+    private void addListener(Runnable listener) {
+        synchronized (this) {
+            if (state == PENDING) {
+                listeners.add(listener);
+                return;
+            }
+        }
+        listener.run();
+    }
+
+    private void notifyListeners() {
+        List<Runnable> current;
+        synchronized (this) {
+            current = listeners;
+            listeners = Collections.emptyList();
+        }
+        for (Runnable listener : current) {
+            listener.run();
+        }
+    }
+
+    private static class TimerHolder {
+        static final ScheduledExecutorService TIMER = createTimer();
+
+        private static ScheduledExecutorService createTimer() {
+            ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "checkout-timer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            timer.setRemoveOnCancelPolicy(true);
+            return timer;
+        }
+    }
+}
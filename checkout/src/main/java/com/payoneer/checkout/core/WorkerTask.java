@@ -12,29 +12,52 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.FutureTask;
 
-import android.os.Handler;
-import android.os.Looper;
-
 /**
  * A WorkerTask executing one Callable and notifying the WorkerSubscriber once it is completed.
  * The WorkerSubscriber must be subscribed or unsubscribed on the main UI Thread.
+ * The WorkerSubscriber is not notified when the WorkerTask has been cancelled.
+ * Results are delivered on the main UI Thread through the shared MainThreadDispatcher.
  */
-public final class WorkerTask<V> extends FutureTask<V> {
+public final class WorkerTask<V> extends FutureTask<V> implements MainThreadDispatcher.Delivery {
 
+    private final int priority;
     private WorkerSubscriber<V> subscriber;
+    private V result;
+    private Throwable error;
 
-    private WorkerTask(Callable<V> callable) {
+    private WorkerTask(Callable<V> callable, int priority) {
         super(callable);
+        this.priority = priority;
     }
 
     /**
-     * Create a new WorkerTask from the Callable
+     * Create a new WorkerTask from the Callable with the normal priority
      *
      * @param callable the Callable from which the WorkerTask is created
      * @return newly created WorkerTask
      */
     public static <V> WorkerTask<V> fromCallable(Callable<V> callable) {
-        return new WorkerTask<>(callable);
+        return new WorkerTask<>(callable, Workers.PRIORITY_NORMAL);
+    }
+
+    /**
+     * Create a new WorkerTask from the Callable with the given priority
+     *
+     * @param callable the Callable from which the WorkerTask is created
+     * @param priority of the task, i.e. Workers.PRIORITY_HIGH
+     * @return newly created WorkerTask
+     */
+    public static <V> WorkerTask<V> fromCallable(Callable<V> callable, int priority) {
+        return new WorkerTask<>(callable, priority);
+    }
+
+    /**
+     * Get the priority of this WorkerTask
+     *
+     * @return the priority
+     */
+    public int getPriority() {
+        return priority;
     }
 
     /**
@@ -67,34 +90,32 @@ public final class WorkerTask<V> extends FutureTask<V> {
      */
     @Override
     protected void done() {
+        if (isCancelled()) {
+            // the subscriber is not notified about cancelled tasks
+            return;
+        }
         try {
-            callSuccessOnMainThread(get());
+            result = get();
         } catch (InterruptedException e) {
-            callErrorOnMainThread(e);
+            error = e;
         } catch (ExecutionException e) {
-            callErrorOnMainThread(e.getCause());
+            error = e.getCause();
         }
+        MainThreadDispatcher.getInstance().dispatch(this);
     }
 
-    private void callSuccessOnMainThread(V result) {
-        Handler handler = new Handler(Looper.getMainLooper());
-        handler.post(new Runnable() {
-            public void run() {
-                if (subscriber != null) {
-                    subscriber.onSuccess(result);
-                }
-            }
-        });
-    }
-
-    private void callErrorOnMainThread(Throwable throwable) {
-        Handler handler = new Handler(Looper.getMainLooper());
-        handler.post(new Runnable() {
-            public void run() {
-                if (subscriber != null) {
-                    subscriber.onError(throwable);
-                }
-            }
-        });
+    /**
+     * Deliver the result or error of this task to the subscriber, this method is called on the main UI thread.
+     */
+    @Override
+    public void deliver() {
+        if (subscriber == null) {
+            return;
+        }
+        if (error != null) {
+            subscriber.onError(error);
+        } else {
+            subscriber.onSuccess(result);
+        }
     }
 }
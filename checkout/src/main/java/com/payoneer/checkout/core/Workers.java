@@ -8,21 +8,38 @@
 
 package com.payoneer.checkout.core;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-
 /**
- * The Singleton class maintaining a list of Workers processing background tasks
+ * The Singleton class maintaining a list of Workers processing background tasks.
+ * All executors are bounded and run queued tasks in order of their priority, i.e. loading the payment session
+ * and posting operations are run before loading localizations. CPU bound work, i.e. calculating list differences,
+ * is run by the compute executor so that it never takes a thread needed by a network request.
  */
 public final class Workers {
 
-    private final ExecutorService networkService;
+    /** Priority for background work that may be delayed, i.e. revalidating cached files */
+    public final static int PRIORITY_LOW = 0;
+
+    /** Default priority, i.e. loading localizations */
+    public final static int PRIORITY_NORMAL = 1;
+
+    /** Priority for work the user is waiting for, i.e. loading the payment session or posting an operation */
+    public final static int PRIORITY_HIGH = 2;
+
+    private final static int NETWORK_POOL_SIZE = 6;
+    private final static int IMAGE_POOL_SIZE = 3;
+    private final static int COMPUTE_POOL_SIZE = 1;
+    private final static long KEEP_ALIVE_SECONDS = 30;
+
+    private final PriorityExecutor networkService;
+
+    private final PriorityExecutor imageService;
 
-    private final ExecutorService imageService;
+    private final PriorityExecutor computeService;
 
     private Workers() {
-        this.networkService = Executors.newCachedThreadPool();
-        this.imageService = Executors.newCachedThreadPool();
+        this.networkService = new PriorityExecutor("checkout-network", NETWORK_POOL_SIZE, KEEP_ALIVE_SECONDS, Thread.NORM_PRIORITY);
+        this.imageService = new PriorityExecutor("checkout-image", IMAGE_POOL_SIZE, KEEP_ALIVE_SECONDS, Thread.MIN_PRIORITY);
+        this.computeService = new PriorityExecutor("checkout-compute", COMPUTE_POOL_SIZE, KEEP_ALIVE_SECONDS, Thread.NORM_PRIORITY);
     }
 
     /**
@@ -39,7 +56,7 @@ public final class Workers {
      *
      * @return the network executor for network tasks
      */
-    public ExecutorService forNetworkTasks() {
+    public PriorityExecutor forNetworkTasks() {
         return networkService;
     }
 
@@ -48,10 +65,19 @@ public final class Workers {
      *
      * @return the image executor for image tasks
      */
-    public ExecutorService forImageTasks() {
+    public PriorityExecutor forImageTasks() {
         return imageService;
     }
 
+    /**
+     * Get the WorkerExecutor for CPU bound tasks
+     *
+     * @return the compute executor for CPU bound tasks
+     */
+    public PriorityExecutor forComputeTasks() {
+        return computeService;
+    }
+
     private static class InstanceHolder {
         static final Workers INSTANCE = new Workers();
     }
@@ -9,21 +9,24 @@
 package com.payoneer.checkout.network;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.OutputStream;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.lang.reflect.Type;
 import java.net.CookieHandler;
 import java.net.CookieManager;
-import java.net.HttpURLConnection;
+import java.net.SocketTimeoutException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
 import com.payoneer.checkout.core.PaymentException;
 import com.payoneer.checkout.model.ErrorInfo;
+import com.payoneer.checkout.util.GsonHelper;
 
 import android.content.Context;
 import android.text.TextUtils;
@@ -38,21 +41,24 @@ abstract class BaseConnection {
     final static String HEADER_ACCEPT = "Accept";
     final static String HEADER_CONTENT_TYPE = "Content-Type";
     final static String VALUE_APP_JSON = "application/json;charset=UTF-8";
+    private final static String HEADER_ETAG = "ETag";
+    private final static String HEADER_LAST_MODIFIED = "Last-Modified";
+    private final static String HEADER_IF_NONE_MATCH = "If-None-Match";
+    private final static String HEADER_IF_MODIFIED_SINCE = "If-Modified-Since";
     private final static int TIMEOUT_CONNECT = 5000;
     private final static int TIMEOUT_READ = 30000;
     private final static String HEADER_USER_AGENT = "User-Agent";
-    private final static String HTTP_GET = "GET";
-    private final static String HTTP_POST = "POST";
-    private final static String HTTP_DELETE = "DELETE";
     private final static String CONTENTTYPE_JSON = "application/json";
     private static volatile String userAgent;
 
+    /** Deadline of the requests made by this connection, may be null */
+    private volatile Deadline deadline;
+
     /**
-     * For now we will use Gson to parse json content
-     * This will be changed at a later stage as no external
-     * libraries should be used
+     * For now we will use Gson to parse json content, all connections share
+     * the Gson instance of the GsonHelper and its TypeAdapters.
      */
-    final Gson gson = new GsonBuilder().create();
+    final GsonHelper gsonHelper = GsonHelper.getInstance();
 
     /**
      * Just a default constructor for classes that do not need a context
@@ -92,147 +98,219 @@ abstract class BaseConnection {
     }
 
     /**
-     * This method will try to close the
-     * HttpURLConnection if it exists
+     * Set the deadline of all requests made by this connection, i.e. the time budget for loading a payment session.
+     * Requests that are already executing are not affected.
+     *
+     * @param deadline the deadline of the requests or null to remove the deadline
+     */
+    public void setDeadline(final Deadline deadline) {
+        this.deadline = deadline;
+    }
+
+    /**
+     * Get the deadline of the requests made by this connection
+     *
+     * @return the deadline or null if the requests have no deadline
+     */
+    Deadline getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * Execute the request with the HttpTransport provided by the TransportProvider within the deadline of this
+     * connection
+     *
+     * @param request the request to execute
+     * @return the response, the caller must close the response
+     */
+    HttpResponse execute(final HttpRequest request) throws IOException {
+        return execute(request, deadline);
+    }
+
+    /**
+     * Execute the request with the HttpTransport provided by the TransportProvider. Idempotent requests failing with
+     * a network error or a temporary error response are retried according to the RetryPolicy of the
+     * TransportProvider, as long as the next attempt can be made within the deadline. The response of the last
+     * attempt is returned to the caller.
      *
-     * @param conn the connection to close
+     * @param request the request to execute
+     * @param deadline of the request, null if the request has no deadline
+     * @return the response, the caller must close the response
      */
-    void close(final HttpURLConnection conn) {
+    HttpResponse execute(final HttpRequest request, final Deadline deadline) throws IOException {
+        TransportProvider provider = TransportProvider.getInstance();
+        RetryPolicy policy = provider.getRetryPolicy();
+        int maxAttempts = request.isIdempotent() ? policy.getMaxAttempts() : 1;
 
-        if (conn != null) {
-            conn.disconnect();
+        for (int attempt = 1; ; attempt++) {
+            HttpRequest limited = limitTimeouts(request, deadline);
+            boolean lastAttempt = attempt >= maxAttempts;
+            HttpResponse response;
+            try {
+                response = provider.getTransport().execute(limited);
+            } catch (IOException e) {
+                if (lastAttempt || !policy.isRetryable(e) || !backoff(policy.getBackoff(attempt), deadline)) {
+                    throw e;
+                }
+                Log.w("checkout-sdk", "Retrying request after failure: " + e);
+                continue;
+            }
+            if (lastAttempt || !policy.isRetryable(response.getStatusCode())) {
+                return response;
+            }
+            long delay = policy.getBackoff(attempt);
+            if (!fitsDeadline(delay, deadline)) {
+                return response;
+            }
+            response.close();
+            backoff(delay, deadline);
         }
     }
 
     /**
-     * Creates a new HTTP GET connection given the String url
+     * Creates a new HTTP GET request given the String url
      *
      * @param url the url pointing to the Payment API
-     * @return HttpURLConnection a HttpURLConnection object
+     * @return the builder of the request
      */
-    HttpURLConnection createGetConnection(final String url) throws IOException {
-        return createGetConnection(new URL(url));
+    HttpRequest.Builder createGetRequest(final String url) throws IOException {
+        return createGetRequest(new URL(url));
     }
 
     /**
-     * Creates a new HTTP GET connection
+     * Creates a new HTTP GET request
      *
      * @param url the Url pointing to the Payment API
-     * @return HttpURLConnection a HttpURLConnection object
+     * @return the builder of the request
      */
-    HttpURLConnection createGetConnection(final URL url) throws IOException {
-        final HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-        setConnProperties(conn);
-        conn.setRequestMethod(HTTP_GET);
-        conn.setDoInput(true);
-        conn.setDoOutput(false);
-        return conn;
+    HttpRequest.Builder createGetRequest(final URL url) {
+        return createRequest(HttpRequest.METHOD_GET, url);
     }
 
     /**
-     * Creates a new HTTP DELETE connection
+     * Creates a new HTTP DELETE request with a json body
      *
      * @param url the Url pointing to the Payment API
-     * @return HttpURLConnection a HttpURLConnection object
+     * @param data the json data send in the body
+     * @return the builder of the request
      */
-    HttpURLConnection createDeleteConnection(final URL url) throws IOException {
-        final HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-        setConnProperties(conn);
-        conn.setRequestMethod(HTTP_DELETE);
-        conn.setDoInput(true);
-        conn.setDoOutput(true);
-        return conn;
+    HttpRequest.Builder createDeleteRequest(final URL url, final String data) {
+        return createRequest(HttpRequest.METHOD_DELETE, url).setBody(data.getBytes(StandardCharsets.UTF_8));
     }
 
     /**
-     * Creates an HTTP POST connection with the given String url
+     * Creates an HTTP POST request with a json body given the String url
      *
-     * @param url the url for the connection
-     * @return HttpURLConnection the created HttpURLConnection
+     * @param url the url for the request
+     * @param data the json data send in the body
+     * @return the builder of the request
      */
-    HttpURLConnection createPostConnection(final String url) throws IOException {
-        return createPostConnection(new URL(url));
+    HttpRequest.Builder createPostRequest(final String url, final String data) throws IOException {
+        return createPostRequest(new URL(url), data);
     }
 
     /**
-     * Creates a HTTP POST connection
+     * Creates an HTTP POST request with a json body
      *
-     * @param url the url for the connection
-     * @return HttpURLConnection the created HttpURLConnection
+     * @param url the url for the request
+     * @param data the json data send in the body
+     * @return the builder of the request
      */
-    HttpURLConnection createPostConnection(final URL url) throws IOException {
-        final HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-        setConnProperties(conn);
-        conn.setRequestMethod(HTTP_POST);
-        conn.setDoInput(true);
-        conn.setDoOutput(true);
-        return conn;
+    HttpRequest.Builder createPostRequest(final URL url, final String data) {
+        return createRequest(HttpRequest.METHOD_POST, url).setBody(data.getBytes(StandardCharsets.UTF_8));
     }
 
     /**
-     * Reads a String from the given Inputstream.
+     * Parse the json content of the response body directly into an object of the given type.
+     * The content is decoded as UTF-8 and never buffered as a complete String.
      *
-     * @param conn the HttpURLConnection to read from
-     * @return the string representation read from the Inputstream
+     * @param response the HttpResponse to read from
+     * @param typeOfT the type of the object to parse
+     * @return the parsed object or null if the body is empty
      */
-    String readFromInputStream(final HttpURLConnection conn) throws IOException {
-
-        try (InputStream in = conn.getInputStream();
-            InputStreamReader ir = new InputStreamReader(in);
-            BufferedReader rd = new BufferedReader(ir)) {
-            return readFromBufferedReader(rd);
+    <T> T readJsonFromBody(final HttpResponse response, final Type typeOfT) throws IOException {
+        // the body is not closed here, closing the response reads the remaining content and releases the connection
+        Reader rd = new BufferedReader(new InputStreamReader(response.getBody(), StandardCharsets.UTF_8));
+        try {
+            return gsonHelper.fromJson(new JsonReader(rd), typeOfT);
+        } catch (JsonParseException e) {
+            // Gson wraps read errors of the stream, these are network failures and not parse errors
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
         }
     }
 
     /**
-     * Reads a String from the error stream
+     * Reads all bytes from the body of the given response.
+     * Reading is stopped with an InterruptedIOException when the current thread has been interrupted.
      *
-     * @param conn the HttpURLConnection to read from
-     * @return the string representation read from the inputstream
+     * @param response the HttpResponse to read from
+     * @return the bytes read from the body
      */
-    private String readFromErrorStream(final HttpURLConnection conn) throws IOException {
+    byte[] readBytesFromBody(final HttpResponse response) throws IOException {
 
-        if (conn.getErrorStream() == null) {
-            return null;
-        }
-        try (InputStream in = conn.getErrorStream();
-            InputStreamReader ir = new InputStreamReader(in);
-            BufferedReader rd = new BufferedReader(ir)) {
-            return readFromBufferedReader(rd);
+        InputStream in = response.getBody();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedIOException("Reading from the InputStream has been interrupted");
+            }
+            out.write(buffer, 0, read);
         }
+        return out.toByteArray();
     }
 
     /**
-     * Write the data to the OutputStream of the
-     * HttpURLConnection with UTF8 encoding
+     * Set the conditional request headers using the validators of the cached entry.
+     * The Payment API will respond with HTTP_NOT_MODIFIED if the cached entry is still valid.
      *
-     * @param conn the conn
-     * @param data the data
+     * @param builder the builder of the request in which the conditional headers are set
+     * @param entry the cached entry containing the ETag and Last-Modified validators
      */
-    void writeToOutputStream(final HttpURLConnection conn, String data) throws IOException {
-
-        try (OutputStream out = conn.getOutputStream()) {
-            out.write(data.getBytes(StandardCharsets.UTF_8));
+    void setCacheValidators(final HttpRequest.Builder builder, final HttpCache.Entry entry) {
+        if (entry == null) {
+            return;
+        }
+        if (!TextUtils.isEmpty(entry.getETag())) {
+            builder.setHeader(HEADER_IF_NONE_MATCH, entry.getETag());
+        }
+        if (!TextUtils.isEmpty(entry.getLastModified())) {
+            builder.setHeader(HEADER_IF_MODIFIED_SINCE, entry.getLastModified());
         }
     }
 
+    /**
+     * Create a new cache entry from the response data and the validators provided in the response headers.
+     *
+     * @param response the HttpResponse containing the response headers
+     * @param data the response data
+     * @return the newly created cache entry
+     */
+    HttpCache.Entry createCacheEntry(final HttpResponse response, final byte[] data) {
+        return new HttpCache.Entry(response.getHeader(HEADER_ETAG), response.getHeader(HEADER_LAST_MODIFIED), data);
+    }
+
     /**
      * Handle the error response from the Payment API
      *
      * @param statusCode the status code
-     * @param conn the conn
+     * @param response the response containing the error
      * @return PaymentException network exception
      */
-    PaymentException createPaymentException(final int statusCode, final HttpURLConnection conn) {
+    PaymentException createPaymentException(final int statusCode, final HttpResponse response) {
         String data;
         ErrorInfo errorInfo = null;
 
         try {
-            data = readFromErrorStream(conn);
-            String contentType = conn.getContentType();
+            data = readFromBody(response);
+            String contentType = response.getHeader(HEADER_CONTENT_TYPE);
 
             if (!TextUtils.isEmpty(data) && !TextUtils.isEmpty(contentType) && contentType.contains(CONTENTTYPE_JSON)) {
-                errorInfo = gson.fromJson(data, ErrorInfo.class);
+                errorInfo = gsonHelper.fromJson(data, ErrorInfo.class);
             }
         } catch (IOException | JsonParseException e) {
             // Ignore the exceptions since the ErrorInfo is an optional field
@@ -257,17 +335,85 @@ abstract class BaseConnection {
     }
 
     /**
-     * Set connection properties
+     * Create a request with the default timeouts and the User-Agent header
      *
-     * @param conn the url connection
+     * @param method the HTTP method of the request
+     * @param url the url of the request
+     * @return the builder of the request
      */
-    private void setConnProperties(final HttpURLConnection conn) {
-        conn.setConnectTimeout(TIMEOUT_CONNECT);
-        conn.setReadTimeout(TIMEOUT_READ);
+    private HttpRequest.Builder createRequest(final String method, final URL url) {
+        HttpRequest.Builder builder = HttpRequest.createBuilder(method, url)
+            .setConnectTimeout(TIMEOUT_CONNECT)
+            .setReadTimeout(TIMEOUT_READ);
 
         if (!TextUtils.isEmpty(userAgent)) {
-            conn.setRequestProperty(HEADER_USER_AGENT, userAgent);
+            builder.setHeader(HEADER_USER_AGENT, userAgent);
         }
+        return builder;
+    }
+
+    /**
+     * Limit the timeouts of the request to the time remaining until the deadline
+     *
+     * @param request the request of which the timeouts should be limited
+     * @param deadline of the request, may be null
+     * @return the request with limited timeouts
+     */
+    private HttpRequest limitTimeouts(final HttpRequest request, final Deadline deadline) throws IOException {
+        if (deadline == null) {
+            return request;
+        }
+        long remaining = deadline.getRemaining();
+        if (remaining == 0) {
+            throw new SocketTimeoutException("Deadline expired before executing request to: " + request.getUrl());
+        }
+        int connectTimeout = limitTimeout(request.getConnectTimeout(), remaining);
+        int readTimeout = limitTimeout(request.getReadTimeout(), remaining);
+
+        if (connectTimeout == request.getConnectTimeout() && readTimeout == request.getReadTimeout()) {
+            return request;
+        }
+        return request.withTimeouts(connectTimeout, readTimeout);
+    }
+
+    private int limitTimeout(final int timeout, final long remaining) {
+        // a timeout of 0 is an infinite timeout
+        return (timeout == 0 || timeout > remaining) ? (int) Math.min(remaining, Integer.MAX_VALUE) : timeout;
+    }
+
+    private boolean fitsDeadline(final long delay, final Deadline deadline) {
+        return deadline == null || delay < deadline.getRemaining();
+    }
+
+    /**
+     * Wait before retrying a request
+     *
+     * @param delay the time to wait in milliseconds
+     * @param deadline of the request, may be null
+     * @return false if the request cannot be retried within the deadline, true otherwise
+     */
+    private boolean backoff(final long delay, final Deadline deadline) throws IOException {
+        if (!fitsDeadline(delay, deadline)) {
+            return false;
+        }
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Retrying the request has been interrupted");
+        }
+        return true;
+    }
+
+    /**
+     * Reads a String from the body of the response
+     *
+     * @param response the HttpResponse to read from
+     * @return the string representation read from the body
+     */
+    private String readFromBody(final HttpResponse response) throws IOException {
+        BufferedReader rd = new BufferedReader(new InputStreamReader(response.getBody(), StandardCharsets.UTF_8));
+        return readFromBufferedReader(rd);
     }
 
     /**
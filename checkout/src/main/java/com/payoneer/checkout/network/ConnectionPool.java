@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.network;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class for configuring the pool of idle connections shared by all HttpURLConnections in the process, this pool is
+ * used by the default UrlConnectionTransport.
+ * Connections to the Payment API are kept alive after a response has been read, subsequent requests to the same host
+ * reuse the pooled connection and do not need a new TCP and TLS handshake.
+ * <p>
+ * The HttpURLConnection reads the configuration when its connection pool is created, the pool must therefore be
+ * configured before the first request is made in the process, i.e. in Application.onCreate().
+ */
+public final class ConnectionPool {
+
+    final static String PROPERTY_KEEP_ALIVE = "http.keepAlive";
+    final static String PROPERTY_MAX_CONNECTIONS = "http.maxConnections";
+    final static String PROPERTY_KEEP_ALIVE_DURATION = "http.keepAliveDuration";
+
+    private ConnectionPool() {
+    }
+
+    /**
+     * Configure the pool of idle connections
+     *
+     * @param maxIdleConnections the maximum number of idle connections kept in the pool
+     * @param keepAliveDuration the time an idle connection is kept in the pool
+     * @param timeUnit the unit of the keepAliveDuration
+     */
+    public static void configure(int maxIdleConnections, long keepAliveDuration, TimeUnit timeUnit) {
+        if (maxIdleConnections < 0) {
+            throw new IllegalArgumentException("maxIdleConnections cannot be negative");
+        }
+        if (keepAliveDuration <= 0) {
+            throw new IllegalArgumentException("keepAliveDuration must be larger than 0");
+        }
+        if (timeUnit == null) {
+            throw new IllegalArgumentException("timeUnit cannot be null");
+        }
+        System.setProperty(PROPERTY_KEEP_ALIVE, Boolean.toString(maxIdleConnections > 0));
+        System.setProperty(PROPERTY_MAX_CONNECTIONS, Integer.toString(maxIdleConnections));
+        System.setProperty(PROPERTY_KEEP_ALIVE_DURATION, Long.toString(timeUnit.toMillis(keepAliveDuration)));
+    }
+}
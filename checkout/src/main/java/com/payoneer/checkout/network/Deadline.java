@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.network;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class holding the point in time at which a group of requests must be finished, i.e. all requests made to load
+ * a payment session. The timeouts of each request and the delays between retries are limited to the remaining time,
+ * no new request is made once the deadline has expired.
+ */
+public final class Deadline {
+
+    private final long deadlineNanos;
+
+    private Deadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Create a new Deadline expiring after the given duration
+     *
+     * @param duration the time until the deadline expires
+     * @param timeUnit the unit of the duration
+     * @return the newly created Deadline
+     */
+    public static Deadline after(long duration, TimeUnit timeUnit) {
+        if (timeUnit == null) {
+            throw new IllegalArgumentException("timeUnit cannot be null");
+        }
+        return new Deadline(System.nanoTime() + timeUnit.toNanos(duration));
+    }
+
+    /**
+     * Get the time remaining until this deadline expires
+     *
+     * @return the remaining time in milliseconds, 0 when the deadline has expired
+     */
+    public long getRemaining() {
+        long remaining = TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+        return Math.max(remaining, 0);
+    }
+
+    /**
+     * Check if this deadline has expired
+     *
+     * @return true when expired, false otherwise
+     */
+    public boolean isExpired() {
+        return getRemaining() == 0;
+    }
+}
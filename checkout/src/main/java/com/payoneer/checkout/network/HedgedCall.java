@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.network;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import com.payoneer.checkout.core.PaymentException;
+import com.payoneer.checkout.core.PriorityExecutor;
+
+/**
+ * Class executing a hedged call, i.e. an idempotent download. When the first attempt has not completed within the
+ * hedge delay then a second attempt is started and the result of the attempt completing first is returned, the other
+ * attempt is cancelled. This cuts off the slow tail of responses caused by a stalled connection.
+ * <p>
+ * The attempts are executed by the executor while the calling thread waits for the result. When the executor has no
+ * idle thread, or the first attempt has not been started within the hedge delay, then the call is executed by the
+ * calling thread without a hedge so that it is never delayed by waiting for a busy executor.
+ */
+final class HedgedCall<V> {
+
+    private final Callable<V> callable;
+    private final PriorityExecutor executor;
+    private final int priority;
+    private final BlockingQueue<Future<V>> completed = new LinkedBlockingQueue<>();
+
+    /**
+     * Construct a new HedgedCall
+     *
+     * @param callable the idempotent call to be executed
+     * @param executor used to execute the attempts
+     * @param priority of the attempts, i.e. Workers.PRIORITY_HIGH
+     */
+    HedgedCall(Callable<V> callable, PriorityExecutor executor, int priority) {
+        this.callable = callable;
+        this.executor = executor;
+        this.priority = priority;
+    }
+
+    /**
+     * Execute this call, a HedgedCall should only be executed once
+     *
+     * @param hedgeDelay the time in milliseconds after which a second attempt is started
+     * @return the result of the attempt completing first
+     */
+    V execute(long hedgeDelay) throws PaymentException {
+        if (!hasIdleThread()) {
+            return callInline();
+        }
+        Attempt first = submit();
+        Attempt second = null;
+        try {
+            Future<V> done = completed.poll(hedgeDelay, TimeUnit.MILLISECONDS);
+            if (done == null) {
+                if (first.cancelIfNotStarted()) {
+                    return callInline();
+                }
+                second = submit();
+                done = completed.take();
+            }
+            try {
+                return done.get();
+            } catch (ExecutionException e) {
+                if (second == null) {
+                    throw unwrap(e);
+                }
+            }
+            // one of the attempts failed, the result of the other attempt is returned instead
+            Attempt other = (done == first) ? second : first;
+            if (other.cancelIfNotStarted()) {
+                return callInline();
+            }
+            return completed.take().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PaymentException(e, true);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } finally {
+            first.cancel(true);
+            if (second != null) {
+                second.cancel(true);
+            }
+        }
+    }
+
+    private boolean hasIdleThread() {
+        return executor.getActiveCount() + executor.getQueueDepth() < executor.getMaximumPoolSize();
+    }
+
+    private Attempt submit() {
+        Attempt attempt = new Attempt();
+        executor.execute(attempt, priority);
+        return attempt;
+    }
+
+    private V callInline() throws PaymentException {
+        try {
+            return callable.call();
+        } catch (PaymentException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new PaymentException(e);
+        }
+    }
+
+    private PaymentException unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof PaymentException) {
+            return (PaymentException) cause;
+        }
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        return new PaymentException(cause);
+    }
+
+    /**
+     * Attempt of this call, a FutureTask can be cancelled while it is running and therefore keeps track of whether
+     * it has been started.
+     */
+    private final class Attempt extends FutureTask<V> {
+        private boolean started;
+
+        Attempt() {
+            super(callable);
+        }
+
+        @Override
+        public void run() {
+            synchronized (this) {
+                if (isCancelled()) {
+                    return;
+                }
+                started = true;
+            }
+            super.run();
+        }
+
+        /**
+         * Cancel this attempt if it has not been started yet
+         *
+         * @return true if this attempt has been cancelled, false if it has already been started
+         */
+        synchronized boolean cancelIfNotStarted() {
+            return !started && cancel(false);
+        }
+
+        @Override
+        protected void done() {
+            completed.add(this);
+        }
+    }
+}
@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.network;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+
+import android.util.Log;
+
+/**
+ * Size bounded disk cache storing HTTP response bodies together with their ETag and Last-Modified validators.
+ * Entries are stored in one file per URL and the least recently used entries are removed once
+ * the total size of the cache exceeds the maximum size. This class is thread safe.
+ */
+public final class HttpCache {
+
+    private final static int VERSION = 1;
+    private final static String FILE_EXTENSION = ".cache";
+    private final static String TEMP_EXTENSION = ".tmp";
+
+    private final File directory;
+    private final long maxSize;
+    private int hitCount;
+    private int missCount;
+
+    /**
+     * Construct a new HttpCache storing its entries in the given directory
+     *
+     * @param directory in which the cache files are stored
+     * @param maxSize maximum number of bytes this cache may use on disk
+     */
+    public HttpCache(File directory, long maxSize) {
+        if (directory == null) {
+            throw new IllegalArgumentException("directory cannot be null");
+        }
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be larger than 0");
+        }
+        this.directory = directory;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Get the cached entry for the given url
+     *
+     * @param url of the cached response
+     * @return the cached entry or null if not found or not readable
+     */
+    public synchronized Entry get(String url) {
+        Entry entry = readEntry(url);
+        if (entry != null) {
+            hitCount++;
+        } else {
+            missCount++;
+        }
+        return entry;
+    }
+
+    /**
+     * Store the entry for the given url in this cache, an existing entry for the same url will be replaced.
+     *
+     * @param url of the response
+     * @param entry containing the response body and validators
+     */
+    public synchronized void put(String url, Entry entry) {
+        if (!directory.exists() && !directory.mkdirs()) {
+            return;
+        }
+        File file = getFile(url);
+        File tempFile = new File(directory, file.getName() + TEMP_EXTENSION);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+            out.writeInt(VERSION);
+            out.writeUTF(url);
+            writeOptionalString(out, entry.getETag());
+            writeOptionalString(out, entry.getLastModified());
+            out.writeInt(entry.getData().length);
+            out.write(entry.getData());
+        } catch (IOException e) {
+            Log.w("checkout-sdk", e);
+            tempFile.delete();
+            return;
+        }
+        if (!tempFile.renameTo(file)) {
+            tempFile.delete();
+            return;
+        }
+        trimToSize();
+    }
+
+    /**
+     * Mark the entry for the given url as recently used, this is used after a successful revalidation of the entry.
+     *
+     * @param url of the cached response
+     */
+    public synchronized void touch(String url) {
+        File file = getFile(url);
+        if (file.exists()) {
+            file.setLastModified(System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Get the number of times an entry was found in this cache
+     *
+     * @return the number of cache hits
+     */
+    public synchronized int getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Get the number of times an entry was not found in this cache
+     *
+     * @return the number of cache misses
+     */
+    public synchronized int getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Remove all entries from this cache
+     */
+    public synchronized void clear() {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            file.delete();
+        }
+    }
+
+    private Entry readEntry(String url) {
+        File file = getFile(url);
+        if (!file.exists()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != VERSION || !url.equals(in.readUTF())) {
+                return null;
+            }
+            String etag = readOptionalString(in);
+            String lastModified = readOptionalString(in);
+            byte[] data = new byte[in.readInt()];
+            in.readFully(data);
+
+            file.setLastModified(System.currentTimeMillis());
+            return new Entry(etag, lastModified, data);
+        } catch (IOException e) {
+            Log.w("checkout-sdk", e);
+            file.delete();
+            return null;
+        }
+    }
+
+    private void trimToSize() {
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(FILE_EXTENSION));
+        if (files == null) {
+            return;
+        }
+        long size = 0;
+        for (File file : files) {
+            size += file.length();
+        }
+        if (size <= maxSize) {
+            return;
+        }
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (File file : files) {
+            if (size <= maxSize) {
+                break;
+            }
+            long length = file.length();
+            if (file.delete()) {
+                size -= length;
+            }
+        }
+    }
+
+    private File getFile(String url) {
+        return new File(directory, hashKey(url) + FILE_EXTENSION);
+    }
+
+    private String hashKey(String url) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(url.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder(hash.length * 2);
+            for (byte b : hash) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16));
+                sb.append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            return Integer.toHexString(url.hashCode());
+        }
+    }
+
+    private String readOptionalString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private void writeOptionalString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    /**
+     * Class holding a cached response body with its validators
+     */
+    public static final class Entry {
+        private final String etag;
+        private final String lastModified;
+        private final byte[] data;
+
+        /**
+         * Construct a new cache Entry
+         *
+         * @param etag the ETag header value of the response, may be null
+         * @param lastModified the Last-Modified header value of the response, may be null
+         * @param data the response body
+         */
+        public Entry(String etag, String lastModified, byte[] data) {
+            if (data == null) {
+                throw new IllegalArgumentException("data cannot be null");
+            }
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.data = data;
+        }
+
+        public String getETag() {
+            return etag;
+        }
+
+        public String getLastModified() {
+            return lastModified;
+        }
+
+        public byte[] getData() {
+            return data;
+        }
+
+        /**
+         * Check if this entry contains validators so that it can be revalidated with a conditional request.
+         *
+         * @return true when this entry can be revalidated, false otherwise
+         */
+        public boolean hasValidators() {
+            return etag != null || lastModified != null;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.network;
+
+import java.net.URL;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Class holding the method, url, headers and body of an HTTP request executed by an HttpTransport
+ */
+public final class HttpRequest {
+
+    public final static String METHOD_GET = "GET";
+    public final static String METHOD_POST = "POST";
+    public final static String METHOD_DELETE = "DELETE";
+
+    private final String method;
+    private final URL url;
+    private final Map<String, String> headers;
+    private final byte[] body;
+    private final int connectTimeout;
+    private final int readTimeout;
+    private final boolean idempotent;
+
+    private HttpRequest(Builder builder) {
+        this.method = builder.method;
+        this.url = builder.url;
+        this.headers = Collections.unmodifiableMap(new LinkedHashMap<>(builder.headers));
+        this.body = builder.body;
+        this.connectTimeout = builder.connectTimeout;
+        this.readTimeout = builder.readTimeout;
+        this.idempotent = builder.idempotent;
+    }
+
+    public static Builder createBuilder(String method, URL url) {
+        return new Builder(method, url);
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public URL getUrl() {
+        return url;
+    }
+
+    /**
+     * Get the request headers, the map is unmodifiable and keeps the order in which the headers have been set
+     *
+     * @return the request headers
+     */
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Get the body of this request
+     *
+     * @return the body or null if the request has no body
+     */
+    public byte[] getBody() {
+        return body;
+    }
+
+    /**
+     * Get the connect timeout
+     *
+     * @return the timeout in milliseconds
+     */
+    public int getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    /**
+     * Get the read timeout
+     *
+     * @return the timeout in milliseconds
+     */
+    public int getReadTimeout() {
+        return readTimeout;
+    }
+
+    /**
+     * Check if this request may be executed more than once, only idempotent requests are retried
+     *
+     * @return true when idempotent, false otherwise
+     */
+    public boolean isIdempotent() {
+        return idempotent;
+    }
+
+    /**
+     * Create a copy of this request with the given timeouts
+     *
+     * @param connectTimeout the connect timeout in milliseconds
+     * @param readTimeout the read timeout in milliseconds
+     * @return the copy of this request
+     */
+    HttpRequest withTimeouts(int connectTimeout, int readTimeout) {
+        Builder builder = new Builder(method, url);
+        builder.headers.putAll(headers);
+        builder.body = body;
+        builder.connectTimeout = connectTimeout;
+        builder.readTimeout = readTimeout;
+        builder.idempotent = idempotent;
+        return builder.build();
+    }
+
+    public static final class Builder {
+        final String method;
+        final URL url;
+        final Map<String, String> headers = new LinkedHashMap<>();
+        byte[] body;
+        int connectTimeout;
+        int readTimeout;
+        boolean idempotent;
+
+        Builder(String method, URL url) {
+            if (method == null) {
+                throw new IllegalArgumentException("method cannot be null");
+            }
+            if (url == null) {
+                throw new IllegalArgumentException("url cannot be null");
+            }
+            this.method = method;
+            this.url = url;
+            this.idempotent = METHOD_GET.equals(method);
+        }
+
+        public Builder setHeader(String name, String value) {
+            headers.put(name, value);
+            return this;
+        }
+
+        public Builder setBody(byte[] body) {
+            this.body = body;
+            return this;
+        }
+
+        public Builder setConnectTimeout(int connectTimeout) {
+            this.connectTimeout = connectTimeout;
+            return this;
+        }
+
+        public Builder setReadTimeout(int readTimeout) {
+            this.readTimeout = readTimeout;
+            return this;
+        }
+
+        /**
+         * Mark the request as idempotent, GET requests are idempotent by default
+         *
+         * @param idempotent true when the request may be executed more than once
+         * @return this builder
+         */
+        public Builder setIdempotent(boolean idempotent) {
+            this.idempotent = idempotent;
+            return this;
+        }
+
+        public HttpRequest build() {
+            return new HttpRequest(this);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.network;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Interface for the response of an HttpRequest executed by an HttpTransport
+ */
+public interface HttpResponse extends Closeable {
+
+    /**
+     * Get the HTTP status code of this response
+     *
+     * @return the status code, i.e. 200 for HTTP_OK
+     */
+    int getStatusCode();
+
+    /**
+     * Get the value of the response header with the given name, names are case insensitive
+     *
+     * @param name of the response header
+     * @return the value of the header or null if the response does not contain the header
+     */
+    String getHeader(String name);
+
+    /**
+     * Get the body of this response, this is the decoded content of both successful and error responses.
+     * The body can only be read once.
+     *
+     * @return the stream providing the body, the stream is empty if the response has no body
+     */
+    InputStream getBody() throws IOException;
+
+    /**
+     * Abort this response from another thread, i.e. when the request has been cancelled. The connection is closed
+     * and a read that is blocked on the body fails with an IOException.
+     */
+    void abort();
+
+    /**
+     * Close this response and release its connection. Transports reusing connections may read the remaining body
+     * before the connection is returned to the pool.
+     */
+    @Override
+    void close();
+}
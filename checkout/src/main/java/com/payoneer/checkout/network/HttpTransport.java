@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.network;
+
+import java.io.IOException;
+
+/**
+ * Interface for the transport executing the HTTP requests of the connections to the Payment API.
+ * By default the UrlConnectionTransport is used, integrators may set a transport using a different HTTP client,
+ * i.e. a client multiplexing the many small parallel requests for localization files and logos over one
+ * HTTP/2 connection.
+ * <p>
+ * Implementations must be thread safe, requests are executed by multiple threads at the same time. The transport
+ * follows redirects, sends the cookies of the CookieHandler and decodes compressed response content.
+ */
+public interface HttpTransport {
+
+    /**
+     * Execute the request and return the response once its status code and headers have been received.
+     * This is a blocking call that must not be made from the main application thread.
+     *
+     * @param request the request to execute
+     * @return the response, the caller must close the response after reading its body
+     * @throws IOException when the request could not be executed, i.e. because of a network failure
+     */
+    HttpResponse execute(HttpRequest request) throws IOException;
+}
@@ -9,7 +9,7 @@
 package com.payoneer.checkout.network;
 
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.net.HttpURLConnection;
 import java.net.URL;
 
@@ -17,6 +17,7 @@ import com.payoneer.checkout.core.PaymentException;
 
 import android.graphics.Bitmap;
 import android.graphics.BitmapFactory;
+import android.os.CancellationSignal;
 
 /**
  * Class for loading images from the network
@@ -27,6 +28,9 @@ import android.graphics.BitmapFactory;
  */
 public final class ImageConnection extends BaseConnection {
 
+    /** Concurrent loads of the same image are joined to one load in flight */
+    private final static SingleFlight<byte[]> imageFlights = new SingleFlight<>();
+
     /**
      * Load the Bitmap from the given URL
      *
@@ -37,17 +41,96 @@ public final class ImageConnection extends BaseConnection {
         if (url == null) {
             throw new IllegalArgumentException("url cannot be null");
         }
-        HttpURLConnection conn = null;
-        try {
-            conn = createGetConnection(url);
+        try (HttpResponse response = execute(createGetRequest(url).build())) {
+            final int rc = response.getStatusCode();
+            if (rc == HttpURLConnection.HTTP_OK) {
+                return BitmapFactory.decodeStream(response.getBody());
+            }
+            throw createPaymentException(rc, response);
+        } catch (IOException e) {
+            throw createPaymentException(e, true);
+        }
+    }
+
+    /**
+     * Load the image data from the disk cache or from the given URL if the image is not cached.
+     * Downloaded image data is stored in the disk cache. Callers loading the same image while it is loaded join
+     * this load and receive the same image data.
+     *
+     * @param url pointing to the remote image
+     * @param cache disk cache in which images are stored
+     * @return the encoded image data
+     */
+    public byte[] loadImage(final URL url, final HttpCache cache) throws PaymentException {
+        return loadImage(url, cache, null);
+    }
+
+    /**
+     * Load the image data from the disk cache or from the given URL if the image is not cached.
+     * The download is aborted when the CancellationSignal is cancelled, the thread loading the image should be
+     * interrupted first so that callers which joined this load will load the image again.
+     *
+     * @param url pointing to the remote image
+     * @param cache disk cache in which images are stored
+     * @param signal used to abort the download, may be null
+     * @return the encoded image data
+     */
+    public byte[] loadImage(final URL url, final HttpCache cache, final CancellationSignal signal)
+        throws PaymentException {
+        if (url == null) {
+            throw new IllegalArgumentException("url cannot be null");
+        }
+        if (cache == null) {
+            throw new IllegalArgumentException("cache cannot be null");
+        }
+        return imageFlights.execute(url.toString(), () -> loadImageData(url, cache, signal));
+    }
 
-            try (InputStream in = conn.getInputStream()) {
-                return BitmapFactory.decodeStream(in);
+    /**
+     * Load the image data from the disk cache or download it if it is not cached
+     *
+     * @param url pointing to the remote image
+     * @param cache disk cache in which images are stored
+     * @param signal used to abort the download, may be null
+     * @return the encoded image data
+     */
+    private byte[] loadImageData(final URL url, final HttpCache cache, final CancellationSignal signal)
+        throws PaymentException {
+        String key = url.toString();
+        HttpCache.Entry entry = cache.get(key);
+        if (entry != null) {
+            return entry.getData();
+        }
+        try {
+            if (signal != null && signal.isCanceled()) {
+                throw new InterruptedIOException("Loading the image has been cancelled");
+            }
+            try (HttpResponse response = execute(createGetRequest(url).build())) {
+                if (signal != null) {
+                    // the listener is invoked immediately if the signal has been cancelled while connecting
+                    signal.setOnCancelListener(response::abort);
+                }
+                try {
+                    return readImageData(key, cache, response);
+                } finally {
+                    if (signal != null) {
+                        signal.setOnCancelListener(null);
+                    }
+                }
             }
         } catch (IOException e) {
             throw createPaymentException(e, true);
-        } finally {
-            close(conn);
         }
     }
+
+    private byte[] readImageData(final String key, final HttpCache cache, final HttpResponse response)
+        throws IOException, PaymentException {
+        final int rc = response.getStatusCode();
+        if (rc != HttpURLConnection.HTTP_OK) {
+            throw createPaymentException(rc, response);
+        }
+        byte[] data = readBytesFromBody(response);
+        cache.put(key, createCacheEntry(response, data));
+        return data;
+    }
 }
@@ -30,6 +30,9 @@ import android.text.TextUtils;
  */
 public final class ListConnection extends BaseConnection {
 
+    /** Concurrent requests for the same list are joined to one request in flight */
+    private final static SingleFlight<ListResult> listFlights = new SingleFlight<>();
+
     /**
      * Construct a new ListConnection
      *
@@ -61,33 +64,31 @@ public final class ListConnection extends BaseConnection {
             throw new IllegalArgumentException("listData cannot be null or empty");
         }
 
-        HttpURLConnection conn = null;
         try {
-            conn = createPostConnection(listUrl);
-            conn.setRequestProperty(HEADER_AUTHORIZATION, authorization);
-            conn.setRequestProperty(HEADER_CONTENT_TYPE, VALUE_APP_JSON);
-            conn.setRequestProperty(HEADER_ACCEPT, VALUE_APP_JSON);
-
-            writeToOutputStream(conn, listData);
-            conn.connect();
-            final int rc = conn.getResponseCode();
-
-            if (rc == HttpURLConnection.HTTP_OK) {
-                return handleCreatePaymentSessionOk(readFromInputStream(conn));
+            final HttpRequest request = createPostRequest(listUrl, listData)
+                .setHeader(HEADER_AUTHORIZATION, authorization)
+                .setHeader(HEADER_CONTENT_TYPE, VALUE_APP_JSON)
+                .setHeader(HEADER_ACCEPT, VALUE_APP_JSON)
+                .build();
+
+            try (HttpResponse response = execute(request)) {
+                final int rc = response.getStatusCode();
+                if (rc == HttpURLConnection.HTTP_OK) {
+                    return handleCreatePaymentSessionOk(response);
+                }
+                throw createPaymentException(rc, response);
             }
-            throw createPaymentException(rc, conn);
         } catch (JsonParseException | MalformedURLException | SecurityException e) {
             throw createPaymentException(e, false);
         } catch (IOException e) {
             throw createPaymentException(e, true);
-        } finally {
-            close(conn);
         }
     }
 
     /**
      * Make a get request to the Payment API in order to
-     * obtain the details of an active list session
+     * obtain the details of an active list session. Callers requesting the same list while a request is in flight
+     * join this request and receive the same ListResult.
      *
      * @param url the url pointing to the list
      * @return the NetworkResponse containing either an error or the ListResult
@@ -96,28 +97,36 @@ public final class ListConnection extends BaseConnection {
         if (TextUtils.isEmpty(url)) {
             throw new IllegalArgumentException("url cannot be null or empty");
         }
-        HttpURLConnection conn = null;
+        return listFlights.execute(url, () -> requestListResult(url));
+    }
 
+    /**
+     * Request the ListResult from the Payment API
+     *
+     * @param url the url pointing to the list
+     * @return the ListResult
+     */
+    private ListResult requestListResult(final String url) throws PaymentException {
         try {
             final String requestUrl = Uri.parse(url).buildUpon()
                 .build().toString();
 
-            conn = createGetConnection(requestUrl);
-            conn.setRequestProperty(HEADER_CONTENT_TYPE, VALUE_APP_JSON);
-            conn.setRequestProperty(HEADER_ACCEPT, VALUE_APP_JSON);
-
-            conn.connect();
-            final int rc = conn.getResponseCode();
-            if (rc == HttpURLConnection.HTTP_OK) {
-                return handleGetListResultOk(readFromInputStream(conn));
+            final HttpRequest request = createGetRequest(requestUrl)
+                .setHeader(HEADER_CONTENT_TYPE, VALUE_APP_JSON)
+                .setHeader(HEADER_ACCEPT, VALUE_APP_JSON)
+                .build();
+
+            try (HttpResponse response = execute(request)) {
+                final int rc = response.getStatusCode();
+                if (rc == HttpURLConnection.HTTP_OK) {
+                    return handleGetListResultOk(response);
+                }
+                throw createPaymentException(rc, response);
             }
-            throw createPaymentException(rc, conn);
         } catch (JsonParseException | MalformedURLException | SecurityException e) {
             throw createPaymentException(e, false);
         } catch (IOException e) {
             throw createPaymentException(e, true);
-        } finally {
-            close(conn);
         }
     }
 
@@ -125,20 +134,20 @@ public final class ListConnection extends BaseConnection {
     /**
      * Handle the create new payment session OK state
      *
-     * @param data the response data received from the API
+     * @param response the response containing the data received from the API
      * @return the ListResult
      */
-    private ListResult handleCreatePaymentSessionOk(final String data) throws JsonParseException {
-        return gson.fromJson(data, ListResult.class);
+    private ListResult handleCreatePaymentSessionOk(final HttpResponse response) throws IOException, JsonParseException {
+        return readJsonFromBody(response, ListResult.class);
     }
 
     /**
      * Handle get list result OK state
      *
-     * @param data the response data received from the Payment API
+     * @param response the response containing the data received from the Payment API
      * @return the ListResult
      */
-    private ListResult handleGetListResultOk(final String data) throws JsonParseException {
-        return gson.fromJson(data, ListResult.class);
+    private ListResult handleGetListResultOk(final HttpResponse response) throws IOException, JsonParseException {
+        return readJsonFromBody(response, ListResult.class);
     }
 }
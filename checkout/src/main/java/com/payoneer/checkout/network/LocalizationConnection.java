@@ -8,41 +8,95 @@
 
 package com.payoneer.checkout.network;
 
+import java.io.File;
 import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.google.gson.JsonParseException;
 import com.google.gson.reflect.TypeToken;
 import com.payoneer.checkout.core.PaymentException;
+import com.payoneer.checkout.core.Workers;
 import com.payoneer.checkout.localization.LocalizationHolder;
 import com.payoneer.checkout.localization.MapLocalizationHolder;
 
 import android.content.Context;
+import android.util.Log;
 
 /**
- * Class implementing the communication with the payment API to load localization files
+ * Class implementing the communication with the payment API to load localization files.
+ * Loaded localization files are stored in a disk cache, a cached localization file is returned immediately
+ * and revalidated once per process in the background using the ETag and Last-Modified validators.
  * <p>
  * All requests in this class are blocking calls and should be
  * executed in a separate thread to avoid blocking the main application thread.
- * These methods are not thread safe and must not be called by different threads
- * at the same time.
+ * Localization files may be loaded by different threads at the same time.
  */
 public final class LocalizationConnection extends BaseConnection {
 
+    private final static String CACHE_FOLDER = "checkout-localizations";
+    private final static long CACHE_MAX_SIZE = 2 * 1024 * 1024;
+
+    /** Time in milliseconds after which a second request is made for a localization file that has not been loaded */
+    final static long HEDGE_DELAY = 1500;
+
+    /** Disk cache shared by all LocalizationConnections */
+    private static volatile HttpCache sharedDiskCache;
+
+    /** URLs of cached localization files that have been revalidated in this process */
+    private static final Set<String> revalidated = ConcurrentHashMap.newKeySet();
+
+    /** Concurrent loads of the same localization file are joined to one load in flight */
+    private static final SingleFlight<LocalizationHolder> localizationFlights = new SingleFlight<>();
+
+    private final HttpCache diskCache;
+
     /**
      * Construct a new LocalizationConnection
      *
      * @param context used to create the custom UserAgent value
      */
     public LocalizationConnection(Context context) {
+        this(context, getSharedDiskCache(context));
+    }
+
+    /**
+     * Construct a new LocalizationConnection storing the localization files in the provided disk cache
+     *
+     * @param context used to create the custom UserAgent value
+     * @param diskCache in which the loaded localization files are stored
+     */
+    LocalizationConnection(Context context, HttpCache diskCache) {
         super(context);
+        this.diskCache = diskCache;
     }
 
     /**
-     * Load the localization file given the URL.
+     * Get the disk cache shared by all LocalizationConnections, the cache is created when needed
+     *
+     * @param context used to obtain the cache directory of the application
+     * @return the shared disk cache
+     */
+    private static HttpCache getSharedDiskCache(Context context) {
+        if (sharedDiskCache != null) {
+            return sharedDiskCache;
+        }
+        synchronized (LocalizationConnection.class) {
+            if (sharedDiskCache == null) {
+                sharedDiskCache = new HttpCache(new File(context.getCacheDir(), CACHE_FOLDER), CACHE_MAX_SIZE);
+            }
+            return sharedDiskCache;
+        }
+    }
+
+    /**
+     * Load the localization file given the URL. Callers loading the same localization file while it is loaded
+     * join this load and receive the same LocalizationHolder.
      *
      * @param url containing the address of the remote language file
      * @return LocalizationFile object containing the language entries
@@ -51,23 +105,93 @@ public final class LocalizationConnection extends BaseConnection {
         if (url == null) {
             throw new IllegalArgumentException("url cannot be null");
         }
-        HttpURLConnection conn = null;
+        return localizationFlights.execute(url.toString(), () -> loadLocalizationHolder(url));
+    }
+
+    /**
+     * Load the localization file from the disk cache or download it if it is not cached. A second download is started
+     * when the first download has not completed within the HEDGE_DELAY, the download completing first is used.
+     *
+     * @param url containing the address of the remote language file
+     * @return LocalizationHolder containing the language entries
+     */
+    private LocalizationHolder loadLocalizationHolder(URL url) throws PaymentException {
+        HttpCache.Entry entry = diskCache.get(url.toString());
+        if (entry != null) {
+            try {
+                LocalizationHolder holder = handleLoadLocalizationOk(entry.getData());
+                revalidateInBackground(url, entry);
+                return holder;
+            } catch (JsonParseException e) {
+                // the cached localization file is corrupt and will be replaced by the downloaded file
+                Log.w("checkout-sdk", e);
+            }
+        }
+        final Deadline deadline = getDeadline();
+        HedgedCall<byte[]> download = new HedgedCall<>(() -> downloadLocalization(url, null, deadline),
+            Workers.getInstance().forNetworkTasks(), Workers.PRIORITY_HIGH);
+        try {
+            return handleLoadLocalizationOk(download.execute(HEDGE_DELAY));
+        } catch (JsonParseException e) {
+            throw createPaymentException(e, false);
+        }
+    }
+
+    /**
+     * Revalidate the cached localization file in the background, this is done at most once per process for each URL.
+     *
+     * @param url pointing to the remote language file
+     * @param entry the cached entry to be revalidated
+     */
+    private void revalidateInBackground(final URL url, final HttpCache.Entry entry) {
+        if (!revalidated.add(url.toString())) {
+            return;
+        }
+        Workers.getInstance().forNetworkTasks().execute(() -> {
+            try {
+                // revalidation is not part of loading a payment session and is made without a deadline
+                downloadLocalization(url, entry, null);
+            } catch (PaymentException e) {
+                // allow the next load of this localization file to try again
+                revalidated.remove(url.toString());
+                Log.w("checkout-sdk", e);
+            }
+        }, Workers.PRIORITY_LOW);
+    }
+
+    /**
+     * Download the localization file and store it in the disk cache. If a cached entry is provided then a conditional
+     * request is made and the cached data is returned when the Payment API responds with HTTP_NOT_MODIFIED.
+     *
+     * @param url pointing to the remote language file
+     * @param entry the cached entry, may be null
+     * @param deadline of the request, may be null
+     * @return the data of the localization file
+     */
+    private byte[] downloadLocalization(URL url, HttpCache.Entry entry, Deadline deadline) throws PaymentException {
         try {
-            conn = createGetConnection(url);
-            conn.setRequestProperty(HEADER_CONTENT_TYPE, VALUE_APP_JSON);
-            conn.setRequestProperty(HEADER_ACCEPT, VALUE_APP_JSON);
-            conn.connect();
-            final int rc = conn.getResponseCode();
-            if (rc == HttpURLConnection.HTTP_OK) {
-                return handleLoadLocalizationOk(readFromInputStream(conn));
+            final HttpRequest.Builder builder = createGetRequest(url)
+                .setHeader(HEADER_CONTENT_TYPE, VALUE_APP_JSON)
+                .setHeader(HEADER_ACCEPT, VALUE_APP_JSON);
+            setCacheValidators(builder, entry);
+
+            try (HttpResponse response = execute(builder.build(), deadline)) {
+                final int rc = response.getStatusCode();
+                if (rc == HttpURLConnection.HTTP_OK) {
+                    byte[] data = readBytesFromBody(response);
+                    diskCache.put(url.toString(), createCacheEntry(response, data));
+                    return data;
+                }
+                if (rc == HttpURLConnection.HTTP_NOT_MODIFIED && entry != null) {
+                    diskCache.touch(url.toString());
+                    return entry.getData();
+                }
+                throw createPaymentException(rc, response);
             }
-            throw createPaymentException(rc, conn);
-        } catch (JsonParseException | SecurityException e) {
+        } catch (SecurityException e) {
             throw createPaymentException(e, false);
         } catch (IOException e) {
             throw createPaymentException(e, true);
-        } finally {
-            close(conn);
         }
     }
 
@@ -77,8 +201,9 @@ public final class LocalizationConnection extends BaseConnection {
      * @param data the response data received from the Payment API
      * @return the LocalizationHolder containing the localizations
      */
-    private LocalizationHolder handleLoadLocalizationOk(final String data) throws JsonParseException {
-        Map<String, String> map = gson.fromJson(data, new TypeToken<HashMap<String, String>>() {
+    private LocalizationHolder handleLoadLocalizationOk(final byte[] data) throws JsonParseException {
+        String json = new String(data, StandardCharsets.UTF_8);
+        Map<String, String> map = gsonHelper.fromJson(json, new TypeToken<HashMap<String, String>>() {
         }.getType());
         return new MapLocalizationHolder(map);
     }
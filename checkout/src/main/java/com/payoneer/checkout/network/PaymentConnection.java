@@ -49,31 +49,29 @@ public final class PaymentConnection extends BaseConnection {
         if (account == null) {
             throw new IllegalArgumentException("account cannot be null");
         }
-        HttpURLConnection conn = null;
-
         try {
-            conn = createDeleteConnection(account.getURL());
-            conn.setRequestProperty(HEADER_CONTENT_TYPE, VALUE_APP_JSON);
-            conn.setRequestProperty(HEADER_ACCEPT, VALUE_APP_JSON);
+            final HttpRequest request = createDeleteRequest(account.getURL(), account.toJson())
+                .setHeader(HEADER_CONTENT_TYPE, VALUE_APP_JSON)
+                .setHeader(HEADER_ACCEPT, VALUE_APP_JSON)
+                .build();
 
-            writeToOutputStream(conn, account.toJson());
-            conn.connect();
-            final int rc = conn.getResponseCode();
-            if (rc == HttpURLConnection.HTTP_OK) {
-                return handleOperationResult(readFromInputStream(conn));
+            try (HttpResponse response = execute(request)) {
+                final int rc = response.getStatusCode();
+                if (rc == HttpURLConnection.HTTP_OK) {
+                    return handleOperationResult(response);
+                }
+                throw createPaymentException(rc, response);
             }
-            throw createPaymentException(rc, conn);
         } catch (MalformedURLException | SecurityException e) {
             throw createPaymentException(e, false);
         } catch (IOException e) {
             throw createPaymentException(e, true);
-        } finally {
-            close(conn);
         }
     }
 
     /**
      * Post an operation to the Payment API, i.e. a Preset or Charge operation.
+     * The operation is not idempotent and is therefore never retried, a failed operation is reported to the user.
      *
      * @param operation holding the request data
      * @return the OperationResult object received from the Payment API
@@ -82,36 +80,33 @@ public final class PaymentConnection extends BaseConnection {
         if (operation == null) {
             throw new IllegalArgumentException("operation cannot be null");
         }
-        HttpURLConnection conn = null;
-
         try {
-            conn = createPostConnection(operation.getURL());
-            conn.setRequestProperty(HEADER_CONTENT_TYPE, VALUE_APP_JSON);
-            conn.setRequestProperty(HEADER_ACCEPT, VALUE_APP_JSON);
+            final HttpRequest request = createPostRequest(operation.getURL(), operation.toJson())
+                .setHeader(HEADER_CONTENT_TYPE, VALUE_APP_JSON)
+                .setHeader(HEADER_ACCEPT, VALUE_APP_JSON)
+                .build();
 
-            writeToOutputStream(conn, operation.toJson());
-            conn.connect();
-            final int rc = conn.getResponseCode();
-            if (rc == HttpURLConnection.HTTP_OK) {
-                return handleOperationResult(readFromInputStream(conn));
+            try (HttpResponse response = execute(request)) {
+                final int rc = response.getStatusCode();
+                if (rc == HttpURLConnection.HTTP_OK) {
+                    return handleOperationResult(response);
+                }
+                throw createPaymentException(rc, response);
             }
-            throw createPaymentException(rc, conn);
         } catch (MalformedURLException | SecurityException e) {
             throw createPaymentException(e, false);
         } catch (IOException e) {
             throw createPaymentException(e, true);
-        } finally {
-            close(conn);
         }
     }
 
     /**
      * Handle the Operation Result
      *
-     * @param data the response data received from the API
+     * @param response the response containing the data received from the API
      * @return the network response containing the OperationResult
      */
-    private OperationResult handleOperationResult(final String data) throws JsonParseException {
-        return gson.fromJson(data, OperationResult.class);
+    private OperationResult handleOperationResult(final HttpResponse response) throws IOException, JsonParseException {
+        return readJsonFromBody(response, OperationResult.class);
     }
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.network;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javax.net.ssl.SSLHandshakeException;
+import javax.net.ssl.SSLPeerUnverifiedException;
+
+/**
+ * Class defining how often and when failed idempotent requests are retried. Retries are delayed using exponential
+ * backoff with full jitter, i.e. the delay before the n-th retry is a random value between 0 and
+ * min(maxBackoff, initialBackoff * 2^(n-1)) so that clients failing at the same time do not retry at the same time.
+ * <p>
+ * Requests that are not idempotent, i.e. operations posted to the Payment API, are never retried.
+ */
+public final class RetryPolicy {
+
+    private final static int DEFAULT_MAX_ATTEMPTS = 3;
+    private final static long DEFAULT_INITIAL_BACKOFF = 250;
+    private final static long DEFAULT_MAX_BACKOFF = 2000;
+
+    private final int maxAttempts;
+    private final long initialBackoff;
+    private final long maxBackoff;
+
+    private RetryPolicy(Builder builder) {
+        this.maxAttempts = builder.maxAttempts;
+        this.initialBackoff = builder.initialBackoff;
+        this.maxBackoff = builder.maxBackoff;
+    }
+
+    public static Builder createBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Create the RetryPolicy used by default, idempotent requests are attempted at most 3 times
+     *
+     * @return the default RetryPolicy
+     */
+    public static RetryPolicy createDefault() {
+        return createBuilder().build();
+    }
+
+    /**
+     * Get the maximum number of attempts of an idempotent request, including the first attempt
+     *
+     * @return the maximum number of attempts
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Get the random delay before the given retry
+     *
+     * @param retry the number of the retry, starting at 1
+     * @return the delay in milliseconds
+     */
+    public long getBackoff(int retry) {
+        int shift = Math.min(Math.max(retry - 1, 0), 30);
+        long backoff = Math.min(maxBackoff, initialBackoff << shift);
+        return backoff > 0 ? ThreadLocalRandom.current().nextLong(backoff + 1) : 0;
+    }
+
+    /**
+     * Check if a request that failed with the given exception may be retried. Interrupted requests and TLS failures
+     * caused by an untrusted peer are not retried since another attempt would fail in the same way.
+     *
+     * @param exception the exception thrown when executing the request
+     * @return true when the request may be retried, false otherwise
+     */
+    public boolean isRetryable(IOException exception) {
+        if (exception instanceof InterruptedIOException) {
+            return exception instanceof SocketTimeoutException && !Thread.currentThread().isInterrupted();
+        }
+        return !(exception instanceof SSLHandshakeException || exception instanceof SSLPeerUnverifiedException);
+    }
+
+    /**
+     * Check if a request answered with the given HTTP status code may be retried, i.e. the Payment API is
+     * temporarily unavailable or asked the client to slow down.
+     *
+     * @param statusCode the HTTP status code of the response
+     * @return true when the request may be retried, false otherwise
+     */
+    public boolean isRetryable(int statusCode) {
+        switch (statusCode) {
+            case 408: // Request Timeout
+            case 429: // Too Many Requests
+            case 500: // Internal Server Error
+            case 502: // Bad Gateway
+            case 503: // Service Unavailable
+            case 504: // Gateway Timeout
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    public static final class Builder {
+        int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+        long initialBackoff = DEFAULT_INITIAL_BACKOFF;
+        long maxBackoff = DEFAULT_MAX_BACKOFF;
+
+        Builder() {
+        }
+
+        public Builder setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        public Builder setInitialBackoff(long initialBackoff) {
+            this.initialBackoff = initialBackoff;
+            return this;
+        }
+
+        public Builder setMaxBackoff(long maxBackoff) {
+            this.maxBackoff = maxBackoff;
+            return this;
+        }
+
+        public RetryPolicy build() {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("maxAttempts must be larger than 0");
+            }
+            if (initialBackoff < 0) {
+                throw new IllegalArgumentException("initialBackoff cannot be negative");
+            }
+            if (maxBackoff < initialBackoff) {
+                throw new IllegalArgumentException("maxBackoff cannot be smaller than initialBackoff");
+            }
+            return new RetryPolicy(this);
+        }
+    }
+}
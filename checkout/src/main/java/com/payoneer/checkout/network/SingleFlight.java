@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.network;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import com.payoneer.checkout.core.PaymentException;
+
+/**
+ * Class joining concurrent calls with the same key to one call in flight, i.e. requests for the same URL.
+ * The first caller executes the call and all callers joining while it is in flight receive its result or exception.
+ * Results are not cached, a call made after the call in flight has completed is executed again.
+ * <p>
+ * If the executing caller fails because its thread has been interrupted, i.e. its request has been cancelled, then
+ * the joined callers do not receive the exception and one of them executes the call instead.
+ */
+final class SingleFlight<V> {
+
+    private final Map<String, Flight<V>> flights = new HashMap<>();
+
+    /**
+     * Execute the call or join the call with the same key that is already in flight
+     *
+     * @param key identifying the call, i.e. the URL of the request
+     * @param call to be executed if no call with the same key is in flight
+     * @return the result of the executed or joined call
+     */
+    V execute(String key, Call<V> call) throws PaymentException {
+        while (true) {
+            Flight<V> flight;
+            boolean joined;
+            synchronized (flights) {
+                flight = flights.get(key);
+                joined = flight != null;
+                if (!joined) {
+                    flight = new Flight<>();
+                    flights.put(key, flight);
+                }
+            }
+            if (!joined) {
+                return executeFlight(key, flight, call);
+            }
+            if (flight.await()) {
+                return flight.getResult();
+            }
+        }
+    }
+
+    /**
+     * Get the number of calls currently in flight
+     *
+     * @return the number of calls in flight
+     */
+    int size() {
+        synchronized (flights) {
+            return flights.size();
+        }
+    }
+
+    private V executeFlight(String key, Flight<V> flight, Call<V> call) throws PaymentException {
+        try {
+            V result = call.call();
+            flight.succeed(result);
+            return result;
+        } catch (PaymentException | RuntimeException e) {
+            if (Thread.currentThread().isInterrupted()) {
+                flight.abandon();
+            } else {
+                flight.fail(e);
+            }
+            throw e;
+        } finally {
+            synchronized (flights) {
+                flights.remove(key);
+            }
+            // a caller joining after the call failed unexpectedly must not wait forever
+            flight.abandon();
+        }
+    }
+
+    /**
+     * Interface for the call executed by the SingleFlight
+     */
+    interface Call<V> {
+
+        /**
+         * Execute this call
+         *
+         * @return the result of this call
+         */
+        V call() throws PaymentException;
+    }
+
+    private static final class Flight<V> {
+        private final CountDownLatch done = new CountDownLatch(1);
+        private volatile boolean completed;
+        private V result;
+        private Exception error;
+
+        void succeed(V result) {
+            this.result = result;
+            complete();
+        }
+
+        void fail(Exception error) {
+            this.error = error;
+            complete();
+        }
+
+        void abandon() {
+            done.countDown();
+        }
+
+        /**
+         * Wait until the call in flight has finished
+         *
+         * @return true if the call completed, false if it has been abandoned and must be executed again
+         */
+        boolean await() throws PaymentException {
+            try {
+                done.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new PaymentException(e, true);
+            }
+            return completed;
+        }
+
+        V getResult() throws PaymentException {
+            if (error instanceof PaymentException) {
+                throw (PaymentException) error;
+            }
+            if (error != null) {
+                throw (RuntimeException) error;
+            }
+            return result;
+        }
+
+        private void complete() {
+            completed = true;
+            done.countDown();
+        }
+    }
+}
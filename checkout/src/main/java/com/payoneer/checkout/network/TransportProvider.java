@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.network;
+
+/**
+ * Class providing the HttpTransport and RetryPolicy used by all connections to the Payment API
+ */
+public final class TransportProvider {
+
+    private final HttpTransport defaultTransport;
+    private volatile HttpTransport transport;
+    private volatile RetryPolicy retryPolicy;
+
+    private TransportProvider() {
+        this.defaultTransport = new UrlConnectionTransport();
+        this.retryPolicy = RetryPolicy.createDefault();
+    }
+
+    /**
+     * Get the instance of this TransportProvider
+     *
+     * @return the instance of this TransportProvider
+     */
+    public static TransportProvider getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Get the HttpTransport used for executing requests
+     *
+     * @return the transport that has been set or the default UrlConnectionTransport
+     */
+    public HttpTransport getTransport() {
+        HttpTransport current = transport;
+        return current != null ? current : defaultTransport;
+    }
+
+    /**
+     * Set the HttpTransport used for executing requests, requests that are already executing are not affected.
+     *
+     * @param transport the transport to be used or null to use the default UrlConnectionTransport
+     */
+    public void setTransport(HttpTransport transport) {
+        this.transport = transport;
+    }
+
+    /**
+     * Get the RetryPolicy used for retrying failed idempotent requests
+     *
+     * @return the retry policy
+     */
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * Set the RetryPolicy used for retrying failed idempotent requests
+     *
+     * @param retryPolicy the retry policy to be used or null to use the default RetryPolicy
+     */
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy != null ? retryPolicy : RetryPolicy.createDefault();
+    }
+
+    private static class InstanceHolder {
+        static final TransportProvider INSTANCE = new TransportProvider();
+    }
+}
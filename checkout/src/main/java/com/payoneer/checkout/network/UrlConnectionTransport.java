@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.network;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * The default HttpTransport executing requests with the HttpURLConnection of the platform.
+ * <p>
+ * Requests ask for gzip compressed responses and the content is decoded by this transport, setting the
+ * Accept-Encoding header explicitly disables the transparent decompression of the HttpURLConnection.
+ * Connections are never disconnected after a response has been closed, the remaining body is read so that the
+ * socket is returned to the connection pool and reused by the next request to the same host.
+ */
+public final class UrlConnectionTransport implements HttpTransport {
+
+    private final static String HEADER_ACCEPT_ENCODING = "Accept-Encoding";
+    private final static String HEADER_CONTENT_ENCODING = "Content-Encoding";
+    private final static String ENCODING_GZIP = "gzip";
+
+    @Override
+    public HttpResponse execute(HttpRequest request) throws IOException {
+        final HttpURLConnection conn = (HttpURLConnection) request.getUrl().openConnection();
+        try {
+            conn.setConnectTimeout(request.getConnectTimeout());
+            conn.setReadTimeout(request.getReadTimeout());
+            conn.setRequestMethod(request.getMethod());
+            conn.setDoInput(true);
+
+            boolean acceptEncoding = false;
+            for (Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+                conn.setRequestProperty(header.getKey(), header.getValue());
+                acceptEncoding |= HEADER_ACCEPT_ENCODING.equalsIgnoreCase(header.getKey());
+            }
+            if (!acceptEncoding) {
+                conn.setRequestProperty(HEADER_ACCEPT_ENCODING, ENCODING_GZIP);
+            }
+            byte[] body = request.getBody();
+            if (body != null) {
+                conn.setDoOutput(true);
+                try (OutputStream out = conn.getOutputStream()) {
+                    out.write(body);
+                }
+            }
+            conn.connect();
+            return new UrlConnectionResponse(conn, conn.getResponseCode());
+        } catch (IOException | RuntimeException e) {
+            conn.disconnect();
+            throw e;
+        }
+    }
+
+    /**
+     * Read and discard the remaining content of the Inputstream. The HttpURLConnection only returns the socket to
+     * the connection pool if the response has been read until the end.
+     *
+     * @param in the Inputstream to drain
+     */
+    private static void drain(final InputStream in) throws IOException {
+        byte[] buffer = new byte[1024];
+        while (in.read(buffer) != -1) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedIOException("Draining the InputStream has been interrupted");
+            }
+        }
+    }
+
+    private static final class UrlConnectionResponse implements HttpResponse {
+
+        private final HttpURLConnection conn;
+        private final int statusCode;
+        private BodyStream body;
+        private volatile boolean aborted;
+
+        UrlConnectionResponse(HttpURLConnection conn, int statusCode) {
+            this.conn = conn;
+            this.statusCode = statusCode;
+        }
+
+        @Override
+        public int getStatusCode() {
+            return statusCode;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return conn.getHeaderField(name);
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = new BodyStream(openBody());
+            }
+            return body;
+        }
+
+        @Override
+        public void abort() {
+            aborted = true;
+            // disconnecting closes the socket, a read of the body blocked in another thread is not interruptible
+            conn.disconnect();
+        }
+
+        @Override
+        public void close() {
+            if (aborted) {
+                return;
+            }
+            if (body != null && body.closed) {
+                // the HttpURLConnection releases the socket itself when the body is closed
+                return;
+            }
+            try (InputStream in = getBody()) {
+                drain(in);
+            } catch (IOException e) {
+                // the remaining body could not be read, the connection cannot be reused
+                conn.disconnect();
+            }
+        }
+
+        private InputStream openBody() throws IOException {
+            // getErrorStream returns null if the error response has no body
+            InputStream in = statusCode < HttpURLConnection.HTTP_BAD_REQUEST ? conn.getInputStream() : conn.getErrorStream();
+            if (in == null) {
+                return new ByteArrayInputStream(new byte[0]);
+            }
+            if (statusCode == HttpURLConnection.HTTP_NO_CONTENT || statusCode == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                return in;
+            }
+            if (ENCODING_GZIP.equalsIgnoreCase(conn.getHeaderField(HEADER_CONTENT_ENCODING))) {
+                return new GZIPInputStream(in);
+            }
+            return in;
+        }
+    }
+
+    private static final class BodyStream extends FilterInputStream {
+
+        private boolean closed;
+
+        BodyStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
+}
@@ -9,14 +9,17 @@
 package com.payoneer.checkout.resource;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.CRC32;
 
 import com.google.gson.JsonSyntaxException;
 import com.google.gson.reflect.TypeToken;
@@ -27,6 +30,8 @@ import android.content.res.Resources;
 
 /**
  * The ResourceLoader class containing helper methods for loading group and validation raw json files.
+ * The default json files are compiled into Java code at build time, the json is only parsed when the content of the
+ * raw resource differs from the compiled json file, i.e. when the resource has been overridden by the app.
  */
 public final class ResourceLoader {
 
@@ -41,9 +46,15 @@ public final class ResourceLoader {
     public static Map<String, PaymentGroup> loadPaymentGroups(Resources res, int resId) throws PaymentException {
 
         try {
-            String val = readRawResource(res, resId);
-            Type listType = new TypeToken<ArrayList<PaymentGroup>>() { }.getType();
-            List<PaymentGroup> groups = GsonHelper.getInstance().fromJson(val, listType);
+            byte[] data = readRawResourceBytes(res, resId);
+            List<PaymentGroup> groups;
+
+            if (matchesCompiled(data, CompiledResources.GROUPS_LENGTH, CompiledResources.GROUPS_CHECKSUM)) {
+                groups = CompiledResources.createPaymentGroups();
+            } else {
+                Type listType = new TypeToken<ArrayList<PaymentGroup>>() { }.getType();
+                groups = GsonHelper.getInstance().fromJson(new String(data, StandardCharsets.UTF_8), listType);
+            }
             HashMap<String, PaymentGroup> map = new HashMap<>();
 
             for (PaymentGroup group : groups) {
@@ -66,9 +77,15 @@ public final class ResourceLoader {
 
     public static Map<String, ValidationGroup> loadValidations(Resources res, int resId) throws PaymentException {
         try {
-            String val = readRawResource(res, resId);
-            Type listType = new TypeToken<ArrayList<ValidationGroup>>() { }.getType();
-            List<ValidationGroup> groups = GsonHelper.getInstance().fromJson(val, listType);
+            byte[] data = readRawResourceBytes(res, resId);
+            List<ValidationGroup> groups;
+
+            if (matchesCompiled(data, CompiledResources.VALIDATIONS_LENGTH, CompiledResources.VALIDATIONS_CHECKSUM)) {
+                groups = CompiledResources.createValidationGroups();
+            } else {
+                Type listType = new TypeToken<ArrayList<ValidationGroup>>() { }.getType();
+                groups = GsonHelper.getInstance().fromJson(new String(data, StandardCharsets.UTF_8), listType);
+            }
             Map<String, ValidationGroup> map = new HashMap<>();
 
             for (ValidationGroup group : groups) {
@@ -103,4 +120,35 @@ public final class ResourceLoader {
         }
         return sb.toString();
     }
+
+    /**
+     * Read the contents of the raw resource as bytes
+     *
+     * @param res The system Resources
+     * @param resId The resource id
+     * @return the bytes of the raw resource
+     */
+    static byte[] readRawResourceBytes(Resources res, int resId) throws IOException {
+        try (InputStream is = res.openRawResource(resId);
+            ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            byte[] buffer = new byte[4096];
+            int read;
+
+            while ((read = is.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } catch (Resources.NotFoundException e) {
+            throw new IOException("Resource not found: " + resId);
+        }
+    }
+
+    private static boolean matchesCompiled(byte[] data, int length, long checksum) {
+        if (data.length != length) {
+            return false;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        return crc.getValue() == checksum;
+    }
 }
@@ -9,6 +9,7 @@
 package com.payoneer.checkout.resource;
 
 import java.util.List;
+import java.util.regex.Pattern;
 
 /**
  * Model class holding the validation per PaymentMethod.
@@ -50,6 +51,11 @@ public class ValidationGroup {
         return item != null ? item.getRegex() : null;
     }
 
+    public Pattern getValidationPattern(String type) {
+        ValidationGroupItem item = getGroupItem(type);
+        return item != null ? item.getPattern() : null;
+    }
+
     public ValidationGroupItem getGroupItem(String type) {
         if (items == null) {
             return null;
@@ -8,6 +8,8 @@
 
 package com.payoneer.checkout.resource;
 
+import java.util.regex.Pattern;
+
 /**
  * Model class holding the validation Regex for the PaymentInputType
  */
@@ -17,10 +19,18 @@ public class ValidationGroupItem {
     private String regex;
     private boolean hide;
     private int maxLength;
+    private transient volatile Pattern pattern;
 
     private ValidationGroupItem() {
     }
 
+    ValidationGroupItem(String type, String regex, boolean hide, int maxLength) {
+        this.type = type;
+        this.regex = regex;
+        this.hide = hide;
+        this.maxLength = maxLength;
+    }
+
     public int getMaxLength() {
         return maxLength;
     }
@@ -36,4 +46,18 @@ public class ValidationGroupItem {
     public boolean getHide() {
         return hide;
     }
+
+    /**
+     * Get the compiled validation regex, the regex is compiled once when it is used for the first time.
+     *
+     * @return the compiled regex or null if this item has no regex
+     */
+    public Pattern getPattern() {
+        Pattern current = pattern;
+        if (current == null && regex != null) {
+            current = Pattern.compile(regex);
+            pattern = current;
+        }
+        return current;
+    }
 }
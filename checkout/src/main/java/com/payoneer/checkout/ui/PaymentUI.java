@@ -14,8 +14,11 @@ import com.payoneer.checkout.localization.Localization;
 import com.payoneer.checkout.model.PresetAccount;
 import com.payoneer.checkout.ui.page.ChargePaymentActivity;
 import com.payoneer.checkout.ui.page.PaymentListActivity;
+import com.payoneer.checkout.ui.service.PaymentSessionPrefetcher;
+import com.payoneer.checkout.ui.service.ResourcePreloader;
 
 import android.app.Activity;
+import android.content.Context;
 import android.content.Intent;
 import android.content.pm.ActivityInfo;
 import android.text.TextUtils;
@@ -129,6 +132,39 @@ public final class PaymentUI {
         this.theme = theme;
     }
 
+    /**
+     * Preload the payment groups and validations used by the PaymentPage in the background. This is optional, the
+     * resources are also preloaded when the PaymentPage is shown. Calling this method at application start allows
+     * the PaymentPage to be shown faster the first time.
+     *
+     * @param context used to obtain the resources
+     */
+    public void preloadResources(Context context) {
+        if (context == null) {
+            throw new IllegalArgumentException("context may not be null");
+        }
+        ResourcePreloader.getInstance().preload(context);
+    }
+
+    /**
+     * Prefetch the payment session of the list in the background and set the listUrl in this PaymentUI.
+     * The ListResult, localizations, payment groups, validations and the logos of the first payment methods are
+     * loaded so that the PaymentPage, when shown for this list shortly after, does not have to load them anymore.
+     * This is optional and may be called i.e. when the cart screen of the app is shown. This method must be called
+     * from the main UI thread.
+     *
+     * @param context used to load the payment session
+     * @param listUrl the url pointing to the list on the Payment API
+     */
+    public void prefetch(Context context, String listUrl) {
+        if (context == null) {
+            throw new IllegalArgumentException("context may not be null");
+        }
+        setListUrl(listUrl);
+        ResourcePreloader.getInstance().preload(context);
+        PaymentSessionPrefetcher.getInstance().prefetch(context, listUrl);
+    }
+
     /**
      * Open the PaymentPage and instruct the page to immediately charge the PresetAccount.
      * If no PresetAccount is set in the ListResult then an error will be returned.
@@ -172,6 +208,7 @@ public final class PaymentUI {
             throw new IllegalArgumentException("intent may not be null");
         }
         initLocalization(activity);
+        ResourcePreloader.getInstance().preload(activity);
 
         if (theme == null) {
             setPaymentTheme(PaymentTheme.createDefault());
@@ -12,10 +12,8 @@ import com.google.android.material.card.MaterialCardView;
 import com.payoneer.checkout.R;
 import com.payoneer.checkout.ui.model.AccountCard;
 import com.payoneer.checkout.ui.model.AccountCard.AccountIcon;
-import com.payoneer.checkout.ui.widget.FormWidget;
 import com.payoneer.checkout.util.PaymentUtils;
 
-import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.TextView;
@@ -47,18 +45,10 @@ public final class AccountCardViewHolder extends PaymentCardViewHolder {
             }
         });
         cardView = parent.findViewById(R.id.card_account);
-
-        addExtraElementWidgets(accountCard.getTopExtraElements());
-        addInputElementWidgets(accountCard.getInputElements());
-        addExtraElementWidgets(accountCard.getBottomExtraElements());
-        addButtonWidget();
-        layoutWidgets();
-        setLastImeOptions();
     }
 
     static ViewHolder createInstance(ListAdapter listAdapter, AccountCard accountCard, ViewGroup parent) {
-        LayoutInflater inflater = LayoutInflater.from(parent.getContext());
-        View view = inflater.inflate(R.layout.list_item_accountcard, parent, false);
+        View view = listAdapter.inflateCardLayout(accountCard, parent);
         return new AccountCardViewHolder(listAdapter, view, accountCard);
     }
 
@@ -71,10 +61,6 @@ public final class AccountCardViewHolder extends PaymentCardViewHolder {
         bindLabel(titleView, card.getTitle(), false);
         bindLabel(subtitleView, card.getSubtitle(), true);
         bindCardLogo(card.getNetworkCode(), card.getLogoLink());
-
-        for (FormWidget widget : widgets.values()) {
-            bindFormWidget(widget);
-        }
         bindAccountIcon(card.getAccountIcon());
     }
 
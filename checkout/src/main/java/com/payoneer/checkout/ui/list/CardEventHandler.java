@@ -8,6 +8,9 @@
 
 package com.payoneer.checkout.ui.list;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import com.payoneer.checkout.localization.Localization;
 import com.payoneer.checkout.ui.model.PaymentCard;
 import com.payoneer.checkout.ui.widget.FormWidget;
@@ -15,21 +18,31 @@ import com.payoneer.checkout.ui.widget.WidgetPresenter;
 import com.payoneer.checkout.validation.ValidationResult;
 import com.payoneer.checkout.validation.Validator;
 
+import android.view.Choreographer;
 import android.view.View;
 
 /**
  * Internal class taking care of handling and routing events that happened inside a card including its widgets.
  * For example, if a user clicked the Pay button inside the card, this eventHandler will forward this event by calling the
  * appropiate message in the CardListener.
+ * <p>
+ * Text input changes are coalesced per frame, the PaymentCard is updated once with the latest text of each
+ * input field and the card is partially rebound when its appearance has changed, i.e. by the smart switch.
  */
 class CardEventHandler implements WidgetPresenter {
 
     private final PaymentCardViewHolder holder;
     private final ListAdapter adapter;
+    private final Map<String, String> pendingInput;
+    private final Choreographer.FrameCallback frameCallback;
+    private boolean frameScheduled;
+    private boolean rebindRequired;
 
     CardEventHandler(PaymentCardViewHolder holder, ListAdapter adapter) {
         this.holder = holder;
         this.adapter = adapter;
+        this.pendingInput = new LinkedHashMap<>();
+        this.frameCallback = frameTimeNanos -> onFrame();
     }
 
     @Override
@@ -45,6 +58,7 @@ class CardEventHandler implements WidgetPresenter {
         if (!holder.hasValidPosition()) {
             return;
         }
+        flushTextInput();
         boolean error = false;
         for (FormWidget widget : holder.getFormWidgets().values()) {
             if (!widget.validate()) {
@@ -60,6 +74,7 @@ class CardEventHandler implements WidgetPresenter {
     @Override
     public void onHintClicked(String type) {
         if (holder.hasValidPosition()) {
+            flushTextInput();
             PaymentCard card = holder.getPaymentCard();
             getCardListener().onHintClicked(card.getNetworkCode(), type);
         }
@@ -89,8 +104,9 @@ class CardEventHandler implements WidgetPresenter {
     }
 
     @Override
-    public ValidationResult validate(String type, String value1, String value2) {
+    public ValidationResult validate(String type, CharSequence value1, CharSequence value2) {
         if (holder.hasValidPosition()) {
+            flushTextInput();
             PaymentCard card = holder.getPaymentCard();
             Validator validator = Validator.getInstance();
             ValidationResult result = validator.validate(card.getPaymentMethod(), card.getNetworkCode(), type, value1, value2);
@@ -105,13 +121,31 @@ class CardEventHandler implements WidgetPresenter {
 
     @Override
     public void onTextInputChanged(String type, String text) {
-        if (holder.hasValidPosition()) {
-            PaymentCard card = holder.getPaymentCard();
+        if (holder.hasValidPosition() && !holder.isBinding()) {
+            pendingInput.put(type, text);
+            scheduleFrame();
+        }
+    }
 
-            if (card.onTextInputChanged(type, text)) {
-                adapter.notifyItemChanged(holder.getAdapterPosition());
+    /**
+     * Apply the pending text input changes to the PaymentCard of the ViewHolder. This must be called before the
+     * PaymentCard is used or replaced while text input changes may still be pending.
+     * The card itself is rebound in the next frame if its appearance has changed.
+     */
+    void flushTextInput() {
+        if (pendingInput.isEmpty()) {
+            return;
+        }
+        PaymentCard card = holder.getPaymentCard();
+        for (Map.Entry<String, String> entry : pendingInput.entrySet()) {
+            if (card.onTextInputChanged(entry.getKey(), entry.getValue())) {
+                rebindRequired = true;
             }
         }
+        pendingInput.clear();
+        if (rebindRequired) {
+            scheduleFrame();
+        }
     }
 
     void onDeleteClicked() {
@@ -126,9 +160,22 @@ class CardEventHandler implements WidgetPresenter {
         }
     }
 
-    boolean isInputTypeHidden(String code, String type) {
-        Validator validator = Validator.getInstance();
-        return validator.isHidden(code, type);
+    private void scheduleFrame() {
+        if (!frameScheduled) {
+            frameScheduled = true;
+            Choreographer.getInstance().postFrameCallback(frameCallback);
+        }
+    }
+
+    private void onFrame() {
+        flushTextInput();
+        frameScheduled = false;
+        if (rebindRequired) {
+            rebindRequired = false;
+            if (holder.hasValidPosition()) {
+                adapter.notifyItemChanged(holder.getAdapterPosition(), PaymentCardViewHolder.PAYLOAD_SMARTSWITCH);
+            }
+        }
     }
 
     private PaymentCardListener getCardListener() {
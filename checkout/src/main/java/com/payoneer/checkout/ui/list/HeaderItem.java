@@ -8,20 +8,42 @@
 
 package com.payoneer.checkout.ui.list;
 
+import android.text.TextUtils;
+
 /**
  * Class representing a header in the PaymentList
  */
 final class HeaderItem extends ListItem {
 
+    private final static String SHAPE = "header";
+
     private final String title;
     private final String message;
 
-    HeaderItem(int viewType, String title, String message) {
-        super(viewType);
+    HeaderItem(String title, String message) {
         this.title = title;
         this.message = message;
     }
 
+    @Override
+    String getShape() {
+        return SHAPE;
+    }
+
+    @Override
+    String getStableKey() {
+        return SHAPE + ":" + title;
+    }
+
+    @Override
+    boolean hasSameContent(ListItem other) {
+        if (!(other instanceof HeaderItem)) {
+            return false;
+        }
+        HeaderItem item = (HeaderItem) other;
+        return TextUtils.equals(title, item.title) && TextUtils.equals(message, item.message);
+    }
+
     public String getTitle() {
         return title;
     }
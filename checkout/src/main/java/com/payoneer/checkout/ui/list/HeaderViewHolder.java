@@ -42,6 +42,8 @@ public final class HeaderViewHolder extends RecyclerView.ViewHolder {
         if (!TextUtils.isEmpty(item.getMessage())) {
             messageTextView.setVisibility(View.VISIBLE);
             messageTextView.setText(item.getMessage());
+        } else {
+            messageTextView.setVisibility(View.GONE);
         }
     }
 }
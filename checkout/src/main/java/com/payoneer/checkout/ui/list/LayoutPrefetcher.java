@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.ui.list;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.android.material.textview.MaterialTextView;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.os.Process;
+import android.util.AttributeSet;
+import android.util.Log;
+import android.util.SparseArray;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import androidx.appcompat.widget.AppCompatImageView;
+
+/**
+ * Class for inflating the layouts of list items in advance on a background looper. The prefetched views are handed out
+ * on the main UI Thread when the ViewHolders are created, layouts that have not been prefetched are inflated directly.
+ * This class must be used from the main UI Thread.
+ * <p>
+ * The factories installed on the LayoutInflater of the Activity, i.e. by AppCompat, are not thread-safe. Layouts are
+ * therefore prefetched with an inflater that has its own factory, creating the same Material and AppCompat widgets
+ * for the TextViews and ImageViews in the list items as the inflater of the PaymentTheme Activity. Without them the
+ * fontFamily of the text appearances would be ignored and prefetched cards would be shown in a different font.
+ */
+final class LayoutPrefetcher {
+
+    private final LayoutInflater inflater;
+    private final Handler inflaterHandler;
+    private final Handler mainHandler;
+    private final SparseArray<List<View>> views;
+    private int generation;
+
+    /**
+     * Construct a new LayoutPrefetcher
+     *
+     * @param context used to inflate the layouts, this should be the themed Activity context
+     */
+    LayoutPrefetcher(Context context) {
+        this(context, InflaterThread.getHandler());
+    }
+
+    /**
+     * Construct a new LayoutPrefetcher inflating the layouts on the looper of the provided Handler
+     *
+     * @param context used to inflate the layouts, this should be the themed Activity context
+     * @param inflaterHandler handler of the background looper on which the layouts are inflated
+     */
+    LayoutPrefetcher(Context context, Handler inflaterHandler) {
+        this.inflater = new BasicInflater(context);
+        this.inflaterHandler = inflaterHandler;
+        this.mainHandler = new Handler(Looper.getMainLooper());
+        this.views = new SparseArray<>();
+    }
+
+    /**
+     * Inflate the layouts in the background, the layouts are inflated in the order provided.
+     * Previously prefetched views that have not been used yet are discarded.
+     *
+     * @param parent the ViewGroup the inflated views will be added to
+     * @param layoutResIds resource ids of the layouts to inflate
+     */
+    void prefetch(final ViewGroup parent, List<Integer> layoutResIds) {
+        clear();
+        final int current = generation;
+
+        for (final Integer layoutResId : layoutResIds) {
+            inflaterHandler.post(() -> {
+                if (!isCurrent(current)) {
+                    return;
+                }
+                try {
+                    final View view = inflater.inflate(layoutResId, parent, false);
+                    mainHandler.post(() -> addView(current, layoutResId, view));
+                } catch (RuntimeException e) {
+                    Log.w("checkout-sdk", "Failed to prefetch layout", e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Get a prefetched view for the layout or inflate the layout if no prefetched view is available.
+     *
+     * @param layoutResId resource id of the layout
+     * @param parent the ViewGroup the view will be added to
+     * @return the prefetched or inflated view
+     */
+    View getView(int layoutResId, ViewGroup parent) {
+        List<View> list = views.get(layoutResId);
+        if (list != null && !list.isEmpty()) {
+            return list.remove(0);
+        }
+        return LayoutInflater.from(parent.getContext()).inflate(layoutResId, parent, false);
+    }
+
+    /**
+     * Discard all prefetched views and ignore layouts still being prefetched
+     */
+    void clear() {
+        synchronized (this) {
+            generation++;
+        }
+        views.clear();
+    }
+
+    private synchronized boolean isCurrent(int current) {
+        return generation == current;
+    }
+
+    private void addView(int current, int layoutResId, View view) {
+        if (!isCurrent(current)) {
+            return;
+        }
+        List<View> list = views.get(layoutResId);
+        if (list == null) {
+            list = new ArrayList<>();
+            views.put(layoutResId, list);
+        }
+        list.add(view);
+    }
+
+    /**
+     * LayoutInflater without the factories of the Activity, views are created by the WidgetFactory or by class name
+     */
+    private static class BasicInflater extends LayoutInflater {
+        private final static String[] CLASS_PREFIXES = { "android.widget.", "android.webkit.", "android.app." };
+
+        BasicInflater(Context context) {
+            super(context);
+            setFactory2(new WidgetFactory());
+        }
+
+        @Override
+        public LayoutInflater cloneInContext(Context newContext) {
+            return new BasicInflater(newContext);
+        }
+
+        @Override
+        protected View onCreateView(String name, AttributeSet attrs) throws ClassNotFoundException {
+            for (String prefix : CLASS_PREFIXES) {
+                try {
+                    View view = createView(name, prefix, attrs);
+                    if (view != null) {
+                        return view;
+                    }
+                } catch (ClassNotFoundException e) {
+                    // try the next prefix
+                }
+            }
+            return super.onCreateView(name, attrs);
+        }
+    }
+
+    /**
+     * Factory creating the widgets used in the list items like the MaterialComponentsViewInflater does
+     */
+    private static class WidgetFactory implements LayoutInflater.Factory2 {
+
+        @Override
+        public View onCreateView(View parent, String name, Context context, AttributeSet attrs) {
+            switch (name) {
+                case "TextView":
+                    return new MaterialTextView(context, attrs);
+                case "ImageView":
+                    return new AppCompatImageView(context, attrs);
+                default:
+                    return null;
+            }
+        }
+
+        @Override
+        public View onCreateView(String name, Context context, AttributeSet attrs) {
+            return onCreateView(null, name, context, attrs);
+        }
+    }
+
+    private static class InflaterThread {
+        static final Handler HANDLER = createHandler();
+
+        static Handler getHandler() {
+            return HANDLER;
+        }
+
+        private static Handler createHandler() {
+            HandlerThread thread = new HandlerThread("checkout-inflater", Process.THREAD_PRIORITY_DEFAULT);
+            thread.start();
+            return new Handler(thread.getLooper());
+        }
+    }
+}
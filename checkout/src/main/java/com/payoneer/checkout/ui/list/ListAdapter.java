@@ -8,26 +8,62 @@
 
 package com.payoneer.checkout.ui.list;
 
+import java.util.List;
+
+import com.payoneer.checkout.R;
 import com.payoneer.checkout.ui.model.AccountCard;
 import com.payoneer.checkout.ui.model.NetworkCard;
 import com.payoneer.checkout.ui.model.PaymentCard;
 import com.payoneer.checkout.ui.model.PresetCard;
 
+import android.view.View;
 import android.view.ViewGroup;
 import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 import androidx.recyclerview.widget.RecyclerView.ViewHolder;
 
 /**
- * The ListAdapter handling the items in this RecyclerView list
+ * The ListAdapter handling the items in this RecyclerView list. Items with the same shape share the same viewType,
+ * which allows the RecyclerView to rebind ViewHolders to other items with the same shape.
  */
 final class ListAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
     private final PaymentCardListener cardListener;
     private final PaymentItemList itemList;
+    private final LayoutPrefetcher layoutPrefetcher;
 
-    ListAdapter(PaymentCardListener cardListener, PaymentItemList itemList) {
+    ListAdapter(PaymentCardListener cardListener, PaymentItemList itemList, LayoutPrefetcher layoutPrefetcher) {
         this.cardListener = cardListener;
         this.itemList = itemList;
+        this.layoutPrefetcher = layoutPrefetcher;
+        setHasStableIds(true);
+    }
+
+    /**
+     * Get the resource id of the layout used by the ViewHolder of the PaymentCard
+     *
+     * @param card for which the layout resource id should be obtained
+     * @return the layout resource id
+     */
+    static int getCardLayoutResId(PaymentCard card) {
+        if (card instanceof NetworkCard) {
+            return R.layout.list_item_networkcard;
+        } else if (card instanceof AccountCard) {
+            return R.layout.list_item_accountcard;
+        } else if (card instanceof PresetCard) {
+            return R.layout.list_item_presetcard;
+        }
+        throw new IllegalArgumentException("Unsupported PaymentCard: " + card);
+    }
+
+    /**
+     * Inflate the layout of the PaymentCard, a view prefetched in the background is used when available.
+     *
+     * @param card for which the layout should be inflated
+     * @param parent the ViewGroup the view will be added to
+     * @return the view of the card
+     */
+    View inflateCardLayout(PaymentCard card, ViewGroup parent) {
+        return layoutPrefetcher.getView(getCardLayoutResId(card), parent);
     }
 
     @Override
@@ -53,18 +89,36 @@ final class ListAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
 
         if (item.hasPaymentCard()) {
             PaymentCardViewHolder ph = (PaymentCardViewHolder) holder;
-            ph.onBind();
+            ph.onBind(item.getPaymentCard());
             ph.expand(itemList.getSelectedIndex() == position);
         } else {
             ((HeaderViewHolder) holder).onBind((HeaderItem) item);
         }
     }
 
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position, @NonNull List<Object> payloads) {
+        ListItem item = itemList.getItem(position);
+
+        if (!payloads.isEmpty() && item.hasPaymentCard()) {
+            PaymentCardViewHolder ph = (PaymentCardViewHolder) holder;
+            if (ph.getPaymentCard() == item.getPaymentCard() && ph.onBindPayloads(payloads)) {
+                return;
+            }
+        }
+        onBindViewHolder(holder, position);
+    }
+
     @Override
     public int getItemCount() {
         return itemList.getItemCount();
     }
 
+    @Override
+    public long getItemId(int position) {
+        return itemList.getItemId(position);
+    }
+
     @Override
     public int getItemViewType(int position) {
         return itemList.getItemViewType(position);
@@ -11,14 +11,36 @@ package com.payoneer.checkout.ui.list;
 import com.payoneer.checkout.ui.model.PaymentCard;
 
 /**
- * Class representing an item in the PaymentList
+ * Class representing an item in the PaymentList, items with the same shape share the same viewType
  */
 abstract class ListItem {
 
-    final int viewType;
+    int viewType;
+    long itemId;
 
-    ListItem(int viewType) {
-        this.viewType = viewType;
+    /**
+     * Get the shape of this item, items with the same shape can be shown by the same ViewHolder
+     *
+     * @return the shape of this item
+     */
+    abstract String getShape();
+
+    /**
+     * Get the key identifying this item, the key of an item remains the same when the payment session is reloaded
+     *
+     * @return the stable key of this item
+     */
+    abstract String getStableKey();
+
+    /**
+     * Check if this item shows the same content as the other item with the same stable key.
+     * Items showing a PaymentCard must always be bound to the new PaymentCard.
+     *
+     * @param other item to compare with
+     * @return true when the content is the same, false otherwise
+     */
+    boolean hasSameContent(ListItem other) {
+        return false;
     }
 
     boolean hasPaymentCard() {
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.ui.list;
+
+import java.util.List;
+
+import androidx.recyclerview.widget.DiffUtil;
+
+/**
+ * DiffUtil callback comparing the ListItems of the currently shown payment session with the ListItems of the
+ * reloaded payment session. Items are the same when they have the same stable key, this callback may be used
+ * from a background thread since ListItems do not change after they have been created.
+ */
+final class ListItemDiffCallback extends DiffUtil.Callback {
+
+    private final List<ListItem> oldItems;
+    private final List<ListItem> newItems;
+
+    ListItemDiffCallback(List<ListItem> oldItems, List<ListItem> newItems) {
+        this.oldItems = oldItems;
+        this.newItems = newItems;
+    }
+
+    @Override
+    public int getOldListSize() {
+        return oldItems.size();
+    }
+
+    @Override
+    public int getNewListSize() {
+        return newItems.size();
+    }
+
+    @Override
+    public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+        ListItem oldItem = oldItems.get(oldItemPosition);
+        ListItem newItem = newItems.get(newItemPosition);
+        return oldItem.getShape().equals(newItem.getShape()) && oldItem.getStableKey().equals(newItem.getStableKey());
+    }
+
+    @Override
+    public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+        return oldItems.get(oldItemPosition).hasSameContent(newItems.get(newItemPosition));
+    }
+}
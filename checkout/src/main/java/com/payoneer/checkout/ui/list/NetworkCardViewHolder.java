@@ -21,7 +21,6 @@ import com.payoneer.checkout.ui.widget.NetworkLogosWidget;
 import com.payoneer.checkout.ui.widget.RegistrationWidget;
 import com.payoneer.checkout.util.PaymentUtils;
 
-import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.TextView;
@@ -36,23 +35,10 @@ final class NetworkCardViewHolder extends PaymentCardViewHolder {
     public NetworkCardViewHolder(ListAdapter adapter, View parent, NetworkCard networkCard) {
         super(adapter, parent, networkCard);
         this.titleView = parent.findViewById(R.id.text_title);
-
-        addExtraElementWidgets(networkCard.getTopExtraElements());
-        if (networkCard.getPaymentNetworkCount() > 1) {
-            addNetworkLogosWidget();
-        }
-        addInputElementWidgets(networkCard.getInputElements());
-        addRegistrationWidget();
-        addExtraElementWidgets(networkCard.getBottomExtraElements());
-        addButtonWidget();
-
-        layoutWidgets();
-        setLastImeOptions();
     }
 
     static ViewHolder createInstance(ListAdapter adapter, NetworkCard networkCard, ViewGroup parent) {
-        LayoutInflater inflater = LayoutInflater.from(parent.getContext());
-        View view = inflater.inflate(R.layout.list_item_networkcard, parent, false);
+        View view = adapter.inflateCardLayout(networkCard, parent);
         return new NetworkCardViewHolder(adapter, view, networkCard);
     }
 
@@ -67,14 +53,31 @@ final class NetworkCardViewHolder extends PaymentCardViewHolder {
             bindCardLogo(R.drawable.ic_card);
             setTestId("group");
         }
-        PaymentNetwork network = networkCard.getVisibleNetwork();
+    }
+
+    @Override
+    void bindFormWidget(FormWidget widget) {
+        NetworkCard networkCard = (NetworkCard) paymentCard;
+        if (widget.matches(REGISTRATION, REGISTRATION_OPTIONS)) {
+            PaymentNetwork network = networkCard.getVisibleNetwork();
+            ((RegistrationWidget) widget).onBind(network.getRegistrationOptions());
+        } else if (widget.matches(UIELEMENT, NETWORKLOGOS)) {
+            bindNetworkLogosWidget((NetworkLogosWidget) widget, networkCard);
+        } else {
+            super.bindFormWidget(widget);
+        }
+    }
+
+    @Override
+    void bindSmartSwitchWidgets(boolean networkChanged) {
+        if (networkChanged) {
+            super.bindSmartSwitchWidgets(true);
+            return;
+        }
+        // the selected logos may change without changing the network code of the card
         for (FormWidget widget : widgets.values()) {
-            if (widget.matches(REGISTRATION, REGISTRATION_OPTIONS)) {
-                ((RegistrationWidget) widget).onBind(network.getRegistrationOptions());
-            } else if (widget.matches(UIELEMENT, NETWORKLOGOS)) {
-                bindNetworkLogosWidget((NetworkLogosWidget) widget, networkCard);
-            } else {
-                bindFormWidget(widget);
+            if (widget.matches(UIELEMENT, NETWORKLOGOS)) {
+                bindNetworkLogosWidget((NetworkLogosWidget) widget, (NetworkCard) paymentCard);
             }
         }
     }
@@ -93,13 +96,4 @@ final class NetworkCardViewHolder extends PaymentCardViewHolder {
     private void setTestId(String testId) {
         PaymentUtils.setTestId(itemView, "card", testId);
     }
-
-    private void addNetworkLogosWidget() {
-        NetworkLogosWidget widget = new NetworkLogosWidget(UIELEMENT, NETWORKLOGOS);
-        putFormWidget(widget);
-    }
-
-    private void addRegistrationWidget() {
-        putFormWidget(new RegistrationWidget(REGISTRATION, REGISTRATION_OPTIONS));
-    }
 }
@@ -8,7 +8,12 @@
 
 package com.payoneer.checkout.ui.list;
 
+import static com.payoneer.checkout.ui.model.PaymentSession.LINK_SELF;
+
+import com.payoneer.checkout.ui.model.AccountCard;
+import com.payoneer.checkout.ui.model.NetworkCard;
 import com.payoneer.checkout.ui.model.PaymentCard;
+import com.payoneer.checkout.ui.model.PaymentNetwork;
 
 /**
  * Class representing a PaymentCard item in the RecyclerView
@@ -16,10 +21,41 @@ import com.payoneer.checkout.ui.model.PaymentCard;
 final class PaymentCardItem extends ListItem {
 
     final PaymentCard paymentCard;
+    private final String shape;
+    private final String stableKey;
 
-    PaymentCardItem(int viewType, PaymentCard paymentCard) {
-        super(viewType);
+    PaymentCardItem(PaymentCard paymentCard) {
         this.paymentCard = paymentCard;
+        this.shape = PaymentCardWidgets.createShape(paymentCard);
+        this.stableKey = createStableKey(paymentCard);
+    }
+
+    @Override
+    String getShape() {
+        return shape;
+    }
+
+    @Override
+    String getStableKey() {
+        return stableKey;
+    }
+
+    /**
+     * Create the stable key of the PaymentCard, accounts are identified by their self link
+     * and networks by the codes of all payment networks in the card.
+     */
+    private static String createStableKey(PaymentCard card) {
+        if (card instanceof AccountCard) {
+            return "account:" + card.getLink(LINK_SELF);
+        }
+        if (card instanceof NetworkCard) {
+            StringBuilder sb = new StringBuilder("network");
+            for (PaymentNetwork network : ((NetworkCard) card).getPaymentNetworks()) {
+                sb.append(':').append(network.getNetworkCode());
+            }
+            return sb.toString();
+        }
+        return "preset:" + card.getNetworkCode();
     }
 
     PaymentCard getPaymentCard() {
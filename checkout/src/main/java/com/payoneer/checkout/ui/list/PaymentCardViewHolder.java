@@ -18,14 +18,12 @@ import static com.payoneer.checkout.core.PaymentInputType.VERIFICATION_CODE;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import com.payoneer.checkout.R;
 import com.payoneer.checkout.model.ExtraElement;
 import com.payoneer.checkout.model.InputElement;
-import com.payoneer.checkout.model.InputElementType;
 import com.payoneer.checkout.ui.model.PaymentCard;
 import com.payoneer.checkout.ui.widget.ButtonWidget;
 import com.payoneer.checkout.ui.widget.ExpiryDateWidget;
@@ -35,7 +33,6 @@ import com.payoneer.checkout.ui.widget.SelectWidget;
 import com.payoneer.checkout.ui.widget.TextInputWidget;
 import com.payoneer.checkout.ui.widget.VerificationCodeWidget;
 import com.payoneer.checkout.util.NetworkLogoLoader;
-import com.payoneer.checkout.util.PaymentUtils;
 
 import android.text.TextUtils;
 import android.view.LayoutInflater;
@@ -47,36 +44,44 @@ import android.widget.TextView;
 import androidx.recyclerview.widget.RecyclerView;
 
 /**
- * The PaymentCardViewHolder holding the header and input widgets
+ * The PaymentCardViewHolder holding the header and input widgets. The FormWidgets are inflated and bound when the card
+ * is expanded for the first time, collapsed cards only inflate and bind their header.
  */
 public abstract class PaymentCardViewHolder extends RecyclerView.ViewHolder {
     final static String UIELEMENT = "uielement";
     final static String NETWORKLOGOS = "networklogos";
     final static String BUTTON = "button";
+    final static String PAYLOAD_SMARTSWITCH = "smartswitch";
 
     final ViewGroup formLayout;
     final Map<String, FormWidget> widgets;
     final ImageView cardLogoView;
-    final PaymentCard paymentCard;
     final CardEventHandler cardHandler;
     final ListAdapter adapter;
+    PaymentCard paymentCard;
+    private boolean binding;
+    private boolean widgetsInflated;
+    private String boundNetworkCode;
 
     /**
-     * Construct a new PaymentCardViewHolder, this is the base class for other card ViewHolder
+     * Construct a new PaymentCardViewHolder, this is the base class for other card ViewHolder.
+     * The ViewHolder can be bound to all PaymentCards with the same shape as the provided PaymentCard.
      *
      * @param adapter maintaining the items in the payment list
      * @param parent view of the list
-     * @param paymentCard to be shown and bind to this ViewHolder
+     * @param paymentCard used to create the FormWidgets of this ViewHolder
      */
     PaymentCardViewHolder(ListAdapter adapter, View parent, PaymentCard paymentCard) {
         super(parent);
         this.adapter = adapter;
-        this.paymentCard = paymentCard;
         this.cardHandler = new CardEventHandler(this, adapter);
         this.formLayout = parent.findViewById(R.id.layout_form);
-        this.widgets = new LinkedHashMap<>();
+        this.widgets = PaymentCardWidgets.createWidgets(paymentCard);
         this.cardLogoView = parent.findViewById(R.id.image_logo);
 
+        for (FormWidget widget : widgets.values()) {
+            widget.setPresenter(cardHandler);
+        }
         View view = parent.findViewById(R.id.layout_header);
         view.setOnClickListener(new View.OnClickListener() {
             @Override
@@ -87,16 +92,91 @@ public abstract class PaymentCardViewHolder extends RecyclerView.ViewHolder {
     }
 
     /**
-     * Sub classes must implement this method and make sure that all FormWidgets are
-     * bound to the correct data elements.
+     * Sub classes must implement this method and make sure that the header of the card is
+     * bound to the PaymentCard. The FormWidgets are bound separately using bindFormWidget.
      */
     abstract void onBind();
 
+    /**
+     * Bind the PaymentCard to this ViewHolder. When this ViewHolder previously showed another PaymentCard
+     * then the input data the user entered in the PaymentCard is restored in the FormWidgets.
+     * The FormWidgets are only bound when they have been inflated.
+     *
+     * @param card to be bound to this ViewHolder
+     */
+    final void onBind(PaymentCard card) {
+        binding = true;
+        try {
+            if (card != paymentCard) {
+                if (paymentCard != null) {
+                    cardHandler.flushTextInput();
+                }
+                paymentCard = card;
+                if (widgetsInflated) {
+                    restoreUserInputData();
+                }
+            }
+            onBind();
+            if (widgetsInflated) {
+                bindFormWidgets();
+            }
+        } finally {
+            binding = false;
+        }
+    }
+
+    /**
+     * Partially bind the PaymentCard that is already bound to this ViewHolder, only the FormWidgets whose state
+     * depends on the changes described by the payloads are bound again.
+     *
+     * @param payloads describing the changes of the PaymentCard
+     * @return true when the payloads have been bound, false if a full bind is required
+     */
+    final boolean onBindPayloads(List<Object> payloads) {
+        for (Object payload : payloads) {
+            if (!PAYLOAD_SMARTSWITCH.equals(payload)) {
+                return false;
+            }
+        }
+        if (!widgetsInflated) {
+            return true;
+        }
+        binding = true;
+        try {
+            String networkCode = paymentCard.getNetworkCode();
+            bindSmartSwitchWidgets(!TextUtils.equals(networkCode, boundNetworkCode));
+            boundNetworkCode = networkCode;
+        } finally {
+            binding = false;
+        }
+        return true;
+    }
+
+    /**
+     * Flush the text input changes that are pending in this ViewHolder into its PaymentCard
+     */
+    void flushTextInput() {
+        cardHandler.flushTextInput();
+    }
+
+    /**
+     * Check if this ViewHolder is currently binding a PaymentCard, changes made to the FormWidgets while binding
+     * have not been made by the user.
+     *
+     * @return true when binding, false otherwise
+     */
+    boolean isBinding() {
+        return binding;
+    }
+
     PaymentCard getPaymentCard() {
         return paymentCard;
     }
 
     boolean hasUserInputData() {
+        if (!widgetsInflated) {
+            return false;
+        }
         for (FormWidget widget : widgets.values()) {
             if (widget.hasUserInputData()) {
                 return true;
@@ -117,81 +197,35 @@ public abstract class PaymentCardViewHolder extends RecyclerView.ViewHolder {
         return adapter.validPosition(getAdapterPosition());
     }
 
-    void addInputElementWidgets(List<InputElement> inputElements) {
-        String code = paymentCard.getNetworkCode();
-        boolean elementsContainExpiryDate = PaymentUtils.containsExpiryDate(inputElements);
-
-        for (InputElement element : inputElements) {
-            String name = element.getName();
-            if (cardHandler.isInputTypeHidden(code, name)) {
-                continue;
-            }
-            switch (element.getName()) {
-                case VERIFICATION_CODE:
-                    addVerificationCodeWidget();
-                    break;
-                case EXPIRY_MONTH:
-                case EXPIRY_YEAR:
-                    if (elementsContainExpiryDate) {
-                        addExpiryDateWidget();
-                        break;
-                    }
-                default:
-                    addInputElementWidget(element);
-            }
-        }
-    }
-
-    void addInputElementWidget(InputElement element) {
-        String category = INPUTELEMENT;
-        String name = element.getName();
-        FormWidget widget;
-        switch (element.getType()) {
-            case InputElementType.SELECT:
-                widget = new SelectWidget(category, name);
-                break;
-            default:
-                widget = new TextInputWidget(category, name);
-                break;
-        }
-        putFormWidget(widget);
+    /**
+     * Check if the FormWidgets of this ViewHolder have been inflated
+     *
+     * @return true when inflated, false otherwise
+     */
+    boolean hasInflatedWidgets() {
+        return widgetsInflated;
     }
 
-    void addExtraElementWidgets(List<ExtraElement> extraElements) {
-        for (ExtraElement element : extraElements) {
-            addExtraElementWidget(element);
+    /**
+     * Inflate, layout and bind the FormWidgets if this has not been done before. Once inflated the FormWidgets
+     * are kept for the lifetime of this ViewHolder, including their input and validation state.
+     */
+    void inflateWidgets() {
+        if (widgetsInflated) {
+            return;
         }
-    }
-
-    void addExtraElementWidget(ExtraElement extraElement) {
-        ExtraElementWidget widget = new ExtraElementWidget(EXTRAELEMENT, extraElement.getName());
-        putFormWidget(widget);
-    }
-
-    void addButtonWidget() {
-        ButtonWidget widget = new ButtonWidget(UIELEMENT, BUTTON);
-        putFormWidget(widget);
-    }
-
-    void addVerificationCodeWidget() {
-        VerificationCodeWidget widget = new VerificationCodeWidget(INPUTELEMENT, VERIFICATION_CODE);
-        putFormWidget(widget);
-    }
-
-    void addExpiryDateWidget() {
-        String category = INPUTELEMENT;
-        String name = EXPIRY_DATE;
-        String key = FormWidget.createWidgetKey(category, name);
-        if (!widgets.containsKey(key)) {
-            putFormWidget(new ExpiryDateWidget(category, name));
+        widgetsInflated = true;
+        binding = true;
+        try {
+            layoutWidgets();
+            setLastImeOptions();
+            restoreUserInputData();
+            bindFormWidgets();
+        } finally {
+            binding = false;
         }
     }
 
-    void putFormWidget(FormWidget widget) {
-        widget.setPresenter(cardHandler);
-        widgets.put(widget.getKey(), widget);
-    }
-
     void layoutWidgets() {
         ViewGroup rowLayout = null;
         boolean rowAdded = false;
@@ -273,9 +307,37 @@ public abstract class PaymentCardViewHolder extends RecyclerView.ViewHolder {
             formLayout.setVisibility(View.GONE);
             return;
         }
+        if (expand) {
+            inflateWidgets();
+        }
         formLayout.setVisibility(expand ? View.VISIBLE : View.GONE);
     }
 
+    void bindFormWidgets() {
+        for (FormWidget widget : widgets.values()) {
+            bindFormWidget(widget);
+        }
+        boundNetworkCode = paymentCard.getNetworkCode();
+    }
+
+    /**
+     * Bind the FormWidgets affected by a change of the smart switch selection. The InputElement, button
+     * and registration widgets only change when the network code of the card has changed,
+     * the ExtraElement widgets never change.
+     *
+     * @param networkChanged true when the network code of the card has changed since the last bind
+     */
+    void bindSmartSwitchWidgets(boolean networkChanged) {
+        if (!networkChanged) {
+            return;
+        }
+        for (FormWidget widget : widgets.values()) {
+            if (!EXTRAELEMENT.equals(widget.getCategory())) {
+                bindFormWidget(widget);
+            }
+        }
+    }
+
     void bindFormWidget(FormWidget widget) {
         String category = widget.getCategory();
 
@@ -353,6 +415,13 @@ public abstract class PaymentCardViewHolder extends RecyclerView.ViewHolder {
         NetworkLogoLoader.loadNetworkLogo(cardLogoView, networkCode, url);
     }
 
+    private void restoreUserInputData() {
+        for (FormWidget widget : widgets.values()) {
+            widget.clearFocus();
+            widget.setUserInputData(paymentCard.getUserInputData(widget.getName()));
+        }
+    }
+
     void setLastImeOptions() {
         List<String> keys = new ArrayList<>(widgets.keySet());
         Collections.reverse(keys);
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.ui.list;
+
+import static com.payoneer.checkout.core.PaymentInputCategory.EXTRAELEMENT;
+import static com.payoneer.checkout.core.PaymentInputCategory.INPUTELEMENT;
+import static com.payoneer.checkout.core.PaymentInputCategory.REGISTRATION;
+import static com.payoneer.checkout.core.PaymentInputType.EXPIRY_DATE;
+import static com.payoneer.checkout.core.PaymentInputType.EXPIRY_MONTH;
+import static com.payoneer.checkout.core.PaymentInputType.EXPIRY_YEAR;
+import static com.payoneer.checkout.core.PaymentInputType.REGISTRATION_OPTIONS;
+import static com.payoneer.checkout.core.PaymentInputType.VERIFICATION_CODE;
+import static com.payoneer.checkout.ui.list.PaymentCardViewHolder.BUTTON;
+import static com.payoneer.checkout.ui.list.PaymentCardViewHolder.NETWORKLOGOS;
+import static com.payoneer.checkout.ui.list.PaymentCardViewHolder.UIELEMENT;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.payoneer.checkout.model.ExtraElement;
+import com.payoneer.checkout.model.InputElement;
+import com.payoneer.checkout.model.InputElementType;
+import com.payoneer.checkout.ui.model.AccountCard;
+import com.payoneer.checkout.ui.model.NetworkCard;
+import com.payoneer.checkout.ui.model.PaymentCard;
+import com.payoneer.checkout.ui.model.PresetCard;
+import com.payoneer.checkout.ui.widget.ButtonWidget;
+import com.payoneer.checkout.ui.widget.ExpiryDateWidget;
+import com.payoneer.checkout.ui.widget.ExtraElementWidget;
+import com.payoneer.checkout.ui.widget.FormWidget;
+import com.payoneer.checkout.ui.widget.NetworkLogosWidget;
+import com.payoneer.checkout.ui.widget.RegistrationWidget;
+import com.payoneer.checkout.ui.widget.SelectWidget;
+import com.payoneer.checkout.ui.widget.TextInputWidget;
+import com.payoneer.checkout.ui.widget.VerificationCodeWidget;
+import com.payoneer.checkout.util.PaymentUtils;
+import com.payoneer.checkout.validation.Validator;
+
+/**
+ * Class creating the FormWidgets of a PaymentCard. PaymentCards with the same shape, i.e. the same ordered list of
+ * FormWidgets, can be shown by the same PaymentCardViewHolder.
+ */
+final class PaymentCardWidgets {
+
+    private final Map<String, FormWidget> widgets = new LinkedHashMap<>();
+
+    private PaymentCardWidgets() {
+    }
+
+    /**
+     * Create the ordered map of FormWidgets for the PaymentCard, the widgets have not been inflated yet.
+     *
+     * @param card for which the FormWidgets should be created
+     * @return map containing the FormWidgets in the order in which they are shown
+     */
+    static Map<String, FormWidget> createWidgets(PaymentCard card) {
+        PaymentCardWidgets builder = new PaymentCardWidgets();
+        if (card instanceof NetworkCard) {
+            builder.addNetworkCardWidgets((NetworkCard) card);
+        } else if (card instanceof AccountCard) {
+            builder.addAccountCardWidgets((AccountCard) card);
+        } else if (card instanceof PresetCard) {
+            builder.addPresetCardWidgets((PresetCard) card);
+        } else {
+            throw new IllegalArgumentException("Unsupported PaymentCard: " + card);
+        }
+        return builder.widgets;
+    }
+
+    /**
+     * Create the shape of the PaymentCard, PaymentCards with the same shape have the same type and FormWidgets.
+     *
+     * @param card for which the shape should be created
+     * @return the shape of the PaymentCard
+     */
+    static String createShape(PaymentCard card) {
+        StringBuilder sb = new StringBuilder(card.getClass().getSimpleName());
+        for (FormWidget widget : createWidgets(card).values()) {
+            sb.append('|').append(widget.getClass().getSimpleName()).append(':').append(widget.getKey());
+        }
+        return sb.toString();
+    }
+
+    private void addNetworkCardWidgets(NetworkCard card) {
+        addExtraElementWidgets(card.getTopExtraElements());
+        if (card.getPaymentNetworkCount() > 1) {
+            putFormWidget(new NetworkLogosWidget(UIELEMENT, NETWORKLOGOS));
+        }
+        addInputElementWidgets(card.getNetworkCode(), card.getInputElements());
+        putFormWidget(new RegistrationWidget(REGISTRATION, REGISTRATION_OPTIONS));
+        addExtraElementWidgets(card.getBottomExtraElements());
+        addButtonWidget();
+    }
+
+    private void addAccountCardWidgets(AccountCard card) {
+        addExtraElementWidgets(card.getTopExtraElements());
+        addInputElementWidgets(card.getNetworkCode(), card.getInputElements());
+        addExtraElementWidgets(card.getBottomExtraElements());
+        addButtonWidget();
+    }
+
+    private void addPresetCardWidgets(PresetCard card) {
+        addExtraElementWidgets(card.getTopExtraElements());
+        addExtraElementWidgets(card.getTopExtraElements());
+        addButtonWidget();
+    }
+
+    private void addInputElementWidgets(String code, List<InputElement> inputElements) {
+        boolean elementsContainExpiryDate = PaymentUtils.containsExpiryDate(inputElements);
+        Validator validator = Validator.getInstance();
+
+        for (InputElement element : inputElements) {
+            String name = element.getName();
+            if (validator.isHidden(code, name)) {
+                continue;
+            }
+            switch (element.getName()) {
+                case VERIFICATION_CODE:
+                    putFormWidget(new VerificationCodeWidget(INPUTELEMENT, VERIFICATION_CODE));
+                    break;
+                case EXPIRY_MONTH:
+                case EXPIRY_YEAR:
+                    if (elementsContainExpiryDate) {
+                        addExpiryDateWidget();
+                        break;
+                    }
+                default:
+                    addInputElementWidget(element);
+            }
+        }
+    }
+
+    private void addInputElementWidget(InputElement element) {
+        String category = INPUTELEMENT;
+        String name = element.getName();
+        FormWidget widget;
+        switch (element.getType()) {
+            case InputElementType.SELECT:
+                widget = new SelectWidget(category, name);
+                break;
+            default:
+                widget = new TextInputWidget(category, name);
+                break;
+        }
+        putFormWidget(widget);
+    }
+
+    private void addExtraElementWidgets(List<ExtraElement> extraElements) {
+        for (ExtraElement element : extraElements) {
+            putFormWidget(new ExtraElementWidget(EXTRAELEMENT, element.getName()));
+        }
+    }
+
+    private void addButtonWidget() {
+        putFormWidget(new ButtonWidget(UIELEMENT, BUTTON));
+    }
+
+    private void addExpiryDateWidget() {
+        String category = INPUTELEMENT;
+        String name = EXPIRY_DATE;
+        String key = FormWidget.createWidgetKey(category, name);
+        if (!widgets.containsKey(key)) {
+            putFormWidget(new ExpiryDateWidget(category, name));
+        }
+    }
+
+    private void putFormWidget(FormWidget widget) {
+        widgets.put(widget.getKey(), widget);
+    }
+}
@@ -9,18 +9,34 @@
 package com.payoneer.checkout.ui.list;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+
+import android.util.SparseArray;
 
 /**
  * Class containing the payment ListItems and keeping track of the currently selected ListItem.
+ * Each distinct item shape is assigned its own viewType, the first item of each viewType is kept in an index
+ * and used to create the ViewHolders for this viewType. ViewTypes and item ids are kept when the items are
+ * cleared or replaced, so that ViewHolders can be reused after the payment session has been reloaded.
  */
 final class PaymentItemList {
 
     private final List<ListItem> items;
+    private final Map<String, Integer> shapeViewTypes;
+    private final SparseArray<ListItem> viewTypeItems;
+    private final Map<String, Long> stableIds;
+    private final Map<String, Integer> keyOccurrences;
     private int selectedIndex;
 
     PaymentItemList() {
         this.items = new ArrayList<>();
+        this.shapeViewTypes = new HashMap<>();
+        this.viewTypeItems = new SparseArray<>();
+        this.stableIds = new HashMap<>();
+        this.keyOccurrences = new HashMap<>();
     }
 
     int getSelectedIndex() {
@@ -38,6 +54,25 @@ final class PaymentItemList {
     void clear() {
         selectedIndex = -1;
         items.clear();
+        viewTypeItems.clear();
+        keyOccurrences.clear();
+    }
+
+    /**
+     * Replace the items in this list with the items of the other list
+     *
+     * @param other list containing the new items and selected index
+     */
+    void setItems(PaymentItemList other) {
+        clear();
+        for (ListItem item : other.items) {
+            addItem(item, false);
+        }
+        selectedIndex = other.selectedIndex;
+    }
+
+    List<ListItem> getItems() {
+        return Collections.unmodifiableList(new ArrayList<>(items));
     }
 
     boolean validIndex(int index) {
@@ -45,12 +80,11 @@ final class PaymentItemList {
     }
 
     ListItem getItemWithViewType(int viewType) {
-        for (ListItem item : items) {
-            if (item.viewType == viewType) {
-                return item;
-            }
-        }
-        return null;
+        return viewTypeItems.get(viewType);
+    }
+
+    int getViewTypeCount() {
+        return shapeViewTypes.size();
     }
 
     int getItemCount() {
@@ -61,10 +95,46 @@ final class PaymentItemList {
         return items.get(index).viewType;
     }
 
+    long getItemId(int index) {
+        return items.get(index).itemId;
+    }
+
     void addItem(ListItem item, boolean preselected) {
+        String shape = item.getShape();
+        Integer viewType = shapeViewTypes.get(shape);
+
+        if (viewType == null) {
+            viewType = shapeViewTypes.size();
+            shapeViewTypes.put(shape, viewType);
+        }
+        if (viewTypeItems.get(viewType) == null) {
+            viewTypeItems.put(viewType, item);
+        }
+        item.viewType = viewType;
+        item.itemId = getStableId(item);
         items.add(item);
         if (preselected) {
             selectedIndex = items.size() - 1;
         }
     }
+
+    /**
+     * Get the id for the stable key of the item, items in the same list with the same stable key
+     * are given different ids based on their order.
+     */
+    private long getStableId(ListItem item) {
+        String key = item.getStableKey();
+        Integer occurrence = keyOccurrences.get(key);
+        occurrence = occurrence == null ? 0 : occurrence + 1;
+        keyOccurrences.put(key, occurrence);
+
+        String uniqueKey = key + "#" + occurrence;
+        Long id = stableIds.get(uniqueKey);
+
+        if (id == null) {
+            id = (long) stableIds.size();
+            stableIds.put(uniqueKey, id);
+        }
+        return id;
+    }
 }
@@ -8,8 +8,14 @@
 
 package com.payoneer.checkout.ui.list;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import com.payoneer.checkout.core.WorkerSubscriber;
+import com.payoneer.checkout.core.WorkerTask;
+import com.payoneer.checkout.core.Workers;
 import com.payoneer.checkout.ui.model.PaymentCard;
 import com.payoneer.checkout.ui.model.PaymentSection;
 import com.payoneer.checkout.ui.model.PaymentSession;
@@ -18,25 +24,33 @@ import com.payoneer.checkout.ui.widget.FormWidget;
 import android.app.Activity;
 import android.content.Context;
 import android.os.IBinder;
+import android.util.Log;
 import android.view.View;
 import android.view.inputmethod.InputMethodManager;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.LinearSmoothScroller;
 import androidx.recyclerview.widget.RecyclerView;
 import androidx.recyclerview.widget.SimpleItemAnimator;
 
 /**
- * The PaymentList showing available payment methods and accounts in a list
+ * The PaymentList showing available payment methods and accounts in a list.
+ * When a reloaded payment session is shown, the differences with the current list are calculated in the background
+ * and only the changed items are updated. User input data in cards that remain in the list is preserved.
  */
 public final class PaymentList {
+    private final static int MAX_PREFETCH_CARDS = 8;
+
     private final Activity activity;
     private final PaymentListListener listener;
     private final RecyclerView recyclerView;
     private final ListAdapter adapter;
     private final PaymentItemList itemList;
+    private final LayoutPrefetcher layoutPrefetcher;
 
     private PaymentSession session;
-    private int nextViewType;
+    private PaymentSession pendingSession;
+    private WorkerTask<DiffUtil.DiffResult> diffTask;
 
     /**
      * Construct a new PaymentList handling the RecyclerView
@@ -51,7 +65,8 @@ public final class PaymentList {
         this.recyclerView = recyclerView;
 
         this.itemList = new PaymentItemList();
-        this.adapter = new ListAdapter(createCardListener(), itemList);
+        this.layoutPrefetcher = new LayoutPrefetcher(activity);
+        this.adapter = new ListAdapter(createCardListener(), itemList, layoutPrefetcher);
 
         this.recyclerView.setAdapter(adapter);
         this.recyclerView.setLayoutManager(new LinearLayoutManager(activity));
@@ -64,9 +79,11 @@ public final class PaymentList {
 
     public void onStop() {
         hideKeyboard();
+        layoutPrefetcher.clear();
     }
 
     public void clear() {
+        cancelListUpdate();
         if (session != null) {
             session.reset();
             session = null;
@@ -76,22 +93,46 @@ public final class PaymentList {
     }
 
     public boolean hasUserInputData() {
+        flushTextInput();
         return session != null && session.hasUserInputData();
     }
 
     public void showPaymentSession(PaymentSession session) {
+        if (pendingSession == session) {
+            return;
+        }
+        cancelListUpdate();
         if (this.session == session) {
             setVisible(true);
             return;
         }
-        clear();
-        this.session = session;
-        setPaymentSessionItems(session);
-
-        setVisible(true);
-        adapter.notifyDataSetChanged();
+        if (this.session == null || itemList.getItemCount() == 0) {
+            replacePaymentSession(session);
+            return;
+        }
+        updatePaymentSession(session);
+    }
 
-        recyclerView.scrollToPosition(itemList.getSelectedIndex());
+    /**
+     * Prepare showing the PaymentSession by inflating the layouts of the first cards in the background.
+     * Nothing is prepared when the list already contains items, their ViewHolders can be reused.
+     *
+     * @param session the payment session that will be shown
+     */
+    public void preparePaymentSession(PaymentSession session) {
+        if (itemList.getItemCount() > 0) {
+            return;
+        }
+        List<Integer> layoutResIds = new ArrayList<>();
+        for (PaymentSection section : session.getPaymentSections()) {
+            for (PaymentCard card : section.getPaymentCards()) {
+                if (layoutResIds.size() == MAX_PREFETCH_CARDS) {
+                    break;
+                }
+                layoutResIds.add(ListAdapter.getCardLayoutResId(card));
+            }
+        }
+        layoutPrefetcher.prefetch(recyclerView, layoutResIds);
     }
 
     public void setVisible(boolean visible) {
@@ -196,21 +237,100 @@ public final class PaymentList {
         }
     }
 
-    private void setPaymentSessionItems(PaymentSession paymentSession) {
-        for (PaymentSection section : paymentSession.getPaymentSections()) {
-            addPaymentSectionItems(section);
+    private void replacePaymentSession(PaymentSession session) {
+        clear();
+        this.session = session;
+        setPaymentSessionItems(itemList, session);
+
+        setVisible(true);
+        adapter.notifyDataSetChanged();
+
+        recyclerView.scrollToPosition(itemList.getSelectedIndex());
+    }
+
+    private void updatePaymentSession(final PaymentSession newSession) {
+        final PaymentItemList newItemList = new PaymentItemList();
+        setPaymentSessionItems(newItemList, newSession);
+        final List<ListItem> oldItems = itemList.getItems();
+        final List<ListItem> newItems = newItemList.getItems();
+
+        pendingSession = newSession;
+        diffTask = WorkerTask.fromCallable(() -> DiffUtil.calculateDiff(new ListItemDiffCallback(oldItems, newItems)),
+            Workers.PRIORITY_NORMAL);
+        diffTask.subscribe(new WorkerSubscriber<DiffUtil.DiffResult>() {
+            @Override
+            public void onSuccess(DiffUtil.DiffResult result) {
+                diffTask = null;
+                pendingSession = null;
+                applyPaymentSession(newSession, newItemList, oldItems, result);
+            }
+
+            @Override
+            public void onError(Throwable cause) {
+                Log.w("checkout-sdk", cause);
+                diffTask = null;
+                pendingSession = null;
+                replacePaymentSession(newSession);
+            }
+        });
+        Workers.getInstance().forComputeTasks().execute(diffTask);
+    }
+
+    private void applyPaymentSession(PaymentSession newSession, PaymentItemList newItemList, List<ListItem> oldItems,
+        DiffUtil.DiffResult result) {
+        flushTextInput();
+        ListItem selected = itemList.getItem(itemList.getSelectedIndex());
+        Map<String, PaymentCard> oldCards = new HashMap<>();
+        for (ListItem item : oldItems) {
+            if (item.hasPaymentCard()) {
+                oldCards.put(item.getStableKey(), item.getPaymentCard());
+            }
+        }
+        itemList.setItems(newItemList);
+        for (int i = 0, e = itemList.getItemCount(); i < e; i++) {
+            ListItem item = itemList.getItem(i);
+            PaymentCard oldCard = item.hasPaymentCard() ? oldCards.get(item.getStableKey()) : null;
+            if (oldCard != null) {
+                item.getPaymentCard().copyUserInputData(oldCard);
+            }
+            if (selected != null && selected.getStableKey().equals(item.getStableKey())) {
+                itemList.setSelectedIndex(i);
+            }
         }
+        session = newSession;
+        result.dispatchUpdatesTo(adapter);
+        setVisible(true);
     }
 
-    private void addPaymentSectionItems(PaymentSection section) {
-        itemList.addItem(new HeaderItem(nextViewType(), section.getTitle(), section.getMessage()), false);
-        for (PaymentCard card : section.getPaymentCards()) {
-            PaymentCardItem item = new PaymentCardItem(nextViewType(), card);
-            itemList.addItem(item, card.isPreselected());
+    private void flushTextInput() {
+        for (int i = 0, e = recyclerView.getChildCount(); i < e; i++) {
+            RecyclerView.ViewHolder holder = recyclerView.getChildViewHolder(recyclerView.getChildAt(i));
+            if (holder instanceof PaymentCardViewHolder) {
+                ((PaymentCardViewHolder) holder).flushTextInput();
+            }
+        }
+    }
+
+    private void cancelListUpdate() {
+        if (diffTask != null) {
+            diffTask.unsubscribe();
+            diffTask.cancel(true);
+            diffTask = null;
         }
+        pendingSession = null;
     }
 
-    private int nextViewType() {
-        return nextViewType++;
+    private void setPaymentSessionItems(PaymentItemList list, PaymentSession paymentSession) {
+        for (PaymentSection section : paymentSession.getPaymentSections()) {
+            addPaymentSectionItems(list, section);
+        }
+    }
+
+    private void addPaymentSectionItems(PaymentItemList list, PaymentSection section) {
+        list.addItem(new HeaderItem(section.getTitle(), section.getMessage()), false);
+        for (PaymentCard card : section.getPaymentCards()) {
+            PaymentCardItem item = new PaymentCardItem(card);
+            list.addItem(item, card.isPreselected());
+        }
     }
 }
@@ -11,10 +11,8 @@ package com.payoneer.checkout.ui.list;
 import com.google.android.material.card.MaterialCardView;
 import com.payoneer.checkout.R;
 import com.payoneer.checkout.ui.model.PresetCard;
-import com.payoneer.checkout.ui.widget.FormWidget;
 import com.payoneer.checkout.util.PaymentUtils;
 
-import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.TextView;
@@ -35,16 +33,10 @@ final class PresetCardViewHolder extends PaymentCardViewHolder {
         subtitleView = parent.findViewById(R.id.text_subtitle);
         card = parent.findViewById(R.id.card_preset);
         card.setCheckable(true);
-
-        addExtraElementWidgets(presetCard.getTopExtraElements());
-        addExtraElementWidgets(presetCard.getTopExtraElements());
-        addButtonWidget();
-        layoutWidgets();
     }
 
     static RecyclerView.ViewHolder createInstance(ListAdapter adapter, PresetCard presetCard, ViewGroup parent) {
-        LayoutInflater inflater = LayoutInflater.from(parent.getContext());
-        View view = inflater.inflate(R.layout.list_item_presetcard, parent, false);
+        View view = adapter.inflateCardLayout(presetCard, parent);
         return new PresetCardViewHolder(adapter, view, presetCard);
     }
 
@@ -55,10 +47,6 @@ final class PresetCardViewHolder extends PaymentCardViewHolder {
         bindLabel(titleView, card.getTitle(), false);
         bindLabel(subtitleView, card.getSubtitle(), true);
         bindCardLogo(paymentCard.getNetworkCode(), card.getLogoLink());
-
-        for (FormWidget widget : widgets.values()) {
-            bindFormWidget(widget);
-        }
     }
 
     void expand(boolean expand) {
@@ -12,8 +12,8 @@ import static com.payoneer.checkout.ui.model.PaymentSession.LINK_LOGO;
 import static com.payoneer.checkout.ui.model.PaymentSession.LINK_OPERATION;
 
 import java.net.URL;
-import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -33,7 +33,7 @@ public abstract class PaymentCard {
     private boolean checkable;
     private boolean hideInputForm;
     private boolean disabled;
-    final List<String> userInputTypes;
+    final Map<String, String> userInputData;
 
     /**
      * Construct a PaymentCard, when a card is checkable and marked as checked
@@ -43,7 +43,7 @@ public abstract class PaymentCard {
      */
     public PaymentCard(ExtraElements extraElements) {
         this.extraElements = extraElements;
-        this.userInputTypes = new ArrayList<>();
+        this.userInputData = new HashMap<>();
     }
 
     public void setDisabled(final boolean disabled) {
@@ -187,7 +187,7 @@ public abstract class PaymentCard {
      * @return true when this PaymentCard contains user data, false otherwise
      */
     public boolean hasUserInputData() {
-        return userInputTypes.size() != 0;
+        return userInputData.size() != 0;
     }
 
     /**
@@ -195,7 +195,7 @@ public abstract class PaymentCard {
      * For example, temporary selection data stored in SmartSwitch.
      */
     public void reset() {
-        userInputTypes.clear();
+        userInputData.clear();
     }
 
     /**
@@ -223,8 +223,8 @@ public abstract class PaymentCard {
     }
 
     /**
-     * Set the user input data. Add the type to the userInputTypes list if the text is not empty,
-     * remove it otherwise. If the list has elements it implies that the user has entered text in this
+     * Set the user input data. Store the text for the type if the text is not empty,
+     * remove it otherwise. If the map has entries it implies that the user has entered text in this
      * PaymentCard.
      *
      * @param type of the input data field
@@ -232,12 +232,35 @@ public abstract class PaymentCard {
      */
     void setUserInputData(String type, String text) {
         if (TextUtils.isEmpty(text)) {
-            userInputTypes.remove(type);
-        } else if (!userInputTypes.contains(type)) {
-            userInputTypes.add(type);
+            userInputData.remove(type);
+        } else {
+            userInputData.put(type, text);
         }
     }
 
+    /**
+     * Copy the user input data from the other PaymentCard into this PaymentCard, i.e. when the payment session
+     * has been reloaded and this PaymentCard replaces the other PaymentCard.
+     *
+     * @param card from which the user input data is copied
+     */
+    public void copyUserInputData(PaymentCard card) {
+        for (Map.Entry<String, String> entry : card.userInputData.entrySet()) {
+            onTextInputChanged(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Get the text the user has entered for the input data field, this is used to restore the text
+     * when a list item view is bound to this PaymentCard.
+     *
+     * @param type of the input data field
+     * @return the text entered by the user or null if not entered
+     */
+    public String getUserInputData(String type) {
+        return userInputData.get(type);
+    }
+
     /**
      * Check if this card contains a link with the provided name. If the card contains multiple networks then
      * all networks must be checked if at least one of them contains the link.
@@ -12,36 +12,43 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Pattern;
 
 import android.text.TextUtils;
 
 /**
- * Class for storing and selecting payment networks based on smart switch logic
+ * Class for storing and selecting payment networks based on smart switch logic.
+ * The selection regexes of all networks are matched at once by a SmartSwitchMatcher, which is created once per process
+ * for the same regexes and continues matching from the previous text when the user appends digits to the number.
  */
 public final class SmartSwitch {
 
-    private final Map<String, Pattern> smartMapping;
+    private final Map<String, String> smartMapping;
     private final List<PaymentNetwork> networks;
     private final List<PaymentNetwork> smartSelected;
     private final List<PaymentNetwork> smartBuffer;
+    private final SmartSwitchMatcher.MatchState matchState;
+    private SmartSwitchMatcher matcher;
+    private int matcherNetworkCount;
 
     public SmartSwitch(List<PaymentNetwork> networks) {
         this.networks = networks;
         this.smartMapping = new HashMap<>();
         this.smartSelected = new ArrayList<>();
         this.smartBuffer = new ArrayList<>();
+        this.matchState = new SmartSwitchMatcher.MatchState();
     }
 
     public void addSelectionRegex(String code, String regex) {
         if (!TextUtils.isEmpty(regex)) {
-            smartMapping.put(code, Pattern.compile(regex));
+            smartMapping.put(code, regex);
+            matcher = null;
         }
     }
 
     public void reset() {
         smartBuffer.clear();
         smartSelected.clear();
+        matchState.reset(null);
     }
 
     /**
@@ -72,12 +79,8 @@ public final class SmartSwitch {
         smartBuffer.clear();
 
         if (text != null) {
-            for (PaymentNetwork network : networks) {
-                Pattern pattern = smartMapping.get(network.getNetworkCode());
-
-                if (pattern != null && pattern.matcher(text).matches()) {
-                    smartBuffer.add(network);
-                }
+            for (int index : getMatcher().match(text, matchState)) {
+                smartBuffer.add(networks.get(index));
             }
         }
         if (!smartSelected.equals(smartBuffer)) {
@@ -87,5 +90,17 @@ public final class SmartSwitch {
         }
         return false;
     }
+
+    private SmartSwitchMatcher getMatcher() {
+        if (matcher == null || matcherNetworkCount != networks.size()) {
+            List<String> regexes = new ArrayList<>(networks.size());
+            for (PaymentNetwork network : networks) {
+                regexes.add(smartMapping.get(network.getNetworkCode()));
+            }
+            matcher = SmartSwitchMatcher.getInstance(regexes);
+            matcherNetworkCount = networks.size();
+        }
+        return matcher;
+    }
 }
 
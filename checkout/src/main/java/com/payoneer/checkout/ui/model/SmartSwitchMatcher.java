@@ -0,0 +1,300 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.ui.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Class matching a card number against the smart selection regexes of multiple payment networks at once.
+ * <p>
+ * The smart selection regexes describe the number prefixes of a network followed by any number of digits,
+ * i.e. "^(5[0-5]|222[1-9])[0-9]*$". The prefixes of all regexes are fused into one digit trie, so that the networks
+ * matching a number are found by walking the trie once. The walk can be continued when digits are appended to the
+ * number, which allows matching while the user types without starting again for every new digit.
+ * Regexes that do not have this form are matched using a precompiled Pattern instead.
+ * <p>
+ * Matchers are immutable and cached per process by their regexes, the regexes are only parsed and compiled once.
+ */
+final class SmartSwitchMatcher {
+
+    private final static int MAX_NETWORKS = Long.SIZE;
+    private final static int MAX_PREFIXES = 10000;
+    private final static String DIGITS_SUFFIX = "[0-9]*";
+    private final static String DIGITS_SUFFIX_SHORT = "\\d*";
+
+    private final static Map<String, SmartSwitchMatcher> MATCHERS = new HashMap<>();
+
+    private final Node root;
+    private final Pattern[] patterns;
+
+    private SmartSwitchMatcher(List<String> regexes) {
+        this.root = new Node();
+        this.patterns = new Pattern[regexes.size()];
+
+        for (int i = 0, e = regexes.size(); i < e; i++) {
+            String regex = regexes.get(i);
+            if (regex == null) {
+                continue;
+            }
+            List<String> prefixes = i < MAX_NETWORKS ? parsePrefixes(regex) : null;
+            if (prefixes == null) {
+                patterns[i] = Pattern.compile(regex);
+                continue;
+            }
+            for (String prefix : prefixes) {
+                root.addPrefix(prefix, 1L << i);
+            }
+        }
+    }
+
+    /**
+     * Get the matcher for the list of smart selection regexes, the index of a regex in this list is used
+     * as index of the network in the matching results.
+     *
+     * @param regexes list of smart selection regexes, a regex may be null if the network has none
+     * @return the cached or newly created matcher
+     */
+    static SmartSwitchMatcher getInstance(List<String> regexes) {
+        StringBuilder sb = new StringBuilder();
+        for (String regex : regexes) {
+            sb.append(regex).append('\n');
+        }
+        String key = sb.toString();
+        synchronized (MATCHERS) {
+            SmartSwitchMatcher matcher = MATCHERS.get(key);
+            if (matcher == null) {
+                matcher = new SmartSwitchMatcher(regexes);
+                MATCHERS.put(key, matcher);
+            }
+            return matcher;
+        }
+    }
+
+    /**
+     * Match the text, the MatchState is advanced from the part of the text it has already matched.
+     * If the text does not start with the previously matched text then matching starts from the beginning.
+     *
+     * @param text to be matched
+     * @param state holding the result of previous matching
+     * @return list of indexes of the networks matching the text, in the order of the regexes
+     */
+    List<Integer> match(String text, MatchState state) {
+        if (state.matcher != this || !text.startsWith(state.text)) {
+            state.reset(this);
+        }
+        for (int i = state.text.length(), e = text.length(); i < e; i++) {
+            state.advance(text.charAt(i));
+        }
+        state.text = text;
+
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < patterns.length; i++) {
+            Pattern pattern = patterns[i];
+            boolean matches = pattern != null ? pattern.matcher(text).matches() : (state.matched & (1L << i)) != 0;
+            if (matches) {
+                indexes.add(i);
+            }
+        }
+        return indexes;
+    }
+
+    /**
+     * Parse the prefixes of a smart selection regex. Supported are digits, character classes with digits and ranges
+     * and fixed repetitions, optionally inside one group of alternatives, followed by "[0-9]*".
+     *
+     * @param regex the smart selection regex
+     * @return list of prefixes or null if the regex is not supported
+     */
+    static List<String> parsePrefixes(String regex) {
+        if (regex == null) {
+            return null;
+        }
+        String body = regex;
+        if (body.startsWith("^")) {
+            body = body.substring(1);
+        }
+        if (body.endsWith("$")) {
+            body = body.substring(0, body.length() - 1);
+        }
+        if (body.endsWith(DIGITS_SUFFIX)) {
+            body = body.substring(0, body.length() - DIGITS_SUFFIX.length());
+        } else if (body.endsWith(DIGITS_SUFFIX_SHORT)) {
+            body = body.substring(0, body.length() - DIGITS_SUFFIX_SHORT.length());
+        } else {
+            return null;
+        }
+        String[] alternatives;
+        if (body.startsWith("(") && body.endsWith(")")) {
+            alternatives = body.substring(1, body.length() - 1).split("\\|", -1);
+        } else {
+            alternatives = new String[] { body };
+        }
+        List<String> prefixes = new ArrayList<>();
+        for (String alternative : alternatives) {
+            if (!parseAlternative(alternative, prefixes)) {
+                return null;
+            }
+        }
+        return prefixes;
+    }
+
+    private static boolean parseAlternative(String alternative, List<String> prefixes) {
+        List<String> expanded = new ArrayList<>();
+        expanded.add("");
+        int index = 0;
+        int length = alternative.length();
+
+        if (length == 0) {
+            return false;
+        }
+        while (index < length) {
+            char c = alternative.charAt(index);
+            boolean[] digits = new boolean[10];
+
+            if (isDigit(c)) {
+                digits[c - '0'] = true;
+                index++;
+            } else if (c == '[') {
+                int end = alternative.indexOf(']', index);
+                if (end == -1 || !parseClass(alternative.substring(index + 1, end), digits)) {
+                    return false;
+                }
+                index = end + 1;
+            } else if (alternative.startsWith("\\d", index)) {
+                for (int i = 0; i < 10; i++) {
+                    digits[i] = true;
+                }
+                index += 2;
+            } else {
+                return false;
+            }
+            int repeat = 1;
+            if (index < length && alternative.charAt(index) == '{') {
+                int end = alternative.indexOf('}', index);
+                if (end == -1) {
+                    return false;
+                }
+                try {
+                    repeat = Integer.parseInt(alternative.substring(index + 1, end));
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+                index = end + 1;
+            }
+            for (int r = 0; r < repeat; r++) {
+                expanded = expand(expanded, digits);
+                if (expanded.size() + prefixes.size() > MAX_PREFIXES) {
+                    return false;
+                }
+            }
+        }
+        prefixes.addAll(expanded);
+        return true;
+    }
+
+    private static boolean parseClass(String content, boolean[] digits) {
+        int index = 0;
+        int length = content.length();
+        if (length == 0) {
+            return false;
+        }
+        while (index < length) {
+            char from = content.charAt(index);
+            if (!isDigit(from)) {
+                return false;
+            }
+            char to = from;
+            if (index + 2 < length && content.charAt(index + 1) == '-') {
+                to = content.charAt(index + 2);
+                if (!isDigit(to) || to < from) {
+                    return false;
+                }
+                index += 3;
+            } else {
+                index++;
+            }
+            for (char c = from; c <= to; c++) {
+                digits[c - '0'] = true;
+            }
+        }
+        return true;
+    }
+
+    private static List<String> expand(List<String> prefixes, boolean[] digits) {
+        List<String> expanded = new ArrayList<>();
+        for (String prefix : prefixes) {
+            for (int i = 0; i < digits.length; i++) {
+                if (digits[i]) {
+                    expanded.add(prefix + (char) ('0' + i));
+                }
+            }
+        }
+        return expanded;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * State of matching a text against the digit trie of a SmartSwitchMatcher
+     */
+    static final class MatchState {
+        private SmartSwitchMatcher matcher;
+        private String text = "";
+        private Node node;
+        private long matched;
+
+        void reset(SmartSwitchMatcher matcher) {
+            this.matcher = matcher;
+            this.text = "";
+            this.node = matcher != null ? matcher.root : null;
+            this.matched = node != null ? node.networks : 0;
+        }
+
+        private void advance(char c) {
+            if (!isDigit(c)) {
+                // the prefixes are only followed by digits, no network can match anymore
+                node = null;
+                matched = 0;
+                return;
+            }
+            if (node == null) {
+                return;
+            }
+            node = node.children[c - '0'];
+            if (node != null) {
+                matched |= node.networks;
+            }
+        }
+    }
+
+    private static final class Node {
+        final Node[] children = new Node[10];
+        long networks;
+
+        void addPrefix(String prefix, long network) {
+            Node current = this;
+            for (int i = 0, e = prefix.length(); i < e; i++) {
+                int digit = prefix.charAt(i) - '0';
+                Node next = current.children[digit];
+                if (next == null) {
+                    next = new Node();
+                    current.children[digit] = next;
+                }
+                current = next;
+            }
+            current.networks |= network;
+        }
+    }
+}
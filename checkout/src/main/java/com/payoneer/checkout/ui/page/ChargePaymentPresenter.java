@@ -79,6 +79,10 @@ final class ChargePaymentPresenter extends BasePaymentPresenter implements Payme
         }
     }
 
+    @Override
+    public void onPaymentSessionBuilt(PaymentSession session) {
+    }
+
     @Override
     public void onPaymentSessionSuccess(PaymentSession session) {
         ListResult listResult = session.getListResult();
@@ -112,6 +112,17 @@ public final class PaymentListActivity extends BasePaymentActivity implements Pa
         resetSwipeRefreshLayout();
     }
 
+    @Override
+    public void hidePaymentList() {
+        paymentList.setVisible(false);
+        resetSwipeRefreshLayout();
+    }
+
+    @Override
+    public void preparePaymentSession(PaymentSession session) {
+        paymentList.preparePaymentSession(session);
+    }
+
     @Override
     public void showPaymentSession(PaymentSession session) {
         progressView.setVisible(false);
@@ -185,6 +185,11 @@ final class PaymentListPresenter extends BasePaymentPresenter
         view.showHintDialog(networkCode, type, null);
     }
 
+    @Override
+    public void onPaymentSessionBuilt(PaymentSession session) {
+        listView.preparePaymentSession(session);
+    }
+
     @Override
     public void onPaymentSessionSuccess(PaymentSession session) {
         ListResult listResult = session.getListResult();
@@ -528,7 +533,7 @@ final class PaymentListPresenter extends BasePaymentPresenter
 
     private void loadPaymentSession() {
         this.session = null;
-        listView.clearPaymentList();
+        listView.hidePaymentList();
         view.showProgress(true);
         sessionService.loadPaymentSession(listUrl, view.getActivity());
     }
@@ -21,6 +21,12 @@ interface PaymentListView extends BasePaymentView {
      */
     void clearPaymentList();
 
+    /**
+     * Hide the payment list while the payment session is reloaded, the items remain in the list so that
+     * only the differences need to be updated when the reloaded payment session is shown.
+     */
+    void hidePaymentList();
+
     /**
      * Show the Charge payment screen for the provided operation
      *
@@ -29,6 +35,13 @@ interface PaymentListView extends BasePaymentView {
      */
     void showChargePaymentScreen(int requestCode, Operation operation);
 
+    /**
+     * Prepare showing the PaymentSession while it is still being loaded
+     *
+     * @param session the payment session that will be shown to the user
+     */
+    void preparePaymentSession(PaymentSession session);
+
     /**
      * Stop loading and show the PaymentSession
      *
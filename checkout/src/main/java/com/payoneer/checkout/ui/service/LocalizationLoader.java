@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.ui.service;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import com.payoneer.checkout.core.PaymentException;
+import com.payoneer.checkout.core.Workers;
+import com.payoneer.checkout.localization.LocalizationCache;
+import com.payoneer.checkout.localization.LocalizationHolder;
+import com.payoneer.checkout.localization.MultiLocalizationHolder;
+import com.payoneer.checkout.network.LocalizationConnection;
+
+import android.util.Log;
+
+/**
+ * Class for loading localization files, the network localization files are downloaded in parallel
+ * using a bounded number of network workers together with the calling thread.
+ */
+final class LocalizationLoader {
+
+    /** Default maximum number of localization files downloaded at the same time */
+    final static int MAX_PARALLEL_DOWNLOADS = 4;
+
+    private final LocalizationConnection connection;
+    private final LocalizationCache cache;
+    private final int maxParallelDownloads;
+
+    /**
+     * Construct a new LocalizationLoader
+     *
+     * @param connection used to download the localization files
+     * @param cache memory cache in which loaded localization holders are stored
+     * @param maxParallelDownloads maximum number of localization files downloaded at the same time
+     */
+    LocalizationLoader(LocalizationConnection connection, LocalizationCache cache, int maxParallelDownloads) {
+        if (maxParallelDownloads < 1) {
+            throw new IllegalArgumentException("maxParallelDownloads must be larger than 0");
+        }
+        this.connection = connection;
+        this.cache = cache;
+        this.maxParallelDownloads = maxParallelDownloads;
+    }
+
+    /**
+     * Load the localization holders for all networks. A network for which the localization file could not be loaded
+     * will use the fallback localization holder instead. The calling thread takes part in downloading the localization
+     * files so that loading completes even when all network workers are busy. When the calling thread is interrupted,
+     * i.e. because the payment session has been stopped, the downloads of the workers are cancelled as well.
+     *
+     * @param links containing the network codes with the URLs of their localization files
+     * @param fallback localization holder used when a translation is not found in a network localization file
+     * @return map containing a localization holder for each network code
+     */
+    Map<String, LocalizationHolder> loadNetworkLocalizations(Map<String, URL> links, LocalizationHolder fallback)
+        throws PaymentException {
+        Queue<Map.Entry<String, URL>> queue = new ConcurrentLinkedQueue<>(links.entrySet());
+        Map<String, LocalizationHolder> holders = new ConcurrentHashMap<>();
+        Runnable worker = () -> loadQueuedLocalizations(queue, holders, fallback);
+
+        List<Future<?>> futures = new ArrayList<>();
+        int workers = Math.min(maxParallelDownloads, links.size()) - 1;
+        for (int i = 0; i < workers; i++) {
+            futures.add(Workers.getInstance().forNetworkTasks().submit(worker));
+        }
+        try {
+            worker.run();
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedException();
+            }
+            for (Future<?> future : futures) {
+                // workers that have not started yet are not needed anymore since the queue is empty
+                if (!future.cancel(false)) {
+                    future.get();
+                }
+            }
+        } catch (InterruptedException e) {
+            queue.clear();
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+            Thread.currentThread().interrupt();
+            throw new PaymentException("Loading the network localizations has been cancelled", e);
+        } catch (ExecutionException e) {
+            throw new PaymentException(e.getCause());
+        }
+        return holders;
+    }
+
+    /**
+     * Load the localization holder from the memory cache or download it if it does not exist in the cache.
+     *
+     * @param url pointing to the localization file
+     * @param fallback localization holder used when a translation is not found in the loaded localization file
+     * @return the localization holder
+     */
+    LocalizationHolder loadLocalizationHolder(URL url, LocalizationHolder fallback) throws PaymentException {
+        String langUrl = url.toString();
+        LocalizationHolder holder = cache.get(langUrl);
+
+        if (holder == null) {
+            holder = new MultiLocalizationHolder(connection.loadLocalization(url), fallback);
+            cache.put(langUrl, holder);
+        }
+        return holder;
+    }
+
+    private void loadQueuedLocalizations(Queue<Map.Entry<String, URL>> queue, Map<String, LocalizationHolder> holders,
+        LocalizationHolder fallback) {
+        Map.Entry<String, URL> entry;
+        while (!Thread.currentThread().isInterrupted() && (entry = queue.poll()) != null) {
+            LocalizationHolder holder = loadNetworkLocalizationHolder(entry.getValue(), fallback);
+            if (holder != null) {
+                holders.put(entry.getKey(), holder);
+            }
+        }
+    }
+
+    /**
+     * Load the localization holder of a network, the fallback is returned if the localization file could not be loaded
+     *
+     * @return the localization holder or null if loading has been cancelled by interrupting the thread
+     */
+    private LocalizationHolder loadNetworkLocalizationHolder(URL url, LocalizationHolder fallback) {
+        try {
+            return loadLocalizationHolder(url, fallback);
+        } catch (PaymentException e) {
+            if (Thread.currentThread().isInterrupted()) {
+                return null;
+            }
+            // a missing network localization file should not prevent the payment session from loading
+            Log.w("checkout-sdk", e);
+            return fallback;
+        }
+    }
+}
@@ -86,7 +86,7 @@ public final class OperationService {
             public OperationResult call() throws PaymentException {
                 return asyncDeleteAccount(account);
             }
-        });
+        }, Workers.PRIORITY_HIGH);
         task.subscribe(new WorkerSubscriber<OperationResult>() {
             @Override
             public void onSuccess(OperationResult result) {
@@ -124,7 +124,7 @@ public final class OperationService {
             public OperationResult call() throws PaymentException {
                 return asyncPostOperation(operation);
             }
-        });
+        }, Workers.PRIORITY_HIGH);
         task.subscribe(new WorkerSubscriber<OperationResult>() {
             @Override
             public void onSuccess(OperationResult result) {
@@ -15,6 +15,15 @@ import com.payoneer.checkout.ui.model.PaymentSession;
  */
 public interface PaymentSessionListener {
 
+    /**
+     * Called when the PaymentSession has been built from the ListResult while the localizations are still being loaded.
+     * The PaymentSession may be used to prepare showing it, it will be provided again once it has been loaded.
+     * This is not called for an adopted prefetched PaymentSession, which is already loaded.
+     *
+     * @param paymentSession built by the PaymentService
+     */
+    void onPaymentSessionBuilt(PaymentSession paymentSession);
+
     /**
      * Called when the PaymentSession was successfully loaded by the PaymentService.
      *
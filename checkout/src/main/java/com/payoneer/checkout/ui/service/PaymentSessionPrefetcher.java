@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.ui.service;
+
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+
+import com.payoneer.checkout.localization.Localization;
+import com.payoneer.checkout.ui.model.PaymentCard;
+import com.payoneer.checkout.ui.model.PaymentSection;
+import com.payoneer.checkout.ui.model.PaymentSession;
+import com.payoneer.checkout.util.NetworkLogoLoader;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+
+/**
+ * Class prefetching the PaymentSession before the PaymentPage is shown, i.e. while the user is still on the cart
+ * screen of the merchant app. The ListResult, localizations, payment groups, validator and the logos of the first
+ * payment methods are loaded in the background. A PaymentSessionService loading the same list adopts the prefetched
+ * PaymentSession on its first load if it is still fresh, a prefetched PaymentSession is adopted only once.
+ * <p>
+ * A PaymentSessionService loading the list while it is still being prefetched joins the requests in flight, the
+ * prefetch is then consumed and its late PaymentSession discarded.
+ * The methods of this class must be called from the main UI thread.
+ */
+public final class PaymentSessionPrefetcher {
+
+    /** Maximum age of a prefetched PaymentSession to be adopted */
+    final static long MAX_AGE = TimeUnit.MINUTES.toMillis(5);
+    private final static int MAX_PREFETCH_LOGOS = 8;
+
+    private Context context;
+    private String listUrl;
+    private PaymentSessionService service;
+    private PaymentSession session;
+    private Localization localization;
+    private long prefetchedAt;
+
+    private PaymentSessionPrefetcher() {
+    }
+
+    /**
+     * Get the instance of this PaymentSessionPrefetcher
+     *
+     * @return the instance of this PaymentSessionPrefetcher
+     */
+    public static PaymentSessionPrefetcher getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Start prefetching the PaymentSession of the list. Nothing is done if the list is already being prefetched or
+     * a fresh PaymentSession of the list has been prefetched. A previous prefetch of a different list is cancelled.
+     *
+     * @param context used to load the PaymentSession, the application context is retained
+     * @param listUrl URL pointing to the list on the Payment API
+     */
+    public void prefetch(Context context, String listUrl) {
+        if (listUrl.equals(this.listUrl) && (service != null || isFresh())) {
+            return;
+        }
+        clear();
+        this.context = context.getApplicationContext();
+        this.listUrl = listUrl;
+        service = new PaymentSessionService(this.context, true);
+        service.setListener(new PaymentSessionListener() {
+            @Override
+            public void onPaymentSessionBuilt(PaymentSession paymentSession) {
+            }
+
+            @Override
+            public void onPaymentSessionSuccess(PaymentSession paymentSession) {
+                onPrefetchSuccess(paymentSession);
+            }
+
+            @Override
+            public void onPaymentSessionError(Throwable cause) {
+                // the PaymentSession will be loaded again when the PaymentPage is shown
+                Log.w("checkout-sdk", cause);
+                clear();
+            }
+        });
+        service.loadPaymentSession(listUrl, this.context);
+    }
+
+    /**
+     * Take the prefetched PaymentSession of the list if it is still fresh. The Localization loaded together with
+     * the PaymentSession is set as the Localization instance. The prefetch of the list is consumed by this call,
+     * a prefetch still in flight is detached so that its requests can be joined but its PaymentSession is discarded.
+     *
+     * @param listUrl URL pointing to the list on the Payment API
+     * @return the prefetched PaymentSession or null if no fresh PaymentSession of the list is available
+     */
+    PaymentSession takePaymentSession(String listUrl) {
+        if (!listUrl.equals(this.listUrl)) {
+            return null;
+        }
+        PaymentSession prefetched = isFresh() ? session : null;
+        if (prefetched != null) {
+            Localization.setInstance(localization);
+        }
+        detach();
+        return prefetched;
+    }
+
+    private void onPrefetchSuccess(PaymentSession paymentSession) {
+        session = paymentSession;
+        localization = service.getLocalization();
+        prefetchedAt = SystemClock.elapsedRealtime();
+        service = null;
+        prefetchNetworkLogos(paymentSession);
+    }
+
+    private boolean isFresh() {
+        return session != null && SystemClock.elapsedRealtime() - prefetchedAt < MAX_AGE;
+    }
+
+    private void prefetchNetworkLogos(PaymentSession paymentSession) {
+        int count = 0;
+        for (PaymentSection section : paymentSession.getPaymentSections()) {
+            for (PaymentCard card : section.getPaymentCards()) {
+                if (count++ == MAX_PREFETCH_LOGOS) {
+                    return;
+                }
+                URL logoLink = card.getLogoLink();
+                NetworkLogoLoader.getInstance().prefetchNetworkLogo(context, card.getNetworkCode(), logoLink);
+            }
+        }
+    }
+
+    private void detach() {
+        if (service != null) {
+            service.setListener(null);
+            service = null;
+        }
+        clear();
+    }
+
+    private void clear() {
+        if (service != null) {
+            service.stop();
+            service = null;
+        }
+        context = null;
+        listUrl = null;
+        session = null;
+        localization = null;
+    }
+
+    private static class InstanceHolder {
+        static final PaymentSessionPrefetcher INSTANCE = new PaymentSessionPrefetcher();
+    }
+}
@@ -14,25 +14,23 @@ import static com.payoneer.checkout.model.NetworkOperationType.PRESET;
 import static com.payoneer.checkout.model.NetworkOperationType.UPDATE;
 
 import java.net.URL;
-import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
 
-import com.payoneer.checkout.R;
 import com.payoneer.checkout.core.PaymentException;
+import com.payoneer.checkout.core.PriorityExecutor;
+import com.payoneer.checkout.core.WorkerFuture;
 import com.payoneer.checkout.core.WorkerSubscriber;
-import com.payoneer.checkout.core.WorkerTask;
 import com.payoneer.checkout.core.Workers;
 import com.payoneer.checkout.localization.LocalLocalizationHolder;
 import com.payoneer.checkout.localization.Localization;
 import com.payoneer.checkout.localization.LocalizationCache;
 import com.payoneer.checkout.localization.LocalizationHolder;
-import com.payoneer.checkout.localization.MultiLocalizationHolder;
 import com.payoneer.checkout.model.ListResult;
+import com.payoneer.checkout.network.Deadline;
 import com.payoneer.checkout.network.ListConnection;
 import com.payoneer.checkout.network.LocalizationConnection;
 import com.payoneer.checkout.resource.PaymentGroup;
-import com.payoneer.checkout.resource.ResourceLoader;
 import com.payoneer.checkout.ui.model.PaymentSession;
 import com.payoneer.checkout.validation.Validator;
 
@@ -40,15 +38,25 @@ import android.content.Context;
 
 /**
  * The PaymentSessionService providing asynchronous loading of the PaymentSession, validator and localizations.
+ * The ListResult is loaded at the same time as the payment groups and validator, which are cached for the lifetime of
+ * the process by the ResourcePreloader. The localizations are loaded once the PaymentSession has been built.
  * This service makes callbacks in the listener to notify of request completions.
  */
 public final class PaymentSessionService {
 
+    /** Time budget for all requests made to load a PaymentSession, including retries */
+    final static long LOAD_BUDGET = TimeUnit.SECONDS.toMillis(45);
+
     private final ListConnection listConnection;
-    private final LocalizationConnection locConnection;
+    private final LocalizationConnection localizationConnection;
+    private final LocalizationLoader localizationLoader;
+    private final boolean prefetching;
 
     private PaymentSessionListener listener;
-    private WorkerTask<PaymentSession> sessionTask;
+    private WorkerFuture<PaymentSession> sessionFuture;
+    private WorkerFuture<PaymentSession> builtFuture;
+    private volatile Localization localization;
+    private boolean firstLoad = true;
 
     /** Memory cache of localizations */
     private static final LocalizationCache cache = new LocalizationCache();
@@ -59,8 +67,22 @@ public final class PaymentSessionService {
      * @param context context in which this service will run
      */
     public PaymentSessionService(Context context) {
+        this(context, false);
+    }
+
+    /**
+     * Create a new PaymentSessionService. A prefetching service does not adopt a prefetched PaymentSession and does
+     * not set the Localization instance, the PaymentSessionPrefetcher sets it once the PaymentSession is taken.
+     *
+     * @param context context in which this service will run
+     * @param prefetching true when this service is used by the PaymentSessionPrefetcher
+     */
+    PaymentSessionService(Context context, boolean prefetching) {
+        this.prefetching = prefetching;
         this.listConnection = new ListConnection(context);
-        this.locConnection = new LocalizationConnection(context);
+        this.localizationConnection = new LocalizationConnection(context);
+        this.localizationLoader = new LocalizationLoader(localizationConnection, cache,
+            LocalizationLoader.MAX_PARALLEL_DOWNLOADS);
     }
 
     /**
@@ -73,12 +95,14 @@ public final class PaymentSessionService {
     }
 
     /**
-     * Stop and unsubscribe from tasks that are currently active in this service.
+     * Stop and cancel all tasks that are currently loading the payment session in this service.
      */
     public void stop() {
-        if (sessionTask != null) {
-            sessionTask.unsubscribe();
-            sessionTask = null;
+        unsubscribeBuiltFuture();
+        if (sessionFuture != null) {
+            sessionFuture.unsubscribe();
+            sessionFuture.cancel();
+            sessionFuture = null;
         }
     }
 
@@ -88,30 +112,40 @@ public final class PaymentSessionService {
      * @return true when active, false otherwise
      */
     public boolean isActive() {
-        return sessionTask != null && sessionTask.isSubscribed();
+        return sessionFuture != null && sessionFuture.isSubscribed();
     }
 
     /**
      * Load the PaymentSession with the given listUrl, this will load the list result, languages and validator.
+     * The first load of this service adopts a fresh PaymentSession prefetched by the PaymentSessionPrefetcher instead
+     * of loading it again, reloads always load the list. An adopted PaymentSession is delivered to the listener on
+     * the main thread like a loaded PaymentSession, the listener is not notified that it has been built.
+     * All requests made to load the PaymentSession must complete within the LOAD_BUDGET, failed requests are retried
+     * as long as the budget allows.
      *
      * @param listUrl URL pointing to the list on the Payment API
      * @param context Android context in which this service is used
      */
     public void loadPaymentSession(final String listUrl, final Context context) {
 
-        if (sessionTask != null) {
+        if (sessionFuture != null) {
             throw new IllegalStateException("Already loading payment session, stop first");
         }
-        sessionTask = WorkerTask.fromCallable(new Callable<PaymentSession>() {
-            @Override
-            public PaymentSession call() throws PaymentException {
-                return asyncLoadPaymentSession(listUrl, context);
-            }
-        });
-        sessionTask.subscribe(new WorkerSubscriber<PaymentSession>() {
+        boolean adopt = firstLoad && !prefetching;
+        firstLoad = false;
+        PaymentSession prefetched = adopt ? PaymentSessionPrefetcher.getInstance().takePaymentSession(listUrl) : null;
+        if (prefetched != null) {
+            PriorityExecutor executor = Workers.getInstance().forNetworkTasks();
+            sessionFuture = WorkerFuture.fromValue(prefetched, executor, Workers.PRIORITY_HIGH);
+        } else {
+            sessionFuture = createSessionFuture(listUrl, context);
+        }
+
+        sessionFuture.subscribe(new WorkerSubscriber<PaymentSession>() {
             @Override
             public void onSuccess(PaymentSession paymentSession) {
-                sessionTask = null;
+                sessionFuture = null;
+                unsubscribeBuiltFuture();
 
                 if (listener != null) {
                     listener.onPaymentSessionSuccess(paymentSession);
@@ -120,14 +154,14 @@ public final class PaymentSessionService {
 
             @Override
             public void onError(Throwable cause) {
-                sessionTask = null;
+                sessionFuture = null;
+                unsubscribeBuiltFuture();
 
                 if (listener != null) {
                     listener.onPaymentSessionError(cause);
                 }
             }
         });
-        Workers.getInstance().forNetworkTasks().execute(sessionTask);
     }
 
     /**
@@ -150,9 +184,60 @@ public final class PaymentSessionService {
         }
     }
 
-    private PaymentSession asyncLoadPaymentSession(String listUrl, Context context) throws PaymentException {
-        ListResult listResult = listConnection.getListResult(listUrl);
+    /**
+     * Get the Localization that has been loaded together with the last PaymentSession
+     *
+     * @return the Localization or null if no PaymentSession has been loaded
+     */
+    Localization getLocalization() {
+        return localization;
+    }
+
+    private void unsubscribeBuiltFuture() {
+        if (builtFuture != null) {
+            builtFuture.unsubscribe();
+            builtFuture = null;
+        }
+    }
+
+    private WorkerFuture<PaymentSession> createSessionFuture(final String listUrl, final Context context) {
+        Deadline deadline = Deadline.after(LOAD_BUDGET, TimeUnit.MILLISECONDS);
+        listConnection.setDeadline(deadline);
+        localizationConnection.setDeadline(deadline);
+
+        PriorityExecutor executor = Workers.getInstance().forNetworkTasks();
+        int priority = Workers.PRIORITY_HIGH;
+
+        WorkerFuture<ListResult> listFuture = WorkerFuture.fromCallable(() -> listConnection.getListResult(listUrl),
+            executor, priority);
+        ResourcePreloader preloader = ResourcePreloader.getInstance();
+        WorkerFuture<Map<String, PaymentGroup>> groupsFuture = preloader.loadPaymentGroups(context);
+        WorkerFuture<Validator> validatorFuture = preloader.loadValidator(context);
+
+        WorkerFuture<PaymentSession> built = WorkerFuture.combine(listFuture, groupsFuture, this::buildPaymentSession);
+        WorkerFuture<PaymentSession> session = built.then(paymentSession -> loadLocalizations(context, paymentSession));
+
+        builtFuture = built.share();
+        builtFuture.subscribe(new WorkerSubscriber<PaymentSession>() {
+            @Override
+            public void onSuccess(PaymentSession paymentSession) {
+                builtFuture = null;
+
+                if (listener != null) {
+                    listener.onPaymentSessionBuilt(paymentSession);
+                }
+            }
+
+            @Override
+            public void onError(Throwable cause) {
+                // errors are reported by the sessionFuture
+                builtFuture = null;
+            }
+        });
+        return WorkerFuture.combine(session, validatorFuture, (paymentSession, validator) -> paymentSession);
+    }
 
+    private PaymentSession buildPaymentSession(ListResult listResult, Map<String, PaymentGroup> groups) throws PaymentException {
         String integrationType = listResult.getIntegrationType();
         if (!MOBILE_NATIVE.equals(integrationType)) {
             throw new PaymentException("Integration type is not supported: " + integrationType);
@@ -161,52 +246,28 @@ public final class PaymentSessionService {
         if (!isSupportedNetworkOperationType(operationType)) {
             throw new PaymentException("List operationType is not supported: " + operationType);
         }
-        PaymentSession session = new PaymentSessionBuilder()
+        return new PaymentSessionBuilder()
             .setListResult(listResult)
-            .setPaymentGroups(loadPaymentGroups(context))
+            .setPaymentGroups(groups)
             .build();
-
-        loadValidator(context);
-        loadLocalizations(context, session);
-        return session;
-    }
-
-    private Map<String, PaymentGroup> loadPaymentGroups(Context context) throws PaymentException {
-        return ResourceLoader.loadPaymentGroups(context.getResources(), R.raw.groups);
-    }
-
-    private void loadValidator(Context context) throws PaymentException {
-        if (Validator.getInstance() == null) {
-            Validator validator = new Validator(ResourceLoader.loadValidations(context.getResources(), R.raw.validations));
-            Validator.setInstance(validator);
-        }
     }
 
-    private void loadLocalizations(Context context, PaymentSession session) throws PaymentException {
+    private PaymentSession loadLocalizations(Context context, PaymentSession session) throws PaymentException {
         String listUrl = session.getListSelfUrl();
         if (!listUrl.equals(cache.getCacheId())) {
             cache.clear();
             cache.setCacheId(listUrl);
         }
         LocalizationHolder localHolder = new LocalLocalizationHolder(context);
-        LocalizationHolder sharedHolder = loadLocalizationHolder(session.getListLanguageLink(), localHolder);
+        LocalizationHolder sharedHolder = localizationLoader.loadLocalizationHolder(session.getListLanguageLink(), localHolder);
 
-        Map<String, LocalizationHolder> holders = new HashMap<>();
         Map<String, URL> links = session.getLanguageLinks();
-        for (Map.Entry<String, URL> entry : links.entrySet()) {
-            holders.put(entry.getKey(), loadLocalizationHolder(entry.getValue(), sharedHolder));
-        }
-        Localization.setInstance(new Localization(sharedHolder, holders));
-    }
-
-    private LocalizationHolder loadLocalizationHolder(URL url, LocalizationHolder fallback) throws PaymentException {
-        String langUrl = url.toString();
-        LocalizationHolder holder = cache.get(langUrl);
-
-        if (holder == null) {
-            holder = new MultiLocalizationHolder(locConnection.loadLocalization(url), fallback);
-            cache.put(langUrl, holder);
+        Map<String, LocalizationHolder> holders = localizationLoader.loadNetworkLocalizations(links, sharedHolder);
+        Localization loaded = new Localization(sharedHolder, holders);
+        localization = loaded;
+        if (!prefetching) {
+            Localization.setInstance(loaded);
         }
-        return holder;
+        return session;
     }
 }
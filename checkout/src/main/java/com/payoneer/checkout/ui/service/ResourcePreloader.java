@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.ui.service;
+
+import java.util.Collections;
+import java.util.Map;
+
+import com.payoneer.checkout.R;
+import com.payoneer.checkout.core.WorkerFuture;
+import com.payoneer.checkout.core.Workers;
+import com.payoneer.checkout.resource.PaymentGroup;
+import com.payoneer.checkout.resource.ResourceLoader;
+import com.payoneer.checkout.util.GsonHelper;
+import com.payoneer.checkout.validation.Validator;
+
+import android.content.Context;
+import android.content.res.Resources;
+
+/**
+ * Class for preloading the static payment groups and validations resources. The resources do not depend on the
+ * ListResult and are loaded once per process, they can be preloaded before the payment session is loaded so that
+ * loading the payment session only has to wait for the network. A failed load is retried by the next request.
+ * The TypeAdapters of the shared Gson instance are warmed up together with the resources.
+ */
+public final class ResourcePreloader {
+
+    private volatile Map<String, PaymentGroup> paymentGroups;
+    private WorkerFuture<Map<String, PaymentGroup>> groupsFuture;
+    private WorkerFuture<Validator> validatorFuture;
+    private boolean gsonWarmedUp;
+
+    private ResourcePreloader() {
+    }
+
+    /**
+     * Get the instance of this ResourcePreloader
+     *
+     * @return the instance of this ResourcePreloader
+     */
+    public static ResourcePreloader getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Start loading the payment groups and validations in the background if they have not been loaded yet.
+     * The shared Gson instance is warmed up in the background the first time this method is called.
+     *
+     * @param context used to obtain the resources
+     */
+    public void preload(Context context) {
+        warmUpGson();
+        loadPaymentGroups(context);
+        loadValidator(context);
+    }
+
+    /**
+     * Get the WorkerFuture providing the payment groups, the payment groups are loaded if they are not loaded yet.
+     * Cancelling the returned WorkerFuture does not cancel the loading of the payment groups.
+     *
+     * @param context used to obtain the resources
+     * @return the WorkerFuture providing the payment groups
+     */
+    public synchronized WorkerFuture<Map<String, PaymentGroup>> loadPaymentGroups(Context context) {
+        Map<String, PaymentGroup> groups = paymentGroups;
+        if (groups != null) {
+            return WorkerFuture.fromValue(groups, Workers.getInstance().forNetworkTasks(), Workers.PRIORITY_HIGH);
+        }
+        if (groupsFuture == null || groupsFuture.isDone()) {
+            final Resources res = context.getApplicationContext().getResources();
+            groupsFuture = WorkerFuture.fromCallable(() -> {
+                Map<String, PaymentGroup> loaded = Collections.unmodifiableMap(ResourceLoader.loadPaymentGroups(res, R.raw.groups));
+                paymentGroups = loaded;
+                return loaded;
+            }, Workers.getInstance().forNetworkTasks(), Workers.PRIORITY_HIGH);
+        }
+        return groupsFuture.share();
+    }
+
+    /**
+     * Get the WorkerFuture providing the Validator, the validations are loaded if the Validator instance has not
+     * been set yet. Cancelling the returned WorkerFuture does not cancel the loading of the validations.
+     *
+     * @param context used to obtain the resources
+     * @return the WorkerFuture providing the Validator
+     */
+    public synchronized WorkerFuture<Validator> loadValidator(Context context) {
+        Validator validator = Validator.getInstance();
+        if (validator != null) {
+            return WorkerFuture.fromValue(validator, Workers.getInstance().forNetworkTasks(), Workers.PRIORITY_HIGH);
+        }
+        if (validatorFuture == null || validatorFuture.isDone()) {
+            final Resources res = context.getApplicationContext().getResources();
+            validatorFuture = WorkerFuture.fromCallable(() -> {
+                Validator loaded = new Validator(ResourceLoader.loadValidations(res, R.raw.validations));
+                Validator.setInstance(loaded);
+                return loaded;
+            }, Workers.getInstance().forNetworkTasks(), Workers.PRIORITY_HIGH);
+        }
+        return validatorFuture.share();
+    }
+
+    private synchronized void warmUpGson() {
+        if (gsonWarmedUp) {
+            return;
+        }
+        gsonWarmedUp = true;
+        WorkerFuture.fromCallable(() -> {
+            GsonHelper.getInstance().warmUp();
+            return null;
+        }, Workers.getInstance().forComputeTasks(), Workers.PRIORITY_LOW);
+    }
+
+    private static class InstanceHolder {
+        static final ResourcePreloader INSTANCE = new ResourcePreloader();
+    }
+}
@@ -61,17 +61,37 @@ public final class ExpiryDateWidget extends InputLayoutWidget {
     }
 
     private ExpiryDate getExpiryDate() {
-        String[] split = getValue().split(ExpiryDateInputMode.DIVIDER);
-        String month = split.length > 0 ? split[0] : "";
-        String year = split.length > 1 ? split[1] : "";
+        CharSequence value = getValidationValue();
+        int divider = TextUtils.indexOf(value, ExpiryDateInputMode.DIVIDER);
+        String month = TextUtils.substring(value, 0, divider >= 0 ? divider : value.length());
+        String year = "";
 
-        if (!TextUtils.isEmpty(year)) {
-            int expiryYear = PaymentUtils.createExpiryYear(Integer.parseInt(year));
-            year = Integer.toString(expiryYear);
+        if (divider >= 0) {
+            year = parseExpiryYear(value, divider + ExpiryDateInputMode.DIVIDER.length());
         }
         return new ExpiryDate(month, year);
     }
 
+    /**
+     * Parse the two digit year in place, the year is returned unchanged when it is not a two digit number so that it
+     * fails validation.
+     */
+    private String parseExpiryYear(CharSequence value, int start) {
+        int end = value.length();
+        if (end - start > 2) {
+            return TextUtils.substring(value, start, end);
+        }
+        int year = 0;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return TextUtils.substring(value, start, end);
+            }
+            year = year * 10 + (c - '0');
+        }
+        return start < end ? Integer.toString(PaymentUtils.createExpiryYear(year)) : "";
+    }
+
     private static class ExpiryDate {
         final String month;
         final String year;
@@ -140,6 +140,14 @@ public abstract class FormWidget {
         return false;
     }
 
+    /**
+     * Set the input data previously entered by the user, i.e. when this widget is bound to another PaymentCard.
+     *
+     * @param value the input data or null to clear the input data
+     */
+    public void setUserInputData(String value) {
+    }
+
     /**
      * Set the validation in this widget given the current input value.
      */
@@ -99,6 +99,14 @@ public abstract class InputLayoutWidget extends FormWidget {
         return !(TextUtils.isEmpty(textInput.getText()));
     }
 
+    @Override
+    public void setUserInputData(String value) {
+        String text = value != null ? value : "";
+        if (!text.equals(getValue())) {
+            textInput.setText(text);
+        }
+    }
+
     @Override
     public boolean setLastImeOptionsWidget() {
         textInput.setImeOptions(EditorInfo.IME_ACTION_DONE);
@@ -129,7 +137,7 @@ public abstract class InputLayoutWidget extends FormWidget {
 
     @Override
     public boolean validate() {
-        ValidationResult result = presenter.validate(name, getValue(), null);
+        ValidationResult result = presenter.validate(name, getValidationValue(), null);
         return setValidationResult(result);
     }
 
@@ -205,6 +213,29 @@ public abstract class InputLayoutWidget extends FormWidget {
         return (mode != null) ? mode.normalize(val) : val;
     }
 
+    /**
+     * Get the trimmed and normalized value to be validated. The Editable of the text input is returned as is when it
+     * neither needs to be trimmed nor normalized, validating while the user types does not copy the input.
+     *
+     * @return the value to be validated
+     */
+    CharSequence getValidationValue() {
+        CharSequence cs = textInput.getText();
+        if (cs == null) {
+            return "";
+        }
+        int start = 0;
+        int end = cs.length();
+        while (start < end && cs.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && cs.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        CharSequence val = (start == 0 && end == cs.length()) ? cs : TextUtils.substring(cs, start, end);
+        return (mode == null || mode.isNormalized(val)) ? val : mode.normalize(val.toString());
+    }
+
     boolean setValidationResult(ValidationResult result) {
         if (result == null) {
             return false;
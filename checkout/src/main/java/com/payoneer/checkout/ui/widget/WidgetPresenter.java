@@ -67,7 +67,7 @@ public interface WidgetPresenter {
      * @param value2 optional second value to validate
      * @return ValidationResult holding the result of the validation
      */
-    ValidationResult validate(String type, String value1, String value2);
+    ValidationResult validate(String type, CharSequence value1, CharSequence value2);
 
     /**
      * Notify that text has changed in this widget.
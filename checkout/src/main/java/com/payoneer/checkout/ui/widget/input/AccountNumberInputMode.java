@@ -38,6 +38,14 @@ public final class AccountNumberInputMode extends EditTextInputMode {
         return value != null ? value.replaceAll("\\s", "") : null;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isNormalized(CharSequence value) {
+        return !containsWhitespace(value);
+    }
+
     /**
      * {@inheritDoc}
      */
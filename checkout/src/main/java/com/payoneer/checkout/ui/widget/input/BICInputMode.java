@@ -35,6 +35,14 @@ public final class BICInputMode extends EditTextInputMode {
         return value != null ? value.replaceAll("\\s", "") : null;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isNormalized(CharSequence value) {
+        return !containsWhitespace(value);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -34,6 +34,25 @@ public abstract class EditTextInputMode {
         return value;
     }
 
+    /**
+     * Check if the value is normalized, a normalized value can be validated without copying it into a String
+     *
+     * @param value to be checked
+     * @return true when normalizing the value would not change it
+     */
+    public boolean isNormalized(CharSequence value) {
+        return true;
+    }
+
+    static boolean containsWhitespace(CharSequence value) {
+        for (int i = 0, e = value.length(); i < e; i++) {
+            if (Character.isWhitespace(value.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Get the maxLength when grouping is applied
      *
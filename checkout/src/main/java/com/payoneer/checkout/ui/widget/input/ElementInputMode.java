@@ -46,6 +46,23 @@ public final class ElementInputMode extends EditTextInputMode {
         return value;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isNormalized(CharSequence value) {
+        if (!element.getType().equals(InputElementType.NUMERIC)) {
+            return true;
+        }
+        for (int i = 0, e = value.length(); i < e; i++) {
+            char c = value.charAt(i);
+            if (Character.isWhitespace(c) || c == '|' || c == '-') {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * {@inheritDoc}
      */
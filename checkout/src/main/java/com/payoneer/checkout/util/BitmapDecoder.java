@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.util;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+
+/**
+ * Class for decoding Bitmaps at the size in which they are displayed. The bounds of the image are read first
+ * to compute the sample size, opaque JPEG images are decoded with the RGB_565 config and decoded Bitmaps
+ * reuse the memory of Bitmaps from the BitmapPool when possible.
+ */
+public final class BitmapDecoder {
+
+    private final static String MIMETYPE_JPEG = "image/jpeg";
+
+    private final BitmapPool pool;
+
+    /**
+     * Construct a new BitmapDecoder
+     *
+     * @param pool containing Bitmaps that may be reused when decoding
+     */
+    public BitmapDecoder(BitmapPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Decode the image data into a Bitmap which is downsampled to the requested size.
+     * If the requested width or height is 0 or smaller then the image will not be downsampled in that dimension.
+     *
+     * @param data containing the encoded image
+     * @param reqWidth the width in pixels in which the Bitmap is displayed
+     * @param reqHeight the height in pixels in which the Bitmap is displayed
+     * @return the decoded Bitmap or null if the data could not be decoded
+     */
+    public Bitmap decode(byte[] data, int reqWidth, int reqHeight) {
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeByteArray(data, 0, data.length, options);
+
+        if (options.outWidth <= 0 || options.outHeight <= 0) {
+            return null;
+        }
+        int sampleSize = calculateInSampleSize(options.outWidth, options.outHeight, reqWidth, reqHeight);
+        Bitmap.Config config = MIMETYPE_JPEG.equals(options.outMimeType) ? Bitmap.Config.RGB_565 : Bitmap.Config.ARGB_8888;
+
+        options.inJustDecodeBounds = false;
+        options.inSampleSize = sampleSize;
+        options.inPreferredConfig = config;
+        options.inMutable = true;
+        options.inBitmap = pool.get(divideRoundUp(options.outWidth, sampleSize), divideRoundUp(options.outHeight, sampleSize), config);
+
+        try {
+            return BitmapFactory.decodeByteArray(data, 0, data.length, options);
+        } catch (IllegalArgumentException e) {
+            // the reusable Bitmap could not be used for decoding, decode without reusing memory
+            options.inBitmap = null;
+            return BitmapFactory.decodeByteArray(data, 0, data.length, options);
+        }
+    }
+
+    /**
+     * Calculate the largest power of two sample size that keeps both dimensions equal to or larger than the
+     * requested dimensions.
+     *
+     * @param width of the encoded image
+     * @param height of the encoded image
+     * @param reqWidth the requested width, 0 or smaller if not known
+     * @param reqHeight the requested height, 0 or smaller if not known
+     * @return the sample size used for decoding the image
+     */
+    public static int calculateInSampleSize(int width, int height, int reqWidth, int reqHeight) {
+        if (reqWidth <= 0 && reqHeight <= 0) {
+            return 1;
+        }
+        int sampleSize = 1;
+        while (isLargerThanRequested(width / (sampleSize * 2), reqWidth)
+            && isLargerThanRequested(height / (sampleSize * 2), reqHeight)) {
+            sampleSize *= 2;
+        }
+        return sampleSize;
+    }
+
+    private static boolean isLargerThanRequested(int size, int reqSize) {
+        return reqSize <= 0 ? size > 0 : size >= reqSize;
+    }
+
+    private static int divideRoundUp(int value, int divider) {
+        return (value + divider - 1) / divider;
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.util;
+
+import java.util.Iterator;
+import java.util.LinkedList;
+
+import android.graphics.Bitmap;
+
+/**
+ * Pool of mutable Bitmaps that are no longer displayed and may be reused for decoding new Bitmaps through inBitmap.
+ * The total number of bytes held by this pool is bounded, the oldest Bitmaps are removed first. This class is thread safe.
+ */
+public final class BitmapPool {
+
+    private final LinkedList<Bitmap> bitmaps = new LinkedList<>();
+    private final long maxSize;
+    private long size;
+
+    /**
+     * Construct a new BitmapPool
+     *
+     * @param maxSize maximum number of bytes the Bitmaps in this pool may use
+     */
+    public BitmapPool(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Add the Bitmap to this pool, only mutable Bitmaps that are not recycled can be reused.
+     *
+     * @param bitmap to be added to this pool
+     */
+    public synchronized void put(Bitmap bitmap) {
+        if (bitmap == null || !bitmap.isMutable() || bitmap.isRecycled()) {
+            return;
+        }
+        int byteCount = bitmap.getAllocationByteCount();
+        if (byteCount > maxSize) {
+            return;
+        }
+        bitmaps.addLast(bitmap);
+        size += byteCount;
+
+        while (size > maxSize) {
+            size -= bitmaps.removeFirst().getAllocationByteCount();
+        }
+    }
+
+    /**
+     * Get a Bitmap from this pool that is large enough to hold a decoded Bitmap with the given size and config.
+     * The Bitmap is removed from this pool.
+     *
+     * @param width of the decoded Bitmap
+     * @param height of the decoded Bitmap
+     * @param config of the decoded Bitmap
+     * @return the reusable Bitmap or null if none was found
+     */
+    public synchronized Bitmap get(int width, int height, Bitmap.Config config) {
+        long required = (long) width * height * getBytesPerPixel(config);
+        Iterator<Bitmap> iterator = bitmaps.iterator();
+
+        while (iterator.hasNext()) {
+            Bitmap bitmap = iterator.next();
+            int byteCount = bitmap.getAllocationByteCount();
+            if (byteCount >= required) {
+                iterator.remove();
+                size -= byteCount;
+                return bitmap;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Remove all Bitmaps from this pool
+     */
+    public synchronized void clear() {
+        bitmaps.clear();
+        size = 0;
+    }
+
+    private static int getBytesPerPixel(Bitmap.Config config) {
+        if (config == Bitmap.Config.RGB_565 || config == Bitmap.Config.ARGB_4444) {
+            return 2;
+        }
+        return config == Bitmap.Config.ALPHA_8 ? 1 : 4;
+    }
+}
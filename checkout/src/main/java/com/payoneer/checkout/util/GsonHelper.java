@@ -9,22 +9,34 @@
 package com.payoneer.checkout.util;
 
 import java.lang.reflect.Type;
+import java.util.HashMap;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonIOException;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.payoneer.checkout.model.DeregistrationData;
+import com.payoneer.checkout.model.ErrorInfo;
+import com.payoneer.checkout.model.ListResult;
+import com.payoneer.checkout.model.ModelTypeAdapterFactory;
+import com.payoneer.checkout.model.OperationData;
+import com.payoneer.checkout.model.OperationResult;
 
 import android.text.TextUtils;
 
 /**
- * Class with helper methods for Gson
+ * Class with helper methods for Gson. This class holds the one Gson instance used by the SDK for serializing and
+ * parsing json, all TypeAdapters created by Gson are cached in this instance and shared by all users.
  */
 public final class GsonHelper {
 
     private final Gson gson;
+    private volatile boolean warmedUp;
 
     private GsonHelper() {
-        this.gson = new GsonBuilder().create();
+        this.gson = new GsonBuilder().registerTypeAdapterFactory(new ModelTypeAdapterFactory()).create();
     }
 
     /**
@@ -53,8 +65,36 @@ public final class GsonHelper {
         return TextUtils.isEmpty(json) ? null : gson.fromJson(json, type);
     }
 
+    /**
+     * Read the next json value from the JsonReader and convert it into an object of the given type.
+     *
+     * @param reader from which the json value is read
+     * @param type of the object
+     * @return the object or null if the reader is at the end of the input
+     */
+    public <T> T fromJson(JsonReader reader, Type type) throws JsonIOException, JsonSyntaxException {
+        return gson.fromJson(reader, type);
+    }
+
+    /**
+     * Create the TypeAdapters for the types parsed and serialized by the SDK, so that the first request does not
+     * have to wait for them being created. This method should be called from a background thread, calling it
+     * more than once has no effect.
+     */
+    public void warmUp() {
+        if (warmedUp) {
+            return;
+        }
+        gson.getAdapter(ListResult.class);
+        gson.getAdapter(OperationResult.class);
+        gson.getAdapter(ErrorInfo.class);
+        gson.getAdapter(OperationData.class);
+        gson.getAdapter(DeregistrationData.class);
+        gson.getAdapter(new TypeToken<HashMap<String, String>>() { });
+        warmedUp = true;
+    }
+
     private static class InstanceHolder {
         static final GsonHelper INSTANCE = new GsonHelper();
-
     }
 }
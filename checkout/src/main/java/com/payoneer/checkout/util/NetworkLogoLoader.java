@@ -8,42 +8,85 @@
 
 package com.payoneer.checkout.util;
 
+import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.WeakHashMap;
 
 import com.payoneer.checkout.R;
 import com.payoneer.checkout.core.PaymentException;
 import com.payoneer.checkout.core.WorkerSubscriber;
 import com.payoneer.checkout.core.WorkerTask;
 import com.payoneer.checkout.core.Workers;
+import com.payoneer.checkout.network.HttpCache;
 import com.payoneer.checkout.network.ImageConnection;
 
 import android.content.Context;
 import android.content.res.Resources;
 import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
+import android.os.CancellationSignal;
 import android.util.Log;
+import android.util.LruCache;
+import android.view.ViewGroup;
 import android.widget.ImageView;
 
 /**
  * Class for loading network logo images into an ImageView.
- * This loader will first check if a locally stored logo image is available, if not, the loader will
- * download the logo using the provided URL.
+ * This loader will first check if the logo is available in the memory cache, if not, the loader will check if a
+ * locally stored logo image is available. Remote logo images are loaded from the disk cache or downloaded
+ * using the provided URL. Views requesting the same logo while it is being loaded share the same load request.
+ * Logos are decoded at the size of the ImageView in which they are displayed.
+ * <p>
+ * Each ImageView is tagged with the logo it requested, requesting a different logo for the same ImageView,
+ * i.e. when a recycled view is rebound, detaches the ImageView from the previous request. A request is cancelled
+ * once no ImageView is waiting for it anymore, a download in progress is aborted by closing its connection.
+ * The public methods must be called from the main UI thread.
  */
 public final class NetworkLogoLoader {
 
     private final static String NETWORKLOGO_FOLDER = "networklogos/";
+    private final static String CACHE_FOLDER = "checkout-networklogos";
+    private final static long DISK_CACHE_MAX_SIZE = 5 * 1024 * 1024;
+    private final static int MEMORY_CACHE_DIVIDER = 16;
+    private final static int BITMAP_POOL_DIVIDER = 64;
+
     private final Map<String, String> localNetworkLogos = new HashMap<>();
     private final ImageConnection imageConnection = new ImageConnection();
+    private final LruCache<String, Bitmap> memoryCache;
+    private final Map<String, LogoRequest> pendingRequests = new HashMap<>();
+    private final Map<ImageView, String> requestedLogos = new WeakHashMap<>();
+    private final Map<ImageView, Bitmap> displayedBitmaps = new WeakHashMap<>();
+    private final BitmapPool bitmapPool;
+    private final BitmapDecoder bitmapDecoder;
+    private volatile HttpCache diskCache;
 
     /*
      * This is private because this class should never have an object created. The loading functionality
      * will be accessed statically
      */
     private NetworkLogoLoader() {
+        long maxMemory = Runtime.getRuntime().maxMemory();
+        bitmapPool = new BitmapPool(maxMemory / BITMAP_POOL_DIVIDER);
+        bitmapDecoder = new BitmapDecoder(bitmapPool);
+
+        int maxSize = (int) Math.min(maxMemory / MEMORY_CACHE_DIVIDER, Integer.MAX_VALUE);
+        memoryCache = new LruCache<String, Bitmap>(maxSize) {
+            @Override
+            protected int sizeOf(String key, Bitmap bitmap) {
+                return bitmap.getByteCount();
+            }
+
+            @Override
+            protected void entryRemoved(boolean evicted, String key, Bitmap oldValue, Bitmap newValue) {
+                onBitmapRemoved(oldValue, newValue);
+            }
+        };
     }
 
     /**
@@ -66,21 +109,132 @@ public final class NetworkLogoLoader {
         getInstance().loadImageIntoView(view, networkCode, networkLogoUrl);
     }
 
+    /**
+     * Prefetch the remote network logo into the disk cache in the background, the logo is not decoded since the size
+     * of the ImageView in which it will be displayed is not known yet. Nothing is done for locally stored logos.
+     *
+     * @param context used to obtain the local logos and cache directory
+     * @param networkCode code of the payment network
+     * @param networkLogoUrl pointing to the remote image
+     */
+    public void prefetchNetworkLogo(Context context, String networkCode, URL networkLogoUrl) {
+        if (networkLogoUrl == null) {
+            return;
+        }
+        if (localNetworkLogos.size() == 0) {
+            loadLocalNetworkLogos(context);
+        }
+        if (localNetworkLogos.containsKey(networkCode)) {
+            return;
+        }
+        initDiskCache(context);
+        Workers.getInstance().forImageTasks().execute(() -> {
+            try {
+                imageConnection.loadImage(networkLogoUrl, diskCache);
+            } catch (PaymentException e) {
+                // the logo will be loaded again when it is displayed
+                Log.w("checkout-sdk", e);
+            }
+        }, Workers.PRIORITY_LOW);
+    }
+
+    /**
+     * Get the number of times a logo was found in the memory cache
+     *
+     * @return the number of memory cache hits
+     */
+    public int getMemoryCacheHitCount() {
+        return memoryCache.hitCount();
+    }
+
+    /**
+     * Get the number of times a logo was not found in the memory cache
+     *
+     * @return the number of memory cache misses
+     */
+    public int getMemoryCacheMissCount() {
+        return memoryCache.missCount();
+    }
+
+    /**
+     * Get the number of times a remote logo was found in the disk cache
+     *
+     * @return the number of disk cache hits
+     */
+    public int getDiskCacheHitCount() {
+        HttpCache cache = diskCache;
+        return cache != null ? cache.getHitCount() : 0;
+    }
+
+    /**
+     * Get the number of times a remote logo was not found in the disk cache
+     *
+     * @return the number of disk cache misses
+     */
+    public int getDiskCacheMissCount() {
+        HttpCache cache = diskCache;
+        return cache != null ? cache.getMissCount() : 0;
+    }
+
     private void loadImageIntoView(ImageView view, String networkCode, URL networkLogoUrl) {
         final Context context = view.getContext();
+        final int width = getTargetSize(view.getWidth(), getLayoutWidth(view), context, R.dimen.pmlogo_width);
+        final int height = getTargetSize(view.getHeight(), getLayoutHeight(view), context, R.dimen.pmlogo_height);
+        final String key = networkCode + "|" + networkLogoUrl + "|" + width + "x" + height;
+
+        String previousKey = requestedLogos.put(view, key);
+        boolean rebound = previousKey != null && !previousKey.equals(key);
+        if (rebound) {
+            detachFromRequest(view, previousKey);
+        }
+        Bitmap bitmap = memoryCache.get(key);
+        if (bitmap != null) {
+            onLoadBitmapSuccess(view, bitmap);
+            return;
+        }
+        if (rebound) {
+            // prevent showing the logo of the previous network while the new logo is loading
+            displayedBitmaps.remove(view);
+            view.setImageDrawable(null);
+        }
+        LogoRequest pending = pendingRequests.get(key);
+        if (pending != null) {
+            if (!pending.views.contains(view)) {
+                pending.views.add(view);
+            }
+            return;
+        }
+
         if (localNetworkLogos.size() == 0) {
-            loadLocalNetworkLogos(view.getContext());
+            loadLocalNetworkLogos(context);
         }
+        initDiskCache(context);
+
+        final CancellationSignal signal = new CancellationSignal();
+        WorkerTask<Bitmap> task = WorkerTask.fromCallable(() -> loadLogo(context, networkCode, networkLogoUrl, width, height, signal),
+            Workers.PRIORITY_LOW);
+        final LogoRequest request = new LogoRequest(task, signal);
+        request.views.add(view);
+        pendingRequests.put(key, request);
 
-        WorkerTask<Bitmap> task = WorkerTask.fromCallable(() -> loadLogo(context, networkCode, networkLogoUrl));
         task.subscribe(new WorkerSubscriber<Bitmap>() {
             @Override
             public void onSuccess(Bitmap bitmap) {
-                onLoadBitmapSuccess(view, bitmap);
+                removePendingRequest(key, request);
+                if (bitmap == null) {
+                    return;
+                }
+                memoryCache.put(key, bitmap);
+                for (ImageView view : request.views) {
+                    if (key.equals(requestedLogos.get(view))) {
+                        onLoadBitmapSuccess(view, bitmap);
+                    }
+                }
             }
 
             @Override
             public void onError(Throwable cause) {
+                removePendingRequest(key, request);
                 Log.w("sdk_ImageHelper", cause);
                 // we ignore image loading failures
             }
@@ -88,8 +242,34 @@ public final class NetworkLogoLoader {
         Workers.getInstance().forImageTasks().execute(task);
     }
 
+    /**
+     * Detach the ImageView from the pending request of the logo it previously requested.
+     * The request is cancelled if no other ImageView is waiting for it.
+     */
+    private void detachFromRequest(ImageView view, String key) {
+        LogoRequest request = pendingRequests.get(key);
+        if (request == null) {
+            return;
+        }
+        request.views.remove(view);
+        if (request.views.isEmpty()) {
+            pendingRequests.remove(key);
+            request.task.unsubscribe();
+            // interrupt the worker before aborting the download, a read blocked on the socket is not interruptible
+            request.task.cancel(true);
+            request.signal.cancel();
+        }
+    }
+
+    private void removePendingRequest(String key, LogoRequest request) {
+        if (pendingRequests.get(key) == request) {
+            pendingRequests.remove(key);
+        }
+    }
+
     private void onLoadBitmapSuccess(ImageView view, Bitmap bitmap) {
         try {
+            displayedBitmaps.put(view, bitmap);
             view.setImageBitmap(bitmap);
         } catch (Exception e) {
             Log.w("checkout-sdk", e);
@@ -97,24 +277,77 @@ public final class NetworkLogoLoader {
         }
     }
 
-    private Bitmap loadLogo(Context context, String networkCode, URL networkLogoUrl) throws PaymentException {
+    /**
+     * Bitmaps removed from the memory cache are added to the BitmapPool if they are not displayed anymore.
+     * This method is called from the main UI thread.
+     */
+    private void onBitmapRemoved(Bitmap oldValue, Bitmap newValue) {
+        if (oldValue != newValue && !displayedBitmaps.containsValue(oldValue)) {
+            bitmapPool.put(oldValue);
+        }
+    }
+
+    private Bitmap loadLogo(Context context, String networkCode, URL networkLogoUrl, int width, int height,
+        CancellationSignal signal) throws PaymentException {
+        byte[] data;
         if (localNetworkLogos.containsKey(networkCode)) {
             String fileName = localNetworkLogos.get(networkCode);
-            return loadBitmapFromFile(context, fileName);
+            data = loadDataFromFile(context, fileName);
         } else {
-            return imageConnection.loadBitmap(networkLogoUrl);
+            data = imageConnection.loadImage(networkLogoUrl, diskCache, signal);
         }
+        if (Thread.currentThread().isInterrupted()) {
+            // the request has been cancelled, no need to decode the Bitmap anymore
+            return null;
+        }
+        return bitmapDecoder.decode(data, width, height);
     }
 
-    private Bitmap loadBitmapFromFile(Context context, String fileName) throws PaymentException {
-        try {
-            InputStream inputStream = context.getAssets().open(fileName);
-            return BitmapFactory.decodeStream(inputStream);
+    private byte[] loadDataFromFile(Context context, String fileName) throws PaymentException {
+        try (InputStream in = context.getAssets().open(fileName);
+            ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
         } catch (IOException e) {
             throw new PaymentException(e);
         }
     }
 
+    private int getTargetSize(int viewSize, int layoutSize, Context context, int defaultDimenResId) {
+        if (viewSize > 0) {
+            return viewSize;
+        }
+        if (layoutSize > 0) {
+            return layoutSize;
+        }
+        return context.getResources().getDimensionPixelSize(defaultDimenResId);
+    }
+
+    private int getLayoutWidth(ImageView view) {
+        ViewGroup.LayoutParams params = view.getLayoutParams();
+        return params != null ? params.width : 0;
+    }
+
+    private int getLayoutHeight(ImageView view) {
+        ViewGroup.LayoutParams params = view.getLayoutParams();
+        return params != null ? params.height : 0;
+    }
+
+    private void initDiskCache(Context context) {
+        if (diskCache != null) {
+            return;
+        }
+        synchronized (this) {
+            if (diskCache == null) {
+                diskCache = new HttpCache(new File(context.getCacheDir(), CACHE_FOLDER), DISK_CACHE_MAX_SIZE);
+            }
+        }
+    }
+
     private void loadLocalNetworkLogos(Context context) {
         synchronized (localNetworkLogos) {
             if (localNetworkLogos.size() != 0) {
@@ -130,6 +363,17 @@ public final class NetworkLogoLoader {
         }
     }
 
+    private static class LogoRequest {
+        final WorkerTask<Bitmap> task;
+        final CancellationSignal signal;
+        final List<ImageView> views = new ArrayList<>();
+
+        LogoRequest(WorkerTask<Bitmap> task, CancellationSignal signal) {
+            this.task = task;
+            this.signal = signal;
+        }
+    }
+
     private static class InstanceHolder {
         static final NetworkLogoLoader INSTANCE = new NetworkLogoLoader();
     }
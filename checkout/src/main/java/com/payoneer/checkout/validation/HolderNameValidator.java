@@ -20,7 +20,7 @@ public final class HolderNameValidator {
      * @param holderName to the validated
      * @return true when holderName is valid, false otherwise
      */
-    public static boolean isValidHolderName(String holderName) {
+    public static boolean isValidHolderName(CharSequence holderName) {
         if (holderName == null || holderName.length() < MIN_LENGTH) {
             return false;
         }
@@ -46,7 +46,7 @@ public final class HolderNameValidator {
 
         public static final int NUMBER_OF_DIGITS_TO_MATCH = 11;
 
-        public static boolean match(final String input) {
+        public static boolean match(final CharSequence input) {
             final int inputLength = input.length();
 
             int i = 0;
@@ -64,7 +64,7 @@ public final class HolderNameValidator {
             return false;
         }
 
-        private static int handleFirstDigit(final String input, final int atIndex) {
+        private static int handleFirstDigit(final CharSequence input, final int atIndex) {
             final int inputLength = input.length();
 
             int matchCount = 1;
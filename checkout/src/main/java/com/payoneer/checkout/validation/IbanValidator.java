@@ -113,15 +113,16 @@ final class IbanValidator {
      * <a href="http://en.wikipedia.org/wiki/International_Bank_Account_Number">
      * Wikipedia - IBAN number</a>.
      */
-    public static boolean isValidIban(final String code) {
+    public static boolean isValidIban(final CharSequence code) {
         if ((code == null) || (code.length() < 5)) {
             return false;
         }
-        final String reformattedCode = code.substring(4) + code.substring(0, 4);
+        // the first four characters are moved to the end, without creating the reformatted code
+        final int length = code.length();
 
         long total = 0;
-        for (int i = 0; i < reformattedCode.length(); i++) {
-            final int charValue = Character.getNumericValue(reformattedCode.charAt(i));
+        for (int i = 0; i < length; i++) {
+            final int charValue = Character.getNumericValue(code.charAt((i + 4) % length));
             if (charValue < 0 || charValue > 35) {
                 return false;
             }
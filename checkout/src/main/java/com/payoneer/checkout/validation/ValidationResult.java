@@ -9,7 +9,8 @@
 package com.payoneer.checkout.validation;
 
 /**
- * Class holding the result of the validation
+ * Class holding the result of the validation. Successful validations share the immutable VALID result,
+ * a message set in the VALID result is ignored.
  */
 public class ValidationResult {
 
@@ -41,6 +42,14 @@ public class ValidationResult {
     public final static String INVALID_BIC = "INVALID_BIC";
     public final static String MISSING_BIC = "MISSING_BIC";
 
+    /** Shared result of a successful validation */
+    public final static ValidationResult VALID = new ValidationResult(null) {
+        @Override
+        public void setMessage(String message) {
+            // the shared result is immutable
+        }
+    };
+
     private final String error;
 
     private String message;
@@ -49,6 +58,16 @@ public class ValidationResult {
         this.error = error;
     }
 
+    /**
+     * Get the result for the error, the shared VALID result is returned when there is no error.
+     *
+     * @param error the error code or null when the validation was successful
+     * @return the ValidationResult for the error
+     */
+    public static ValidationResult of(String error) {
+        return error == null ? VALID : new ValidationResult(error);
+    }
+
     public boolean isError() {
         return this.error != null;
     }
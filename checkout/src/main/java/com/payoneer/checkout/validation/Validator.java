@@ -10,16 +10,17 @@ package com.payoneer.checkout.validation;
 
 import java.util.Calendar;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 import com.payoneer.checkout.core.PaymentInputType;
 import com.payoneer.checkout.model.PaymentMethod;
 import com.payoneer.checkout.resource.ValidationGroup;
 
 import android.text.TextUtils;
-import android.util.Log;
 
 /**
- * Class for validating input type values
+ * Class for validating input type values. The validation regexes are compiled once and successful validations
+ * return the shared ValidationResult.VALID, validating while the user types does not allocate for valid input.
  */
 public class Validator {
 
@@ -37,8 +38,15 @@ public class Validator {
     public final static int MAXLENGTH_BIC = 11;
     public final static int MAX_EXPIRY_YEAR = 50;
 
+    private final static Pattern PATTERN_MONTH = Pattern.compile(REGEX_MONTH);
+    private final static Pattern PATTERN_YEAR = Pattern.compile(REGEX_YEAR);
+    private final static Pattern PATTERN_BIC = Pattern.compile(REGEX_BIC);
+    private final static Pattern PATTERN_ACCOUNT_NUMBER = Pattern.compile(REGEX_ACCOUNT_NUMBER);
+    private final static Pattern PATTERN_VERIFICATION_CODE = Pattern.compile(REGEX_VERIFICATION_CODE);
+    private final static Pattern PATTERN_BANK_CODE = Pattern.compile(REGEX_BANK_CODE);
+
     private final Map<String, ValidationGroup> validations;
-    private static Validator instance;
+    private static volatile Validator instance;
 
     /**
      * Construct a new Validator with the provided validations
@@ -134,8 +142,9 @@ public class Validator {
      * @param type the PaymentInputType like "number"
      * @param value1 holding the mandatory first value for the given input type, may be empty
      * @param value2 holding the optional second value for the given input type
+     * @return the shared ValidationResult.VALID when valid or a new ValidationResult containing the error
      */
-    public ValidationResult validate(String method, String code, String type, String value1, String value2) {
+    public ValidationResult validate(String method, String code, String type, CharSequence value1, CharSequence value2) {
 
         if (TextUtils.isEmpty(method)) {
             throw new IllegalArgumentException("method may not be null or empty");
@@ -148,17 +157,16 @@ public class Validator {
         }
         value1 = value1 == null ? "" : value1;
         value2 = value2 == null ? "" : value2;
-        String regex = getValidationRegex(code, type);
 
         switch (type) {
             case PaymentInputType.ACCOUNT_NUMBER:
-                return validateAccountNumber(method, value1, regex);
+                return validateAccountNumber(method, value1, getValidationPattern(code, type, PATTERN_ACCOUNT_NUMBER));
             case PaymentInputType.VERIFICATION_CODE:
-                return validateVerificationCode(value1, regex);
+                return validateVerificationCode(value1, getValidationPattern(code, type, PATTERN_VERIFICATION_CODE));
             case PaymentInputType.HOLDER_NAME:
                 return validateHolderName(value1);
             case PaymentInputType.BANK_CODE:
-                return validateBankCode(value1, regex);
+                return validateBankCode(value1, getValidationPattern(code, type, PATTERN_BANK_CODE));
             case PaymentInputType.EXPIRY_DATE:
                 return validateExpiryDate(value1, value2);
             case PaymentInputType.EXPIRY_MONTH:
@@ -170,31 +178,44 @@ public class Validator {
             case PaymentInputType.BIC:
                 return validateBic(value1);
             default:
-                return new ValidationResult(null);
+                return ValidationResult.VALID;
         }
     }
 
-    private ValidationResult validateAccountNumber(String method, String number, String regex) {
-        regex = regex != null ? regex : REGEX_ACCOUNT_NUMBER;
+    /**
+     * Get the compiled validation regex for the given code and type, the regexes from the validations are compiled once.
+     *
+     * @param code Payment code like VISA
+     * @param type payment input type like "number"
+     * @param defaultPattern returned when the validations do not contain a regex for the code and type
+     * @return the compiled validation regex
+     */
+    private Pattern getValidationPattern(String code, String type, Pattern defaultPattern) {
+        ValidationGroup group = validations.get(code);
+        Pattern pattern = group != null ? group.getValidationPattern(type) : null;
+        return pattern != null ? pattern : defaultPattern;
+    }
+
+    private ValidationResult validateAccountNumber(String method, CharSequence number, Pattern pattern) {
 
         switch (method) {
             case PaymentMethod.CREDIT_CARD:
             case PaymentMethod.DEBIT_CARD:
-                return validateCardNumber(number, regex);
+                return validateCardNumber(number, pattern);
             default:
-                if (!number.matches(regex)) {
+                if (!pattern.matcher(number).matches()) {
                     if (TextUtils.isEmpty(number)) {
                         return new ValidationResult(ValidationResult.MISSING_ACCOUNT_NUMBER);
                     }
                     return new ValidationResult(ValidationResult.INVALID_ACCOUNT_NUMBER);
                 }
         }
-        return new ValidationResult(null);
+        return ValidationResult.VALID;
     }
 
-    private ValidationResult validateCardNumber(String number, String regex) {
+    private ValidationResult validateCardNumber(CharSequence number, Pattern pattern) {
 
-        if (!number.matches(regex)) {
+        if (!pattern.matcher(number).matches()) {
             if (TextUtils.isEmpty(number)) {
                 return new ValidationResult(ValidationResult.MISSING_ACCOUNT_NUMBER);
             }
@@ -203,22 +224,21 @@ public class Validator {
         if (!CardNumberValidator.isValidLuhn(number)) {
             return new ValidationResult(ValidationResult.INVALID_ACCOUNT_NUMBER);
         }
-        return new ValidationResult(null);
+        return ValidationResult.VALID;
     }
 
-    private ValidationResult validateVerificationCode(String verificationCode, String regex) {
-        regex = regex != null ? regex : REGEX_VERIFICATION_CODE;
+    private ValidationResult validateVerificationCode(CharSequence verificationCode, Pattern pattern) {
 
-        if (!verificationCode.matches(regex)) {
+        if (!pattern.matcher(verificationCode).matches()) {
             if (TextUtils.isEmpty(verificationCode)) {
                 return new ValidationResult(ValidationResult.MISSING_VERIFICATION_CODE);
             }
             return new ValidationResult(ValidationResult.INVALID_VERIFICATION_CODE);
         }
-        return new ValidationResult(null);
+        return ValidationResult.VALID;
     }
 
-    private ValidationResult validateHolderName(String holderName) {
+    private ValidationResult validateHolderName(CharSequence holderName) {
         String error = null;
 
         if (TextUtils.isEmpty(holderName)) {
@@ -226,10 +246,10 @@ public class Validator {
         } else if (!HolderNameValidator.isValidHolderName(holderName)) {
             error = ValidationResult.INVALID_HOLDER_NAME;
         }
-        return new ValidationResult(error);
+        return ValidationResult.of(error);
     }
 
-    private ValidationResult validateExpiryDate(String month, String year) {
+    private ValidationResult validateExpiryDate(CharSequence month, CharSequence year) {
         String error = null;
 
         if (TextUtils.isEmpty(month) || TextUtils.isEmpty(year)) {
@@ -237,44 +257,43 @@ public class Validator {
         } else if (!isValidExpiryDate(month, year)) {
             error = ValidationResult.INVALID_EXPIRY_DATE;
         }
-        return new ValidationResult(error);
+        return ValidationResult.of(error);
     }
 
-    private ValidationResult validateExpiryMonth(String month) {
+    private ValidationResult validateExpiryMonth(CharSequence month) {
         String error = null;
 
         if (TextUtils.isEmpty(month)) {
             error = ValidationResult.MISSING_EXPIRY_MONTH;
-        } else if (!month.matches(REGEX_MONTH)) {
+        } else if (!PATTERN_MONTH.matcher(month).matches()) {
             error = ValidationResult.INVALID_EXPIRY_MONTH;
         }
-        return new ValidationResult(error);
+        return ValidationResult.of(error);
     }
 
-    private ValidationResult validateExpiryYear(String year) {
+    private ValidationResult validateExpiryYear(CharSequence year) {
         String error = null;
 
         if (TextUtils.isEmpty(year)) {
             error = ValidationResult.MISSING_EXPIRY_YEAR;
-        } else if (!year.matches(REGEX_YEAR)) {
+        } else if (!PATTERN_YEAR.matcher(year).matches()) {
             error = ValidationResult.INVALID_EXPIRY_YEAR;
         }
-        return new ValidationResult(error);
+        return ValidationResult.of(error);
     }
 
-    private ValidationResult validateBankCode(String bankCode, String regex) {
-        regex = regex != null ? regex : REGEX_BANK_CODE;
+    private ValidationResult validateBankCode(CharSequence bankCode, Pattern pattern) {
 
-        if (!bankCode.matches(regex)) {
+        if (!pattern.matcher(bankCode).matches()) {
             if (TextUtils.isEmpty(bankCode)) {
                 return new ValidationResult(ValidationResult.MISSING_BANK_CODE);
             }
             return new ValidationResult(ValidationResult.INVALID_BANK_CODE);
         }
-        return new ValidationResult(null);
+        return ValidationResult.VALID;
     }
 
-    private ValidationResult validateIban(String iban) {
+    private ValidationResult validateIban(CharSequence iban) {
         String error = null;
 
         if (TextUtils.isEmpty(iban)) {
@@ -282,44 +301,47 @@ public class Validator {
         } else if (!IbanValidator.isValidIban(iban)) {
             error = ValidationResult.INVALID_IBAN;
         }
-        return new ValidationResult(error);
+        return ValidationResult.of(error);
     }
 
-    private ValidationResult validateBic(String bic) {
+    private ValidationResult validateBic(CharSequence bic) {
         String error = null;
 
         if (TextUtils.isEmpty(bic)) {
             error = ValidationResult.MISSING_BIC;
-        } else if (!bic.matches(REGEX_BIC)) {
+        } else if (!PATTERN_BIC.matcher(bic).matches()) {
             error = ValidationResult.INVALID_BIC;
         }
-        return new ValidationResult(error);
+        return ValidationResult.of(error);
     }
 
-    private boolean isValidExpiryDate(String month, String year) {
+    private boolean isValidExpiryDate(CharSequence month, CharSequence year) {
 
-        if (!(month.matches(REGEX_MONTH) && year.matches(REGEX_YEAR))) {
+        if (!(PATTERN_MONTH.matcher(month).matches() && PATTERN_YEAR.matcher(year).matches())) {
             return false;
         }
-        try {
-            int expMonth = Integer.parseInt(month);
-            int expYear = Integer.parseInt(year);
+        // the patterns make sure that the month has 2 digits and the year 4 digits
+        int expMonth = parseDigits(month);
+        int expYear = parseDigits(year);
 
-            Calendar cal = Calendar.getInstance();
-            int curMonth = cal.get(Calendar.MONTH) + 1;
-            int curYear = cal.get(Calendar.YEAR);
+        Calendar cal = Calendar.getInstance();
+        int curMonth = cal.get(Calendar.MONTH) + 1;
+        int curYear = cal.get(Calendar.YEAR);
 
-            if (expYear < curYear) {
-                return false;
-            }
-            if (expYear == curYear) {
-                return expMonth >= curMonth;
-            }
-            return expYear <= (curYear + MAX_EXPIRY_YEAR);
-        } catch (NumberFormatException e) {
-            // this should never happen since the regex makes sure both are integers
-            Log.w("sdk_Validator", e);
+        if (expYear < curYear) {
+            return false;
+        }
+        if (expYear == curYear) {
+            return expMonth >= curMonth;
+        }
+        return expYear <= (curYear + MAX_EXPIRY_YEAR);
+    }
+
+    private static int parseDigits(CharSequence digits) {
+        int value = 0;
+        for (int i = 0, e = digits.length(); i < e; i++) {
+            value = value * 10 + (digits.charAt(i) - '0');
         }
-        return false;
+        return value;
     }
 }
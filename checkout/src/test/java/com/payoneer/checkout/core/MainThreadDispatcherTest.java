@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.robolectric.Shadows.shadowOf;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Message;
+
+@RunWith(RobolectricTestRunner.class)
+public class MainThreadDispatcherTest {
+
+    private final static int TASK_COUNT = 1000;
+
+    @Test
+    public void dispatch_manyTasks_oneMessagePerBatch() {
+        CountingHandler handler = new CountingHandler();
+        MainThreadDispatcher dispatcher = new MainThreadDispatcher(handler);
+        List<Integer> delivered = new ArrayList<>();
+
+        dispatchTasks(dispatcher, delivered);
+        // the dispatcher posts itself, no Runnable or Message is created per completed task
+        assertEquals(1, handler.callbacks.size());
+        assertSame(dispatcher, handler.callbacks.get(0));
+        assertEquals(0, delivered.size());
+
+        shadowOf(Looper.getMainLooper()).idle();
+        assertEquals(TASK_COUNT, delivered.size());
+        assertEquals(Integer.valueOf(TASK_COUNT - 1), delivered.get(TASK_COUNT - 1));
+
+        dispatchTasks(dispatcher, delivered);
+        assertEquals(2, handler.callbacks.size());
+        shadowOf(Looper.getMainLooper()).idle();
+        assertEquals(2 * TASK_COUNT, delivered.size());
+    }
+
+    private void dispatchTasks(MainThreadDispatcher dispatcher, List<Integer> delivered) {
+        for (int i = 0; i < TASK_COUNT; i++) {
+            final int index = i;
+            dispatcher.dispatch(() -> delivered.add(index));
+        }
+    }
+
+    private static class CountingHandler extends Handler {
+        final List<Runnable> callbacks = new ArrayList<>();
+
+        CountingHandler() {
+            super(Looper.getMainLooper());
+        }
+
+        @Override
+        public boolean sendMessageAtTime(Message msg, long uptimeMillis) {
+            callbacks.add(msg.getCallback());
+            return super.sendMessageAtTime(msg, uptimeMillis);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.core;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Stress benchmark verifying that the latency of a high priority list request stays flat while the image executor
+ * is flooded with logo tasks and the network executor with localization tasks.
+ * The benchmark is skipped unless the tests are run with the "benchmark" project property, i.e.
+ * ./gradlew :checkout:testDebugUnitTest --tests '*PriorityExecutorBenchmark' -Pbenchmark
+ */
+public class PriorityExecutorBenchmark {
+
+    private final static long MAX_LATENCY_INCREASE = 150;
+
+    @Before
+    public void setUp() {
+        assumeTrue(Boolean.getBoolean("checkout.benchmark"));
+    }
+
+    @Test
+    public void listRequestLatencyUnderLogoLoad() throws InterruptedException {
+        PriorityExecutor network = new PriorityExecutor("network", 6, 1, Thread.NORM_PRIORITY);
+        PriorityExecutor image = new PriorityExecutor("image", 3, 1, Thread.MIN_PRIORITY);
+
+        long baseline = measureListRequest(network);
+
+        for (int i = 0; i < 500; i++) {
+            image.execute(() -> busyWork(5), Workers.PRIORITY_LOW);
+        }
+        for (int i = 0; i < 60; i++) {
+            network.execute(() -> sleep(20), Workers.PRIORITY_NORMAL);
+        }
+        long loaded = measureListRequest(network);
+
+        assertTrue("baseline: " + baseline + "ms, under load: " + loaded + "ms",
+            loaded < baseline + MAX_LATENCY_INCREASE);
+        assertTrue(image.getLargestPoolSize() <= 3);
+        assertTrue(network.getLargestPoolSize() <= 6);
+
+        image.shutdownNow();
+        network.shutdownNow();
+    }
+
+    private long measureListRequest(PriorityExecutor executor) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        long start = System.nanoTime();
+        executor.execute(() -> {
+            sleep(50);
+            done.countDown();
+        }, Workers.PRIORITY_HIGH);
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void busyWork(long millis) {
+        long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        long value = 0;
+        while (System.nanoTime() < end) {
+            value += Long.numberOfTrailingZeros(value + 1);
+        }
+    }
+}
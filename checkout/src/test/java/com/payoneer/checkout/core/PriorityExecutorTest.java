@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class PriorityExecutorTest {
+
+    @Test
+    public void execute_highPriorityBeforeQueuedTasks() throws InterruptedException {
+        PriorityExecutor executor = new PriorityExecutor("test", 1, 1, Thread.NORM_PRIORITY);
+        CountDownLatch blocker = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(4);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+
+        executor.execute(() -> await(blocker));
+        executor.execute(() -> addAndCountDown(order, "low", done), Workers.PRIORITY_LOW);
+        executor.execute(() -> addAndCountDown(order, "normal1", done), Workers.PRIORITY_NORMAL);
+        executor.execute(() -> addAndCountDown(order, "normal2", done));
+        executor.execute(() -> addAndCountDown(order, "high", done), Workers.PRIORITY_HIGH);
+        assertEquals(4, executor.getQueueDepth());
+
+        blocker.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals("high", order.get(0));
+        assertEquals("normal1", order.get(1));
+        assertEquals("normal2", order.get(2));
+        assertEquals("low", order.get(3));
+        assertEquals(4, executor.getMaxQueueDepth());
+        executor.shutdown();
+    }
+
+    @Test
+    public void setPoolSize() {
+        PriorityExecutor executor = new PriorityExecutor("test", 2, 1, Thread.NORM_PRIORITY);
+        executor.setPoolSize(4);
+        assertEquals(4, executor.getCorePoolSize());
+        assertEquals(4, executor.getMaximumPoolSize());
+        executor.setPoolSize(1);
+        assertEquals(1, executor.getCorePoolSize());
+        assertEquals(1, executor.getMaximumPoolSize());
+        executor.shutdown();
+    }
+
+    @Test
+    public void execute_manyTasks_poolSizeBounded() throws InterruptedException {
+        PriorityExecutor executor = new PriorityExecutor("test", 3, 1, Thread.NORM_PRIORITY);
+        CountDownLatch blocker = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(20);
+
+        for (int i = 0; i < 20; i++) {
+            executor.execute(() -> {
+                await(blocker);
+                done.countDown();
+            }, Workers.PRIORITY_LOW);
+        }
+        assertEquals(17, executor.getQueueDepth());
+
+        blocker.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(3, executor.getLargestPoolSize());
+        executor.shutdown();
+    }
+
+    private void addAndCountDown(List<String> order, String name, CountDownLatch latch) {
+        order.add(name);
+        latch.countDown();
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
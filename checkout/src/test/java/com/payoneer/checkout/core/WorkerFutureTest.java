@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import android.os.Looper;
+
+@RunWith(RobolectricTestRunner.class)
+public class WorkerFutureTest {
+
+    private PriorityExecutor executor;
+
+    @Before
+    public void setUp() {
+        executor = new PriorityExecutor("test", 4, 1, Thread.NORM_PRIORITY);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void then_deliversResultOnMainThread() throws InterruptedException {
+        ResultSubscriber<Integer> subscriber = new ResultSubscriber<>();
+        WorkerFuture<Integer> future = WorkerFuture.fromCallable(() -> "result", executor, Workers.PRIORITY_NORMAL)
+            .then(String::length);
+        future.subscribe(subscriber);
+
+        awaitDone(future);
+        assertEquals(0, subscriber.results.size());
+        shadowOf(Looper.getMainLooper()).idle();
+        assertEquals(Integer.valueOf(6), subscriber.results.get(0));
+    }
+
+    @Test
+    public void then_stagesWithoutSubscriber_notPostedToMainThread() throws InterruptedException {
+        shadowOf(Looper.getMainLooper()).idle();
+        WorkerFuture<Integer> future = WorkerFuture.fromCallable(() -> "result", executor, Workers.PRIORITY_NORMAL)
+            .then(String::length)
+            .then(length -> length * 2);
+
+        awaitDone(future);
+        assertTrue(shadowOf(Looper.getMainLooper()).isIdle());
+
+        ResultSubscriber<Integer> subscriber = new ResultSubscriber<>();
+        future.subscribe(subscriber);
+        assertFalse(shadowOf(Looper.getMainLooper()).isIdle());
+        shadowOf(Looper.getMainLooper()).idle();
+        assertEquals(Integer.valueOf(12), subscriber.results.get(0));
+    }
+
+    @Test
+    public void combine_runsSourcesConcurrently() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(2);
+        WorkerFuture<String> first = WorkerFuture.fromCallable(() -> awaitLatch(latch, "first"), executor, Workers.PRIORITY_NORMAL);
+        WorkerFuture<String> second = WorkerFuture.fromCallable(() -> awaitLatch(latch, "second"), executor, Workers.PRIORITY_NORMAL);
+        WorkerFuture<String> future = WorkerFuture.combine(first, second, (a, b) -> a + "|" + b);
+
+        ResultSubscriber<String> subscriber = new ResultSubscriber<>();
+        future.subscribe(subscriber);
+        awaitDone(future);
+        shadowOf(Looper.getMainLooper()).idle();
+        assertEquals("first|second", subscriber.results.get(0));
+    }
+
+    @Test
+    public void combine_error_cancelsOtherSource() throws InterruptedException {
+        WorkerFuture<String> slow = WorkerFuture.fromCallable(() -> awaitLatch(new CountDownLatch(1), "slow"), executor,
+            Workers.PRIORITY_NORMAL);
+        WorkerFuture<String> failing = WorkerFuture.fromCallable(() -> {
+            throw new PaymentException("error");
+        }, executor, Workers.PRIORITY_NORMAL);
+        WorkerFuture<String> future = WorkerFuture.combine(slow, failing, (a, b) -> a + b);
+
+        ResultSubscriber<String> subscriber = new ResultSubscriber<>();
+        future.subscribe(subscriber);
+        awaitDone(future);
+        shadowOf(Looper.getMainLooper()).idle();
+        assertTrue(subscriber.errors.get(0) instanceof PaymentException);
+        assertTrue(slow.isCancelled());
+    }
+
+    @Test
+    public void all_keepsOrderOfResults() throws InterruptedException {
+        List<WorkerFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            final int value = i;
+            futures.add(WorkerFuture.fromCallable(() -> value, executor, Workers.PRIORITY_NORMAL));
+        }
+        WorkerFuture<List<Integer>> future = WorkerFuture.all(futures, executor, Workers.PRIORITY_NORMAL);
+        ResultSubscriber<List<Integer>> subscriber = new ResultSubscriber<>();
+        future.subscribe(subscriber);
+
+        awaitDone(future);
+        shadowOf(Looper.getMainLooper()).idle();
+        List<Integer> results = subscriber.results.get(0);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(Integer.valueOf(i), results.get(i));
+        }
+    }
+
+    @Test
+    public void timeout_failsAndCancelsSource() throws InterruptedException {
+        WorkerFuture<String> slow = WorkerFuture.fromCallable(() -> awaitLatch(new CountDownLatch(1), "slow"), executor,
+            Workers.PRIORITY_NORMAL);
+        WorkerFuture<String> future = slow.timeout(50, TimeUnit.MILLISECONDS);
+        ResultSubscriber<String> subscriber = new ResultSubscriber<>();
+        future.subscribe(subscriber);
+
+        awaitDone(future);
+        shadowOf(Looper.getMainLooper()).idle();
+        assertTrue(subscriber.errors.get(0) instanceof TimeoutException);
+        assertTrue(slow.isCancelled());
+    }
+
+    @Test
+    public void cancel_cancelsPipelineAsUnit() throws InterruptedException {
+        WorkerFuture<String> first = WorkerFuture.fromCallable(() -> awaitLatch(new CountDownLatch(1), "first"), executor,
+            Workers.PRIORITY_NORMAL);
+        WorkerFuture<String> second = WorkerFuture.fromCallable(() -> "second", executor, Workers.PRIORITY_NORMAL);
+        WorkerFuture<Integer> future = WorkerFuture.combine(first, second, (a, b) -> a + b).then(String::length);
+        ResultSubscriber<Integer> subscriber = new ResultSubscriber<>();
+        future.subscribe(subscriber);
+
+        assertTrue(future.cancel());
+        assertFalse(future.cancel());
+        assertTrue(first.isCancelled());
+        shadowOf(Looper.getMainLooper()).idle();
+        assertEquals(0, subscriber.results.size() + subscriber.errors.size());
+    }
+
+    @Test
+    public void share_cancelDoesNotCancelSource() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(2);
+        WorkerFuture<String> source = WorkerFuture.fromCallable(() -> awaitLatch(latch, "shared"), executor,
+            Workers.PRIORITY_NORMAL);
+        assertTrue(source.share().cancel());
+        assertFalse(source.isCancelled());
+
+        WorkerFuture<String> shared = source.share();
+        ResultSubscriber<String> subscriber = new ResultSubscriber<>();
+        shared.subscribe(subscriber);
+        latch.countDown();
+        awaitDone(shared);
+        shadowOf(Looper.getMainLooper()).idle();
+        assertEquals("shared", subscriber.results.get(0));
+    }
+
+    private static String awaitLatch(CountDownLatch latch, String value) throws InterruptedException {
+        latch.countDown();
+        if (!latch.await(5, TimeUnit.SECONDS)) {
+            throw new InterruptedException("latch timed out");
+        }
+        return value;
+    }
+
+    private static void awaitDone(WorkerFuture<?> future) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!future.isDone() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(future.isDone());
+    }
+
+    private static class ResultSubscriber<V> implements WorkerSubscriber<V> {
+        final List<V> results = new ArrayList<>();
+        final List<Throwable> errors = new ArrayList<>();
+
+        @Override
+        public void onSuccess(V result) {
+            results.add(result);
+        }
+
+        @Override
+        public void onError(Throwable cause) {
+            errors.add(cause);
+        }
+    }
+}
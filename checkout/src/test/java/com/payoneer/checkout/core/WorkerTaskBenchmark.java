@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import android.os.Looper;
+
+/**
+ * Benchmark measuring the bytes allocated on the worker thread when completing WorkerTasks, completing a task should
+ * not allocate a Handler, Runnable or Message. The allocated bytes are measured with the HotSpot ThreadMXBean.
+ * The benchmark is skipped unless the tests are run with the "benchmark" project property, i.e.
+ * ./gradlew :checkout:testDebugUnitTest --tests '*WorkerTaskBenchmark' -Pbenchmark
+ */
+@RunWith(RobolectricTestRunner.class)
+public class WorkerTaskBenchmark {
+
+    private final static int TASK_COUNT = 1000;
+    private final static int MAX_BYTES_PER_TASK = 16;
+
+    @Before
+    public void setUp() {
+        assumeTrue(Boolean.getBoolean("checkout.benchmark"));
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+    }
+
+    @Test
+    public void run_completionPathAllocations() {
+        CountingSubscriber subscriber = new CountingSubscriber();
+
+        // warm up so that both queues in the dispatcher have reached their final capacity
+        for (int i = 0; i < 2; i++) {
+            runTasks(createTasks(subscriber));
+            shadowOf(Looper.getMainLooper()).idle();
+        }
+
+        List<WorkerTask<String>> tasks = createTasks(subscriber);
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long before = ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(threadId);
+        runTasks(tasks);
+        long allocated = ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(threadId) - before;
+
+        assertTrue("allocated bytes for completing " + TASK_COUNT + " tasks: " + allocated,
+            allocated < TASK_COUNT * MAX_BYTES_PER_TASK);
+
+        shadowOf(Looper.getMainLooper()).idle();
+        assertEquals(3 * TASK_COUNT, subscriber.successCount);
+    }
+
+    private List<WorkerTask<String>> createTasks(CountingSubscriber subscriber) {
+        List<WorkerTask<String>> tasks = new ArrayList<>(TASK_COUNT);
+        for (int i = 0; i < TASK_COUNT; i++) {
+            WorkerTask<String> task = WorkerTask.fromCallable(() -> "result");
+            task.subscribe(subscriber);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    private void runTasks(List<WorkerTask<String>> tasks) {
+        for (int i = 0, size = tasks.size(); i < size; i++) {
+            tasks.get(i).run();
+        }
+    }
+
+    private static class CountingSubscriber implements WorkerSubscriber<String> {
+        int successCount;
+
+        @Override
+        public void onSuccess(String param) {
+            successCount++;
+        }
+
+        @Override
+        public void onError(Throwable error) {
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.robolectric.Shadows.shadowOf;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import android.os.Looper;
+
+@RunWith(RobolectricTestRunner.class)
+public class WorkerTaskTest {
+
+    @Test
+    public void run_deliversResultsOnMainThread() {
+        CountingSubscriber subscriber = new CountingSubscriber();
+        WorkerTask<String> success = WorkerTask.fromCallable(() -> "result");
+        WorkerTask<String> error = WorkerTask.fromCallable(() -> {
+            throw new PaymentException("error");
+        });
+        success.subscribe(subscriber);
+        error.subscribe(subscriber);
+        success.run();
+        error.run();
+
+        assertEquals(0, subscriber.successCount + subscriber.errorCount);
+        shadowOf(Looper.getMainLooper()).idle();
+        assertEquals(1, subscriber.successCount);
+        assertEquals(1, subscriber.errorCount);
+    }
+
+    @Test
+    public void run_unsubscribed_notDelivered() {
+        CountingSubscriber subscriber = new CountingSubscriber();
+        WorkerTask<String> task = WorkerTask.fromCallable(() -> "result");
+        task.subscribe(subscriber);
+        task.run();
+        task.unsubscribe();
+
+        shadowOf(Looper.getMainLooper()).idle();
+        assertEquals(0, subscriber.successCount);
+    }
+
+    @Test
+    public void cancel_notDelivered() {
+        CountingSubscriber subscriber = new CountingSubscriber();
+        WorkerTask<String> task = WorkerTask.fromCallable(() -> "result");
+        task.subscribe(subscriber);
+        task.cancel(true);
+
+        shadowOf(Looper.getMainLooper()).idle();
+        assertEquals(0, subscriber.successCount + subscriber.errorCount);
+    }
+
+    private static class CountingSubscriber implements WorkerSubscriber<String> {
+        int successCount;
+        int errorCount;
+
+        @Override
+        public void onSuccess(String param) {
+            successCount++;
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            errorCount++;
+        }
+    }
+}
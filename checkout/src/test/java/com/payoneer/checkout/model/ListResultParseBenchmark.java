@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.model;
+
+import static org.junit.Assume.assumeTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Locale;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * JVM benchmark parsing a recorded ListResult response, comparing reflective Gson with Gson using the generated
+ * ModelTypeAdapterFactory. The time and the allocated bytes per parsed ListResult are printed, for a warm Gson instance
+ * that has already created its TypeAdapters and for a cold Gson instance as used by the first parse in a process.
+ * That both parse alike is verified by the ModelTypeAdapterFactoryTest.
+ * The benchmark is skipped unless the tests are run with the "benchmark" project property, i.e.
+ * ./gradlew :checkout:testDebugUnitTest --tests '*ListResultParseBenchmark' -Pbenchmark
+ */
+public class ListResultParseBenchmark {
+
+    private final static String LIST_RESULT_FILE = "../shared-test/lists/listresult_accounts.json";
+    private final static int WARMUP_ITERATIONS = 5;
+    private final static int MEASURE_ITERATIONS = 10;
+    private final static int PARSES_PER_ITERATION = 200;
+
+    private String json;
+    private int blackhole;
+
+    @Before
+    public void setUp() throws IOException {
+        assumeTrue(Boolean.getBoolean("checkout.benchmark"));
+        json = new String(Files.readAllBytes(new File(LIST_RESULT_FILE).toPath()), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void parseListResult_warm() {
+        Gson reflective = createGson(false);
+        Gson generated = createGson(true);
+
+        double before = measure("warm reflective", reflective, false);
+        double after = measure("warm generated", generated, true);
+        System.out.println(String.format(Locale.US, "ListResultParseBenchmark warm speedup: %.2fx", before / after));
+    }
+
+    @Test
+    public void parseListResult_cold() {
+        double before = measure("cold reflective", null, false);
+        double after = measure("cold generated", null, true);
+        System.out.println(String.format(Locale.US, "ListResultParseBenchmark cold speedup: %.2fx", before / after));
+    }
+
+    private Gson createGson(boolean generated) {
+        GsonBuilder builder = new GsonBuilder();
+        if (generated) {
+            builder.registerTypeAdapterFactory(new ModelTypeAdapterFactory());
+        }
+        return builder.create();
+    }
+
+    private double measure(String name, Gson gson, boolean generated) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            runIteration(gson, generated);
+        }
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        long allocatedBefore = getAllocatedBytes(threadBean);
+        double min = Double.MAX_VALUE;
+        double total = 0;
+
+        for (int i = 0; i < MEASURE_ITERATIONS; i++) {
+            double micros = runIteration(gson, generated);
+            min = Math.min(min, micros);
+            total += micros;
+        }
+        long allocated = getAllocatedBytes(threadBean) - allocatedBefore;
+        long parses = (long) MEASURE_ITERATIONS * PARSES_PER_ITERATION;
+        double mean = total / MEASURE_ITERATIONS;
+        String allocations = allocatedBefore >= 0 ? String.format(Locale.US, "%d bytes/op", allocated / parses) : "n/a";
+
+        System.out.println(String.format(Locale.US, "ListResultParseBenchmark %s: %.1f us/op [min %.1f], %s (blackhole %d)",
+            name, mean, min, allocations, blackhole));
+        return mean;
+    }
+
+    private double runIteration(Gson gson, boolean generated) {
+        long start = System.nanoTime();
+        for (int i = 0; i < PARSES_PER_ITERATION; i++) {
+            // a cold parse creates a new Gson instance without any cached TypeAdapters
+            Gson parser = gson != null ? gson : createGson(generated);
+            ListResult result = parser.fromJson(json, ListResult.class);
+            blackhole += result.getNetworks().getApplicable().size();
+        }
+        return (System.nanoTime() - start) / 1000.0 / PARSES_PER_ITERATION;
+    }
+
+    private long getAllocatedBytes(ThreadMXBean threadBean) {
+        if (threadBean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threadBean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+}
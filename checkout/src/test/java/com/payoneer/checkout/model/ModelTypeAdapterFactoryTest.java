@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Test;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Class for testing that the generated ModelTypeAdapterFactory parses and serializes like reflective Gson
+ */
+public class ModelTypeAdapterFactoryTest {
+
+    private final static String LISTS_DIR = "../shared-test/lists/";
+
+    private final Gson reflective = new Gson();
+    private final Gson generated = new GsonBuilder().registerTypeAdapterFactory(new ModelTypeAdapterFactory()).create();
+
+    @Test
+    public void fromJson_listResult() throws IOException {
+        assertParsedLikeReflective("listresult.json");
+    }
+
+    @Test
+    public void fromJson_listResultAccounts() throws IOException {
+        assertParsedLikeReflective("listresult_accounts.json");
+    }
+
+    @Test
+    public void fromJson_listResultExtraElements() throws IOException {
+        assertParsedLikeReflective("listresult_extraelements_top.json");
+        assertParsedLikeReflective("listresult_extraelements_bottom.json");
+        assertParsedLikeReflective("listresult_extraelements_topbottom.json");
+    }
+
+    @Test
+    public void fromJson_listResultLogoError() throws IOException {
+        assertParsedLikeReflective("listresult_logoerror.json");
+    }
+
+    @Test
+    public void fromJson_nullPrimitive_fieldUnchanged() {
+        String json = "{\"registered\":null,\"autoRegistration\":true,\"allowRecurrence\":false}";
+        PresetAccount account = generated.fromJson(json, PresetAccount.class);
+        assertFalse(account.isRegistered());
+        assertTrue(account.isAutoRegistration());
+        assertEquals(reflective.toJson(reflective.fromJson(json, PresetAccount.class)), reflective.toJson(account));
+    }
+
+    @Test
+    public void fromJson_nullBoolean_fieldNull() {
+        String json = "{\"code\":\"VISA\",\"redirect\":null,\"selected\":true}";
+        ApplicableNetwork network = generated.fromJson(json, ApplicableNetwork.class);
+        assertNull(network.getRedirect());
+        assertEquals(reflective.toJson(reflective.fromJson(json, ApplicableNetwork.class)), reflective.toJson(network));
+        assertEquals(reflective.toJson(network), generated.toJson(network));
+    }
+
+    private void assertParsedLikeReflective(String fileName) throws IOException {
+        String json = new String(Files.readAllBytes(new File(LISTS_DIR + fileName).toPath()), StandardCharsets.UTF_8);
+        ListResult expected = reflective.fromJson(json, ListResult.class);
+        ListResult actual = generated.fromJson(json, ListResult.class);
+        String expectedJson = reflective.toJson(expected);
+        assertEquals(expectedJson, reflective.toJson(actual));
+
+        // the generated adapters write the same json and read it back unchanged
+        String generatedJson = generated.toJson(actual);
+        assertEquals(expectedJson, generatedJson);
+        assertEquals(expectedJson, reflective.toJson(generated.fromJson(generatedJson, ListResult.class)));
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.network;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyStore;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.TrustManagerFactory;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import com.payoneer.checkout.localization.LocalizationHolder;
+import com.payoneer.checkout.model.ListResult;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsParameters;
+import com.sun.net.httpserver.HttpsServer;
+
+import android.content.Context;
+import androidx.test.core.app.ApplicationProvider;
+
+/**
+ * Tests for the reuse of pooled connections, using a local TLS server counting the TLS handshakes
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ConnectionPoolTest {
+
+    private final static String KEYSTORE = "/mockserver.p12";
+    private final static char[] KEYSTORE_PASSWORD = "password".toCharArray();
+
+    private final AtomicInteger handshakes = new AtomicInteger();
+    private final AtomicInteger gzipRequests = new AtomicInteger();
+    private SSLSocketFactory defaultSocketFactory;
+    private HttpsServer server;
+
+    @Before
+    public void setUp() throws Exception {
+        SSLContext sslContext = createSSLContext();
+        defaultSocketFactory = HttpsURLConnection.getDefaultSSLSocketFactory();
+        HttpsURLConnection.setDefaultSSLSocketFactory(sslContext.getSocketFactory());
+
+        server = HttpsServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setHttpsConfigurator(new HttpsConfigurator(sslContext) {
+            @Override
+            public void configure(HttpsParameters params) {
+                // called once for every accepted connection before its TLS handshake
+                handshakes.incrementAndGet();
+                super.configure(params);
+            }
+        });
+        server.createContext("/lists/1", exchange ->
+            sendResponse(exchange, "{\"resultInfo\":\"Pooled\",\"operationType\":\"CHARGE\"}"));
+        server.createContext("/localization/", exchange ->
+            sendResponse(exchange, "{\"button.update.label\":\"Update\"}"));
+        server.start();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+        HttpsURLConnection.setDefaultSSLSocketFactory(defaultSocketFactory);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void configure_negativeMaxIdleConnections_IllegalArgumentException() {
+        ConnectionPool.configure(-1, 5, TimeUnit.MINUTES);
+    }
+
+    @Test
+    public void configure_setsSystemProperties() {
+        String[] names = { ConnectionPool.PROPERTY_KEEP_ALIVE, ConnectionPool.PROPERTY_MAX_CONNECTIONS,
+            ConnectionPool.PROPERTY_KEEP_ALIVE_DURATION };
+        String[] values = new String[names.length];
+        for (int i = 0; i < names.length; i++) {
+            values[i] = System.getProperty(names[i]);
+        }
+        try {
+            ConnectionPool.configure(8, 2, TimeUnit.MINUTES);
+            assertEquals("true", System.getProperty(ConnectionPool.PROPERTY_KEEP_ALIVE));
+            assertEquals("8", System.getProperty(ConnectionPool.PROPERTY_MAX_CONNECTIONS));
+            assertEquals("120000", System.getProperty(ConnectionPool.PROPERTY_KEEP_ALIVE_DURATION));
+        } finally {
+            for (int i = 0; i < names.length; i++) {
+                if (values[i] == null) {
+                    System.clearProperty(names[i]);
+                } else {
+                    System.setProperty(names[i], values[i]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void sessionLoad_gzipResponses_reuseOneTlsConnection() throws Exception {
+        Context context = ApplicationProvider.getApplicationContext();
+        String baseUrl = "https://127.0.0.1:" + server.getAddress().getPort();
+
+        ListResult result = new ListConnection(context).getListResult(baseUrl + "/lists/1");
+        LocalizationConnection localizationConnection = new LocalizationConnection(context);
+        LocalizationHolder shared = localizationConnection.loadLocalization(new URL(baseUrl + "/localization/shared.json"));
+        LocalizationHolder network = localizationConnection.loadLocalization(new URL(baseUrl + "/localization/visa.json"));
+
+        assertEquals("Pooled", result.getResultInfo());
+        assertEquals("Update", shared.translate("button.update.label"));
+        assertEquals("Update", network.translate("button.update.label"));
+        assertEquals(3, gzipRequests.get());
+        assertEquals(1, handshakes.get());
+    }
+
+    private void sendResponse(HttpExchange exchange, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        List<String> encodings = exchange.getRequestHeaders().get("Accept-Encoding");
+
+        if (encodings != null && encodings.contains("gzip")) {
+            gzipRequests.incrementAndGet();
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(body);
+            }
+            body = out.toByteArray();
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+        }
+        exchange.getResponseHeaders().add("Content-Type", "application/json;charset=UTF-8");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private SSLContext createSSLContext() throws Exception {
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (InputStream in = getClass().getResourceAsStream(KEYSTORE)) {
+            keyStore.load(in, KEYSTORE_PASSWORD);
+        }
+        KeyManagerFactory kmf = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        kmf.init(keyStore, KEYSTORE_PASSWORD);
+        TrustManagerFactory tmf = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        tmf.init(keyStore);
+
+        SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(kmf.getKeyManagers(), tmf.getTrustManagers(), null);
+        return sslContext;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.payoneer.checkout.core.PaymentException;
+import com.payoneer.checkout.core.PriorityExecutor;
+import com.payoneer.checkout.core.Workers;
+
+public class HedgedCallTest {
+
+    private PriorityExecutor executor;
+
+    @Before
+    public void setUp() {
+        executor = new PriorityExecutor("test", 2, 1, Thread.NORM_PRIORITY);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void execute_fastAttempt_noHedge() throws PaymentException {
+        AtomicInteger attempts = new AtomicInteger();
+        HedgedCall<String> call = new HedgedCall<>(() -> "attempt" + attempts.incrementAndGet(), executor,
+            Workers.PRIORITY_HIGH);
+        assertEquals("attempt1", call.execute(1000));
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    public void execute_stalledAttempt_hedgeReturned() throws Exception {
+        CountDownLatch stalled = new CountDownLatch(1);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        AtomicInteger attempts = new AtomicInteger();
+        HedgedCall<String> call = new HedgedCall<>(() -> {
+            int attempt = attempts.incrementAndGet();
+            if (attempt == 1) {
+                try {
+                    stalled.await();
+                } catch (InterruptedException e) {
+                    cancelled.countDown();
+                    throw e;
+                }
+            }
+            return "attempt" + attempt;
+        }, executor, Workers.PRIORITY_HIGH);
+
+        assertEquals("attempt2", call.execute(50));
+        assertTrue(cancelled.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void execute_failingAttempts_exception() {
+        HedgedCall<String> call = new HedgedCall<>(() -> {
+            throw new PaymentException("failed");
+        }, executor, Workers.PRIORITY_HIGH);
+        try {
+            call.execute(50);
+            fail("PaymentException expected");
+        } catch (PaymentException e) {
+            assertEquals("failed", e.getMessage());
+        }
+    }
+
+    @Test
+    public void execute_busyExecutor_calledInline() throws Exception {
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch busy = new CountDownLatch(1);
+        for (int i = 0; i < 2; i++) {
+            executor.execute(() -> {
+                started.countDown();
+                awaitQuietly(busy);
+            }, Workers.PRIORITY_HIGH);
+        }
+        try {
+            assertTrue(started.await(1, TimeUnit.SECONDS));
+            Thread caller = Thread.currentThread();
+            HedgedCall<Boolean> call = new HedgedCall<>(() -> Thread.currentThread() == caller, executor,
+                Workers.PRIORITY_HIGH);
+            assertTrue(call.execute(1000));
+        } finally {
+            busy.countDown();
+        }
+    }
+
+    private void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
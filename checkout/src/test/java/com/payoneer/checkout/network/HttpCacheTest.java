@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.network;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class HttpCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void putAndGet() throws IOException {
+        HttpCache cache = new HttpCache(folder.newFolder(), 1024);
+        byte[] data = "{\"key\":\"value\"}".getBytes(StandardCharsets.UTF_8);
+        cache.put("http://localhost/en.json", new HttpCache.Entry("\"etag\"", "Wed, 21 Oct 2015 07:28:00 GMT", data));
+
+        HttpCache.Entry entry = cache.get("http://localhost/en.json");
+        assertNotNull(entry);
+        assertEquals("\"etag\"", entry.getETag());
+        assertEquals("Wed, 21 Oct 2015 07:28:00 GMT", entry.getLastModified());
+        assertArrayEquals(data, entry.getData());
+        assertNull(cache.get("http://localhost/de.json"));
+    }
+
+    @Test
+    public void put_withoutValidators() throws IOException {
+        HttpCache cache = new HttpCache(folder.newFolder(), 1024);
+        cache.put("http://localhost/en.json", new HttpCache.Entry(null, null, new byte[] { 1, 2, 3 }));
+
+        HttpCache.Entry entry = cache.get("http://localhost/en.json");
+        assertNotNull(entry);
+        assertNull(entry.getETag());
+        assertNull(entry.getLastModified());
+    }
+
+    @Test
+    public void put_exceedsMaxSize_removesLeastRecentlyUsed() throws IOException {
+        File dir = folder.newFolder();
+        HttpCache cache = new HttpCache(dir, 300);
+        cache.put("http://localhost/1.json", new HttpCache.Entry(null, null, new byte[100]));
+        dir.listFiles()[0].setLastModified(System.currentTimeMillis() - 10000);
+        cache.put("http://localhost/2.json", new HttpCache.Entry(null, null, new byte[100]));
+        cache.put("http://localhost/3.json", new HttpCache.Entry(null, null, new byte[100]));
+
+        assertNull(cache.get("http://localhost/1.json"));
+        assertNotNull(cache.get("http://localhost/2.json"));
+        assertNotNull(cache.get("http://localhost/3.json"));
+    }
+
+    @Test
+    public void get_countsHitsAndMisses() throws IOException {
+        HttpCache cache = new HttpCache(folder.newFolder(), 1024);
+        cache.put("http://localhost/logo.png", new HttpCache.Entry(null, null, new byte[10]));
+        cache.get("http://localhost/logo.png");
+        cache.get("http://localhost/logo.png");
+        cache.get("http://localhost/other.png");
+
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void clear() throws IOException {
+        HttpCache cache = new HttpCache(folder.newFolder(), 1024);
+        cache.put("http://localhost/en.json", new HttpCache.Entry(null, null, new byte[10]));
+        cache.clear();
+        assertNull(cache.get("http://localhost/en.json"));
+    }
+}
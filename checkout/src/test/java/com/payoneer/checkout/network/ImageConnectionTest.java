@@ -8,14 +8,59 @@
 
 package com.payoneer.checkout.network;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URL;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
 import org.junit.jupiter.api.Assertions;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import com.payoneer.checkout.core.PaymentException;
+
+import android.os.CancellationSignal;
 
 /**
  * Containing ImageConnection tests
  */
+@RunWith(RobolectricTestRunner.class)
 public class ImageConnectionTest {
 
+    private final static String IMAGE_URL = "https://localhost/networklogos/visa.png";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private InMemoryTransport transport;
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        transport = new InMemoryTransport();
+        TransportProvider.getInstance().setTransport(transport);
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void tearDown() {
+        TransportProvider.getInstance().setTransport(null);
+        executor.shutdownNow();
+    }
+
     @Test()
     public void loadBitmap_invalidUrl_IllegalArgumentException() {
         Assertions.assertThrows(IllegalArgumentException.class, () -> {
@@ -23,4 +68,46 @@ public class ImageConnectionTest {
             conn.loadBitmap(null);
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    public void loadImage_cancelledWhileReading_workerReleased() throws Exception {
+        transport.addStalledResponse(IMAGE_URL, 200, "image/png", "partial image");
+        HttpCache cache = new HttpCache(folder.newFolder(), 1024 * 1024);
+        CancellationSignal signal = new CancellationSignal();
+        CountDownLatch finished = new CountDownLatch(1);
+        AtomicReference<Exception> error = new AtomicReference<>();
+        AtomicReference<Thread> worker = new AtomicReference<>();
+
+        Future<?> load = executor.submit(() -> {
+            worker.set(Thread.currentThread());
+            try {
+                new ImageConnection().loadImage(new URL(IMAGE_URL), cache, signal);
+            } catch (Exception e) {
+                error.set(e);
+            } finally {
+                finished.countDown();
+            }
+        });
+        awaitStalled(worker);
+
+        // interrupting the worker does not stop the read, like a read blocked on a socket
+        load.cancel(true);
+        assertFalse(finished.await(200, TimeUnit.MILLISECONDS));
+
+        signal.cancel();
+        assertTrue(finished.await(2, TimeUnit.SECONDS));
+        assertTrue(error.get() instanceof PaymentException);
+        assertEquals(0, transport.getOpenResponses());
+        assertNull(cache.get(IMAGE_URL));
+    }
+
+    private void awaitStalled(AtomicReference<Thread> worker) throws InterruptedException {
+        long timeout = System.currentTimeMillis() + 2000;
+        while (worker.get() == null || worker.get().getState() != Thread.State.WAITING) {
+            if (System.currentTimeMillis() > timeout) {
+                throw new AssertionError("The image download did not stall");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.network;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * HttpTransport for tests returning responses held in memory. Responses are registered by url and the executed
+ * requests are recorded, requests for unregistered urls or urls with pending failures fail with a ConnectException.
+ */
+public final class InMemoryTransport implements HttpTransport {
+
+    private final Map<String, Response> responses = new HashMap<>();
+    private final Map<String, Integer> failures = new HashMap<>();
+    private final List<HttpRequest> requests = new ArrayList<>();
+    private int openResponses;
+    private int interruptedRequests;
+    private CountDownLatch gate;
+
+    /**
+     * Add the response returned for requests to the given url
+     *
+     * @param url of the request
+     * @param statusCode of the response
+     * @param contentType of the response, may be null
+     * @param body the body of the response, may be null
+     */
+    public synchronized void addResponse(String url, int statusCode, String contentType, String body) {
+        putResponse(url, statusCode, createHeaders(contentType), body, false);
+    }
+
+    /**
+     * Add the response with the given headers returned for requests to the given url
+     *
+     * @param url of the request
+     * @param statusCode of the response
+     * @param headers of the response
+     * @param body the body of the response, may be null
+     */
+    public synchronized void addResponse(String url, int statusCode, Map<String, String> headers, String body) {
+        Map<String, String> responseHeaders = createHeaders(null);
+        responseHeaders.putAll(headers);
+        putResponse(url, statusCode, responseHeaders, body, false);
+    }
+
+    /**
+     * Add a response of which the body stalls after the given content has been read, like a stalled connection.
+     * A read of the stalled body is not interruptible and only fails once the response has been aborted.
+     *
+     * @param url of the request
+     * @param statusCode of the response
+     * @param contentType of the response, may be null
+     * @param body the content read before the body stalls, may be null
+     */
+    public synchronized void addStalledResponse(String url, int statusCode, String contentType, String body) {
+        putResponse(url, statusCode, createHeaders(contentType), body, true);
+    }
+
+    /**
+     * Let the next requests to the given url fail with a ConnectException before the response is returned
+     *
+     * @param url of the request
+     * @param count the number of requests that should fail
+     */
+    public synchronized void addFailures(String url, int count) {
+        failures.put(url, count);
+    }
+
+    /**
+     * Get the requests executed by this transport
+     *
+     * @return list of requests in the order they have been executed
+     */
+    public synchronized List<HttpRequest> getRequests() {
+        return new ArrayList<>(requests);
+    }
+
+    /**
+     * Get the number of responses that have not been closed yet
+     *
+     * @return the number of open responses
+     */
+    public synchronized int getOpenResponses() {
+        return openResponses;
+    }
+
+    /**
+     * Hold back all requests executed from now on until release is called, the requests are recorded immediately
+     */
+    public synchronized void hold() {
+        if (gate == null) {
+            gate = new CountDownLatch(1);
+        }
+    }
+
+    /**
+     * Release the requests held back by this transport
+     */
+    public synchronized void release() {
+        if (gate != null) {
+            gate.countDown();
+            gate = null;
+        }
+    }
+
+    /**
+     * Get the number of held back requests of which the executing thread has been interrupted
+     *
+     * @return the number of interrupted requests
+     */
+    public synchronized int getInterruptedRequests() {
+        return interruptedRequests;
+    }
+
+    @Override
+    public HttpResponse execute(HttpRequest request) throws IOException {
+        CountDownLatch current;
+        synchronized (this) {
+            requests.add(request);
+            current = gate;
+        }
+        if (current != null) {
+            awaitRelease(current);
+        }
+        return respond(request);
+    }
+
+    private void awaitRelease(CountDownLatch current) throws IOException {
+        try {
+            current.await();
+        } catch (InterruptedException e) {
+            synchronized (this) {
+                interruptedRequests++;
+            }
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Held back request has been interrupted");
+        }
+    }
+
+    private synchronized HttpResponse respond(HttpRequest request) throws IOException {
+        String url = request.getUrl().toString();
+        Integer remaining = failures.get(url);
+        if (remaining != null && remaining > 0) {
+            failures.put(url, remaining - 1);
+            throw new ConnectException("Failed request for url: " + url);
+        }
+        Response response = responses.get(url);
+        if (response == null) {
+            throw new ConnectException("No response for url: " + request.getUrl());
+        }
+        openResponses++;
+        return new InMemoryResponse(response);
+    }
+
+    private Map<String, String> createHeaders(String contentType) {
+        Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        if (contentType != null) {
+            headers.put(BaseConnection.HEADER_CONTENT_TYPE, contentType);
+        }
+        return headers;
+    }
+
+    private void putResponse(String url, int statusCode, Map<String, String> headers, String body, boolean stalled) {
+        byte[] data = body != null ? body.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        responses.put(url, new Response(statusCode, headers, data, stalled));
+    }
+
+    private synchronized void onClosed() {
+        openResponses--;
+    }
+
+    private static final class Response {
+        final int statusCode;
+        final Map<String, String> headers;
+        final byte[] body;
+        final boolean stalled;
+
+        Response(int statusCode, Map<String, String> headers, byte[] body, boolean stalled) {
+            this.statusCode = statusCode;
+            this.headers = headers;
+            this.body = body;
+            this.stalled = stalled;
+        }
+    }
+
+    private final class InMemoryResponse implements HttpResponse {
+        private final Response response;
+        private final InputStream body;
+        private final CountDownLatch aborted = new CountDownLatch(1);
+        private boolean closed;
+
+        InMemoryResponse(Response response) {
+            this.response = response;
+            InputStream in = new ByteArrayInputStream(response.body);
+            this.body = response.stalled ? new StalledInputStream(in, aborted) : in;
+        }
+
+        @Override
+        public int getStatusCode() {
+            return response.statusCode;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return response.headers.get(name);
+        }
+
+        @Override
+        public InputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public void abort() {
+            aborted.countDown();
+            close();
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                onClosed();
+            }
+        }
+    }
+
+    private static final class StalledInputStream extends InputStream {
+        private final InputStream in;
+        private final CountDownLatch aborted;
+
+        StalledInputStream(InputStream in, CountDownLatch aborted) {
+            this.in = in;
+            this.aborted = aborted;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = in.read(b, off, len);
+            if (read != -1) {
+                return read;
+            }
+            awaitAborted();
+            throw new SocketException("Socket closed");
+        }
+
+        private void awaitAborted() {
+            // like a blocking socket read, waiting is not stopped by interrupting the thread
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    aborted.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
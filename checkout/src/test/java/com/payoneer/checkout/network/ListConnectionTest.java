@@ -8,11 +8,22 @@
 
 package com.payoneer.checkout.network;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.robolectric.RobolectricTestRunner;
 
 import com.payoneer.checkout.core.PaymentException;
+import com.payoneer.checkout.model.ListResult;
+import com.sun.net.httpserver.HttpServer;
 
 import android.content.Context;
 import androidx.test.core.app.ApplicationProvider;
@@ -67,6 +78,113 @@ public class ListConnectionTest {
         conn.getListResult(null);
     }
 
+    /**
+     * Gets list result parsed from the response stream using UTF-8
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void getListResult_utf8Response_parsed() throws Exception {
+        String resultInfo = "Sch\u00f6ne Gr\u00fc\u00dfe \u20ac";
+        byte[] body = ("{\"resultInfo\":\"" + resultInfo + "\",\"operationType\":\"CHARGE\"}")
+            .getBytes(StandardCharsets.UTF_8);
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json;charset=UTF-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        try {
+            ListConnection conn = createListConnection();
+            ListResult result = conn.getListResult("http://127.0.0.1:" + server.getAddress().getPort() + "/lists/1");
+            assertEquals(resultInfo, result.getResultInfo());
+            assertEquals("CHARGE", result.getOperationType());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void getListResult_transientFailures_retried() throws Exception {
+        String url = "https://localhost/lists/retry";
+        InMemoryTransport transport = new InMemoryTransport();
+        transport.addResponse(url, 200, BaseConnection.VALUE_APP_JSON, "{\"operationType\":\"CHARGE\"}");
+        transport.addFailures(url, 2);
+        useTransport(transport);
+        try {
+            ListResult result = createListConnection().getListResult(url);
+            assertEquals("CHARGE", result.getOperationType());
+            assertEquals(3, transport.getRequests().size());
+            assertEquals(0, transport.getOpenResponses());
+        } finally {
+            resetTransport();
+        }
+    }
+
+    @Test
+    public void getListResult_serviceUnavailable_retried() throws Exception {
+        String url = "https://localhost/lists/unavailable";
+        InMemoryTransport transport = new InMemoryTransport();
+        transport.addResponse(url, 503, null, null);
+        useTransport(transport);
+        try {
+            createListConnection().getListResult(url);
+            fail("PaymentException expected");
+        } catch (PaymentException e) {
+            assertEquals(3, transport.getRequests().size());
+            assertEquals(0, transport.getOpenResponses());
+        } finally {
+            resetTransport();
+        }
+    }
+
+    @Test
+    public void getListResult_deadlineExpired_networkFailure() throws Exception {
+        InMemoryTransport transport = new InMemoryTransport();
+        useTransport(transport);
+        try {
+            ListConnection conn = createListConnection();
+            conn.setDeadline(Deadline.after(0, TimeUnit.MILLISECONDS));
+            conn.getListResult("https://localhost/lists/deadline");
+            fail("PaymentException expected");
+        } catch (PaymentException e) {
+            assertTrue(e.getNetworkFailure());
+            assertEquals(0, transport.getRequests().size());
+        } finally {
+            resetTransport();
+        }
+    }
+
+    @Test
+    public void createPaymentSession_connectFailure_notRetried() throws Exception {
+        InMemoryTransport transport = new InMemoryTransport();
+        useTransport(transport);
+        try {
+            createListConnection().createPaymentSession("https://localhost/lists", "auth123", "{}");
+            fail("PaymentException expected");
+        } catch (PaymentException e) {
+            assertTrue(e.getNetworkFailure());
+            assertEquals(1, transport.getRequests().size());
+        } finally {
+            resetTransport();
+        }
+    }
+
+    private void useTransport(InMemoryTransport transport) {
+        TransportProvider provider = TransportProvider.getInstance();
+        provider.setTransport(transport);
+        provider.setRetryPolicy(RetryPolicy.createBuilder().setInitialBackoff(1).setMaxBackoff(1).build());
+    }
+
+    private void resetTransport() {
+        TransportProvider provider = TransportProvider.getInstance();
+        provider.setTransport(null);
+        provider.setRetryPolicy(null);
+    }
+
     private ListConnection createListConnection() {
         Context context = ApplicationProvider.getApplicationContext();
         return new ListConnection(context);
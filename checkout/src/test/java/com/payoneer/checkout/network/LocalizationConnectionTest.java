@@ -8,11 +8,29 @@
 
 package com.payoneer.checkout.network;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.robolectric.RobolectricTestRunner;
 
 import com.payoneer.checkout.core.PaymentException;
+import com.payoneer.checkout.localization.LocalizationHolder;
 
 import android.content.Context;
 import androidx.test.core.app.ApplicationProvider;
@@ -23,6 +41,34 @@ import androidx.test.core.app.ApplicationProvider;
 @RunWith(RobolectricTestRunner.class)
 public class LocalizationConnectionTest {
 
+    private final static String ETAG = "\"v1\"";
+    private final static String LAST_MODIFIED = "Wed, 21 Oct 2015 07:28:00 GMT";
+    private final static String CACHED_JSON = "{\"button.ok\":\"cached\"}";
+    private final static String DOWNLOADED_JSON = "{\"button.ok\":\"downloaded\"}";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private InMemoryTransport transport;
+    private File cacheDir;
+    private HttpCache cache;
+    private LocalizationConnection conn;
+
+    @Before
+    public void setUp() throws IOException {
+        transport = new InMemoryTransport();
+        TransportProvider.getInstance().setTransport(transport);
+        cacheDir = folder.newFolder();
+        cache = new HttpCache(cacheDir, 1024 * 1024);
+        Context context = ApplicationProvider.getApplicationContext();
+        conn = new LocalizationConnection(context, cache);
+    }
+
+    @After
+    public void tearDown() {
+        TransportProvider.getInstance().setTransport(null);
+    }
+
     /**
      * Gets LocalizationHolder with invalid URL
      */
@@ -32,4 +78,116 @@ public class LocalizationConnectionTest {
         LocalizationConnection conn = new LocalizationConnection(context);
         conn.loadLocalization(null);
     }
+
+    @Test
+    public void loadLocalization_notCached_downloadedAndCached() throws Exception {
+        String url = "https://localhost/lang/notcached_en.json";
+        transport.addResponse(url, 200, createHeaders(ETAG, LAST_MODIFIED), DOWNLOADED_JSON);
+
+        LocalizationHolder holder = conn.loadLocalization(new URL(url));
+        assertEquals("downloaded", holder.translate("button.ok"));
+        Map<String, String> headers = transport.getRequests().get(0).getHeaders();
+        assertFalse(headers.containsKey("If-None-Match"));
+        assertFalse(headers.containsKey("If-Modified-Since"));
+
+        HttpCache.Entry entry = cache.get(url);
+        assertEquals(ETAG, entry.getETag());
+        assertEquals(LAST_MODIFIED, entry.getLastModified());
+        assertEquals(DOWNLOADED_JSON, new String(entry.getData(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void loadLocalization_cachedNotModified_servedAndTouched() throws Exception {
+        String url = "https://localhost/lang/notmodified_en.json";
+        cache.put(url, new HttpCache.Entry(ETAG, LAST_MODIFIED, CACHED_JSON.getBytes(StandardCharsets.UTF_8)));
+        setCacheFilesModified(1000);
+        transport.addResponse(url, 304, createHeaders(ETAG, LAST_MODIFIED), null);
+
+        LocalizationHolder holder = conn.loadLocalization(new URL(url));
+        assertEquals("cached", holder.translate("button.ok"));
+        awaitRequests(1);
+
+        Map<String, String> headers = transport.getRequests().get(0).getHeaders();
+        assertEquals(ETAG, headers.get("If-None-Match"));
+        assertEquals(LAST_MODIFIED, headers.get("If-Modified-Since"));
+        assertTrue(cacheDir.listFiles()[0].lastModified() > 1000);
+        assertEquals(CACHED_JSON, new String(cache.get(url).getData(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void loadLocalization_cachedModified_servedAndReplaced() throws Exception {
+        String url = "https://localhost/lang/modified_en.json";
+        cache.put(url, new HttpCache.Entry(ETAG, LAST_MODIFIED, CACHED_JSON.getBytes(StandardCharsets.UTF_8)));
+        transport.addResponse(url, 200, createHeaders("\"v2\"", null), DOWNLOADED_JSON);
+
+        LocalizationHolder holder = conn.loadLocalization(new URL(url));
+        assertEquals("cached", holder.translate("button.ok"));
+        awaitRequests(1);
+
+        HttpCache.Entry entry = cache.get(url);
+        assertEquals("\"v2\"", entry.getETag());
+        assertNull(entry.getLastModified());
+        assertEquals(DOWNLOADED_JSON, new String(entry.getData(), StandardCharsets.UTF_8));
+
+        // the replaced file is served on the next load
+        holder = conn.loadLocalization(new URL(url));
+        assertEquals("downloaded", holder.translate("button.ok"));
+    }
+
+    @Test
+    public void loadLocalization_cached_revalidatedOncePerProcess() throws Exception {
+        String url = "https://localhost/lang/revalidatedonce_en.json";
+        cache.put(url, new HttpCache.Entry(ETAG, LAST_MODIFIED, CACHED_JSON.getBytes(StandardCharsets.UTF_8)));
+        transport.addResponse(url, 304, createHeaders(ETAG, LAST_MODIFIED), null);
+
+        conn.loadLocalization(new URL(url));
+        awaitRequests(1);
+        conn.loadLocalization(new URL(url));
+        Thread.sleep(100);
+        assertEquals(1, transport.getRequests().size());
+    }
+
+    @Test
+    public void loadLocalization_cachedCorrupt_downloaded() throws Exception {
+        String url = "https://localhost/lang/corrupt_en.json";
+        cache.put(url, new HttpCache.Entry(ETAG, LAST_MODIFIED, "{\"button.ok\":".getBytes(StandardCharsets.UTF_8)));
+        transport.addResponse(url, 200, createHeaders("\"v2\"", null), DOWNLOADED_JSON);
+
+        LocalizationHolder holder = conn.loadLocalization(new URL(url));
+        assertEquals("downloaded", holder.translate("button.ok"));
+        assertEquals(1, transport.getRequests().size());
+        assertFalse(transport.getRequests().get(0).getHeaders().containsKey("If-None-Match"));
+        assertEquals(DOWNLOADED_JSON, new String(cache.get(url).getData(), StandardCharsets.UTF_8));
+    }
+
+    private Map<String, String> createHeaders(String etag, String lastModified) {
+        Map<String, String> headers = new HashMap<>();
+        headers.put(BaseConnection.HEADER_CONTENT_TYPE, BaseConnection.VALUE_APP_JSON);
+        if (etag != null) {
+            headers.put("ETag", etag);
+        }
+        if (lastModified != null) {
+            headers.put("Last-Modified", lastModified);
+        }
+        return headers;
+    }
+
+    private void setCacheFilesModified(long time) {
+        for (File file : cacheDir.listFiles()) {
+            assertTrue(file.setLastModified(time));
+        }
+    }
+
+    /**
+     * Wait until the background revalidation has made the requests and closed their responses
+     */
+    private void awaitRequests(int count) throws InterruptedException {
+        long timeout = System.currentTimeMillis() + 5000;
+        while (transport.getRequests().size() < count || transport.getOpenResponses() > 0) {
+            if (System.currentTimeMillis() > timeout) {
+                fail("Revalidation did not complete in time");
+            }
+            Thread.sleep(10);
+        }
+    }
 }
@@ -8,11 +8,22 @@
 
 package com.payoneer.checkout.network;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.net.URL;
+
+import org.junit.After;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.robolectric.RobolectricTestRunner;
 
 import com.payoneer.checkout.core.PaymentException;
+import com.payoneer.checkout.form.Operation;
+import com.payoneer.checkout.model.OperationResult;
 
 import androidx.test.core.app.ApplicationProvider;
 
@@ -22,6 +33,21 @@ import androidx.test.core.app.ApplicationProvider;
 @RunWith(RobolectricTestRunner.class)
 public class PaymentConnectionTest {
 
+    private final static String OPERATION_URL = "https://localhost/lists/1/operations/charge";
+
+    private InMemoryTransport transport;
+
+    @Before
+    public void setUp() {
+        transport = new InMemoryTransport();
+        TransportProvider.getInstance().setTransport(transport);
+    }
+
+    @After
+    public void tearDown() {
+        TransportProvider.getInstance().setTransport(null);
+    }
+
     /**
      * Post operation invalid data invalid value error.
      *
@@ -32,4 +58,52 @@ public class PaymentConnectionTest {
         PaymentConnection conn = new PaymentConnection(ApplicationProvider.getApplicationContext());
         conn.postOperation(null);
     }
+
+    @Test
+    public void postOperation_okResponse_operationResult() throws Exception {
+        transport.addResponse(OPERATION_URL, 200, BaseConnection.VALUE_APP_JSON,
+            "{\"resultInfo\":\"Approved\",\"interaction\":{\"code\":\"PROCEED\",\"reason\":\"OK\"}}");
+        PaymentConnection conn = new PaymentConnection(ApplicationProvider.getApplicationContext());
+        OperationResult result = conn.postOperation(createOperation());
+
+        assertEquals("Approved", result.getResultInfo());
+        assertEquals("PROCEED", result.getInteraction().getCode());
+
+        HttpRequest request = transport.getRequests().get(0);
+        assertEquals(HttpRequest.METHOD_POST, request.getMethod());
+        assertEquals(BaseConnection.VALUE_APP_JSON, request.getHeaders().get(BaseConnection.HEADER_ACCEPT));
+        assertEquals(0, transport.getOpenResponses());
+    }
+
+    @Test
+    public void postOperation_errorResponse_errorInfo() throws Exception {
+        transport.addResponse(OPERATION_URL, 422, BaseConnection.VALUE_APP_JSON,
+            "{\"resultInfo\":\"Invalid account\",\"interaction\":{\"code\":\"RETRY\",\"reason\":\"INVALID_ACCOUNT\"}}");
+        PaymentConnection conn = new PaymentConnection(ApplicationProvider.getApplicationContext());
+        try {
+            conn.postOperation(createOperation());
+            fail("PaymentException expected");
+        } catch (PaymentException e) {
+            assertEquals("Invalid account", e.getErrorInfo().getResultInfo());
+            assertFalse(e.getNetworkFailure());
+        }
+        assertEquals(0, transport.getOpenResponses());
+    }
+
+    @Test
+    public void postOperation_connectFailure_networkFailure() throws Exception {
+        PaymentConnection conn = new PaymentConnection(ApplicationProvider.getApplicationContext());
+        try {
+            conn.postOperation(createOperation());
+            fail("PaymentException expected");
+        } catch (PaymentException e) {
+            assertTrue(e.getNetworkFailure());
+        }
+        // operations are not idempotent and must not be retried
+        assertEquals(1, transport.getRequests().size());
+    }
+
+    private Operation createOperation() throws Exception {
+        return new Operation("VISA", "CREDIT_CARD", "CHARGE", new URL(OPERATION_URL));
+    }
 }
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+
+import javax.net.ssl.SSLHandshakeException;
+
+import org.junit.Test;
+
+public class RetryPolicyTest {
+
+    @Test
+    public void createDefault_threeAttempts() {
+        assertEquals(3, RetryPolicy.createDefault().getMaxAttempts());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void build_noAttempts_exception() {
+        RetryPolicy.createBuilder().setMaxAttempts(0).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void build_maxBackoffSmallerThanInitial_exception() {
+        RetryPolicy.createBuilder().setInitialBackoff(100).setMaxBackoff(50).build();
+    }
+
+    @Test
+    public void getBackoff_exponentialWithJitter() {
+        RetryPolicy policy = RetryPolicy.createBuilder().setInitialBackoff(100).setMaxBackoff(300).build();
+        for (int i = 0; i < 100; i++) {
+            assertInRange(policy.getBackoff(1), 100);
+            assertInRange(policy.getBackoff(2), 200);
+            assertInRange(policy.getBackoff(3), 300);
+            assertInRange(policy.getBackoff(40), 300);
+        }
+    }
+
+    @Test
+    public void isRetryable_exceptions() {
+        RetryPolicy policy = RetryPolicy.createDefault();
+        assertTrue(policy.isRetryable(new ConnectException()));
+        assertTrue(policy.isRetryable(new SocketTimeoutException()));
+        assertTrue(policy.isRetryable(new IOException()));
+        assertFalse(policy.isRetryable(new InterruptedIOException()));
+        assertFalse(policy.isRetryable(new SSLHandshakeException("untrusted")));
+    }
+
+    @Test
+    public void isRetryable_statusCodes() {
+        RetryPolicy policy = RetryPolicy.createDefault();
+        assertTrue(policy.isRetryable(429));
+        assertTrue(policy.isRetryable(503));
+        assertFalse(policy.isRetryable(200));
+        assertFalse(policy.isRetryable(404));
+        assertFalse(policy.isRetryable(422));
+    }
+
+    private void assertInRange(long backoff, long max) {
+        assertTrue("backoff out of range: " + backoff, backoff >= 0 && backoff <= max);
+    }
+}
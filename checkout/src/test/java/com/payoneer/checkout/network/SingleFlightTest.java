@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.payoneer.checkout.core.PaymentException;
+
+public class SingleFlightTest {
+
+    private final static String KEY = "https://localhost/lists/1";
+
+    private ExecutorService executor;
+    private SingleFlight<Object> singleFlight;
+    private AtomicInteger calls;
+    private CountDownLatch started;
+    private CountDownLatch release;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newCachedThreadPool();
+        singleFlight = new SingleFlight<>();
+        calls = new AtomicInteger();
+        started = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void execute_concurrentCalls_joined() throws Exception {
+        Object result = new Object();
+        Future<Object> first = executor.submit(() -> singleFlight.execute(KEY, () -> blockingCall(result)));
+        started.await(5, TimeUnit.SECONDS);
+        Future<Object> second = executor.submit(() -> singleFlight.execute(KEY, () -> blockingCall(new Object())));
+        waitUntilJoined();
+        release.countDown();
+
+        assertSame(result, first.get(5, TimeUnit.SECONDS));
+        assertSame(result, second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+        assertEquals(0, singleFlight.size());
+    }
+
+    @Test
+    public void execute_sequentialCalls_executedAgain() throws Exception {
+        singleFlight.execute(KEY, () -> calls.incrementAndGet());
+        singleFlight.execute(KEY, () -> calls.incrementAndGet());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void execute_differentKeys_notJoined() throws Exception {
+        release.countDown();
+        singleFlight.execute(KEY, () -> blockingCall(new Object()));
+        singleFlight.execute("https://localhost/lists/2", () -> blockingCall(new Object()));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void execute_failedCall_exceptionShared() throws Exception {
+        PaymentException error = new PaymentException("List not found");
+        Future<Object> first = executor.submit(() -> singleFlight.execute(KEY, () -> {
+            blockingCall(null);
+            throw error;
+        }));
+        started.await(5, TimeUnit.SECONDS);
+        Future<Object> second = executor.submit(() -> singleFlight.execute(KEY, () -> blockingCall(new Object())));
+        waitUntilJoined();
+        release.countDown();
+
+        assertFailedWith(error, first);
+        assertFailedWith(error, second);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void execute_interruptedCall_executedByJoinedCaller() throws Exception {
+        Object result = new Object();
+        Future<Object> first = executor.submit(() -> singleFlight.execute(KEY, () -> {
+            try {
+                blockingCall(null);
+            } catch (PaymentException e) {
+                // the call of the interrupted caller fails, i.e. with an InterruptedIOException
+            }
+            throw new PaymentException("Request cancelled");
+        }));
+        started.await(5, TimeUnit.SECONDS);
+        Future<Object> second = executor.submit(() -> singleFlight.execute(KEY, () -> {
+            calls.incrementAndGet();
+            return result;
+        }));
+        waitUntilJoined();
+        first.cancel(true);
+
+        assertSame(result, second.get(5, TimeUnit.SECONDS));
+        assertEquals(2, calls.get());
+    }
+
+    private Object blockingCall(Object result) throws PaymentException {
+        calls.incrementAndGet();
+        started.countDown();
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PaymentException(e);
+        }
+        return result;
+    }
+
+    private void waitUntilJoined() throws InterruptedException {
+        // the joining caller cannot be observed, give it time to reach the call in flight
+        Thread.sleep(100);
+    }
+
+    private void assertFailedWith(PaymentException error, Future<Object> future) throws Exception {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("PaymentException expected");
+        } catch (ExecutionException e) {
+            assertSame(error, e.getCause());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class TransportProviderTest {
+
+    @After
+    public void tearDown() {
+        TransportProvider.getInstance().setTransport(null);
+        TransportProvider.getInstance().setRetryPolicy(null);
+    }
+
+    @Test
+    public void getTransport_notSet_urlConnectionTransport() {
+        assertTrue(TransportProvider.getInstance().getTransport() instanceof UrlConnectionTransport);
+    }
+
+    @Test
+    public void setTransport_transport_returned() {
+        InMemoryTransport transport = new InMemoryTransport();
+        TransportProvider provider = TransportProvider.getInstance();
+        provider.setTransport(transport);
+        assertSame(transport, provider.getTransport());
+
+        provider.setTransport(null);
+        assertTrue(provider.getTransport() instanceof UrlConnectionTransport);
+    }
+
+    @Test
+    public void setRetryPolicy_null_defaultPolicy() {
+        RetryPolicy policy = RetryPolicy.createBuilder().setMaxAttempts(5).build();
+        TransportProvider provider = TransportProvider.getInstance();
+        provider.setRetryPolicy(policy);
+        assertSame(policy, provider.getRetryPolicy());
+
+        provider.setRetryPolicy(null);
+        assertNotSame(policy, provider.getRetryPolicy());
+        assertEquals(3, provider.getRetryPolicy().getMaxAttempts());
+    }
+}
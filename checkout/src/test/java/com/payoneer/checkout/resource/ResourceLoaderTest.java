@@ -8,17 +8,24 @@
 
 package com.payoneer.checkout.resource;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 
 import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.robolectric.RobolectricTestRunner;
 
+import com.google.gson.reflect.TypeToken;
 import com.payoneer.checkout.R;
 import com.payoneer.checkout.core.PaymentException;
+import com.payoneer.checkout.util.GsonHelper;
 
 import android.content.res.Resources;
 import androidx.test.core.app.ApplicationProvider;
@@ -26,6 +33,8 @@ import androidx.test.core.app.ApplicationProvider;
 @RunWith(RobolectricTestRunner.class)
 public class ResourceLoaderTest {
 
+    private final static String[] TYPES = { "number", "verificationCode", "bic", "holderName" };
+
     @Test(expected = PaymentException.class)
     public void loadPaymentGroups_invalidResourceId() throws PaymentException {
         Resources res = ApplicationProvider.getApplicationContext().getResources();
@@ -85,6 +94,56 @@ public class ResourceLoaderTest {
         assertNotNull(str);
     }
 
+    @Test
+    public void compiledPaymentGroups_matchJson() throws IOException {
+        Resources res = ApplicationProvider.getApplicationContext().getResources();
+        Type listType = new TypeToken<ArrayList<PaymentGroup>>() { }.getType();
+        List<PaymentGroup> json = GsonHelper.getInstance().fromJson(ResourceLoader.readRawResource(res, R.raw.groups), listType);
+        List<PaymentGroup> compiled = CompiledResources.createPaymentGroups();
+
+        assertEquals(json.size(), compiled.size());
+        for (int i = 0; i < json.size(); i++) {
+            Map<String, PaymentGroup> jsonMap = new HashMap<>();
+            Map<String, PaymentGroup> compiledMap = new HashMap<>();
+            json.get(i).populate(jsonMap);
+            compiled.get(i).populate(compiledMap);
+
+            assertEquals(json.get(i).getId(), compiled.get(i).getId());
+            assertEquals(jsonMap.keySet(), compiledMap.keySet());
+            for (String code : jsonMap.keySet()) {
+                assertEquals(json.get(i).getSmartSelectionRegex(code), compiled.get(i).getSmartSelectionRegex(code));
+            }
+        }
+    }
+
+    @Test
+    public void compiledValidations_matchJson() throws IOException {
+        Resources res = ApplicationProvider.getApplicationContext().getResources();
+        Type listType = new TypeToken<ArrayList<ValidationGroup>>() { }.getType();
+        List<ValidationGroup> json = GsonHelper.getInstance().fromJson(ResourceLoader.readRawResource(res, R.raw.validations), listType);
+        List<ValidationGroup> compiled = CompiledResources.createValidationGroups();
+
+        assertEquals(json.size(), compiled.size());
+        for (int i = 0; i < json.size(); i++) {
+            ValidationGroup jsonGroup = json.get(i);
+            ValidationGroup compiledGroup = compiled.get(i);
+            assertEquals(jsonGroup.getCode(), compiledGroup.getCode());
+
+            for (String type : TYPES) {
+                assertEquals(jsonGroup.getValidationRegex(type), compiledGroup.getValidationRegex(type));
+                assertEquals(jsonGroup.getMaxLength(type), compiledGroup.getMaxLength(type));
+                assertEquals(jsonGroup.isHidden(type), compiledGroup.isHidden(type));
+            }
+        }
+    }
+
+    @Test
+    public void readRawResourceBytes_matchesCompiledLength() throws IOException {
+        Resources res = ApplicationProvider.getApplicationContext().getResources();
+        assertEquals(CompiledResources.GROUPS_LENGTH, ResourceLoader.readRawResourceBytes(res, R.raw.groups).length);
+        assertEquals(CompiledResources.VALIDATIONS_LENGTH, ResourceLoader.readRawResourceBytes(res, R.raw.validations).length);
+    }
+
     private void validateGroup(Map<String, ValidationGroup> validations, String name) {
         ValidationGroup group = validations.get(name);
         assertNotNull(group);
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.ui.list;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.android.controller.ActivityController;
+
+import com.payoneer.checkout.R;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.util.AttributeSet;
+import android.view.ContextThemeWrapper;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+import android.widget.ImageView;
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.appcompat.widget.AppCompatImageView;
+import androidx.test.core.app.ApplicationProvider;
+
+@RunWith(RobolectricTestRunner.class)
+public class LayoutPrefetcherTest {
+
+    private HandlerThread inflaterThread;
+    private ViewGroup parent;
+    private LayoutPrefetcher prefetcher;
+    private List<Thread> factoryThreads;
+
+    @Before
+    public void setUp() {
+        Context context = new ContextThemeWrapper(ApplicationProvider.getApplicationContext(), R.style.PaymentTheme);
+        factoryThreads = Collections.synchronizedList(new ArrayList<>());
+        LayoutInflater.from(context).setFactory2(new RecordingFactory());
+
+        inflaterThread = new HandlerThread("test-inflater");
+        inflaterThread.start();
+        parent = new FrameLayout(context);
+        prefetcher = new LayoutPrefetcher(context, new Handler(inflaterThread.getLooper()));
+    }
+
+    @After
+    public void tearDown() {
+        inflaterThread.quit();
+    }
+
+    @Test
+    public void getView_prefetched_prefetchedViewUsed() {
+        prefetcher.prefetch(parent, Arrays.asList(R.layout.view_logo, R.layout.view_logo));
+        awaitPrefetched();
+
+        View first = prefetcher.getView(R.layout.view_logo, parent);
+        View second = prefetcher.getView(R.layout.view_logo, parent);
+        assertNotSame(first, second);
+        assertSame(AppCompatImageView.class, first.getClass());
+
+        // the factory of the Activity inflater is never used on the background looper
+        assertTrue(factoryThreads.isEmpty());
+    }
+
+    @Test
+    public void getView_notPrefetched_inflated() {
+        prefetcher.prefetch(parent, Collections.singletonList(R.layout.view_logo));
+        awaitPrefetched();
+
+        prefetcher.getView(R.layout.view_logo, parent);
+        View view = prefetcher.getView(R.layout.view_logo, parent);
+        assertTrue(view instanceof ImageView);
+        assertEquals(1, factoryThreads.size());
+        assertSame(Looper.getMainLooper().getThread(), factoryThreads.get(0));
+    }
+
+    @Test
+    public void clear_unusedViewsDiscarded() {
+        prefetcher.prefetch(parent, Collections.singletonList(R.layout.view_logo));
+        awaitPrefetched();
+        prefetcher.clear();
+
+        prefetcher.getView(R.layout.view_logo, parent);
+        assertEquals(1, factoryThreads.size());
+    }
+
+    @Test
+    public void clear_inflatingViewsDiscarded() {
+        prefetcher.prefetch(parent, Collections.singletonList(R.layout.view_logo));
+        shadowOf(inflaterThread.getLooper()).idle();
+        prefetcher.clear();
+        shadowOf(Looper.getMainLooper()).idle();
+
+        prefetcher.getView(R.layout.view_logo, parent);
+        assertEquals(1, factoryThreads.size());
+    }
+
+    @Test
+    public void getView_prefetched_sameWidgetsAsInflated() {
+        ActivityController<AppCompatActivity> controller = Robolectric.buildActivity(AppCompatActivity.class);
+        AppCompatActivity activity = controller.get();
+        activity.setTheme(R.style.PaymentTheme);
+        controller.create();
+
+        ViewGroup activityParent = new FrameLayout(activity);
+        LayoutPrefetcher activityPrefetcher = new LayoutPrefetcher(activity, new Handler(inflaterThread.getLooper()));
+        activityPrefetcher.prefetch(activityParent, Collections.singletonList(R.layout.list_item_networkcard));
+        awaitPrefetched();
+
+        View prefetched = activityPrefetcher.getView(R.layout.list_item_networkcard, activityParent);
+        View inflated = activityPrefetcher.getView(R.layout.list_item_networkcard, activityParent);
+        assertNotSame(prefetched, inflated);
+        assertSameClass(inflated, prefetched, R.id.text_title);
+        assertSameClass(inflated, prefetched, R.id.image_logo);
+        controller.destroy();
+    }
+
+    private static void assertSameClass(View expected, View actual, int id) {
+        assertSame(expected.findViewById(id).getClass(), actual.findViewById(id).getClass());
+    }
+
+    private void awaitPrefetched() {
+        shadowOf(inflaterThread.getLooper()).idle();
+        shadowOf(Looper.getMainLooper()).idle();
+    }
+
+    /**
+     * Factory recording the threads it is called from, the views are created by the inflater itself
+     */
+    private class RecordingFactory implements LayoutInflater.Factory2 {
+
+        @Override
+        public View onCreateView(View parent, String name, Context context, AttributeSet attrs) {
+            factoryThreads.add(Thread.currentThread());
+            return null;
+        }
+
+        @Override
+        public View onCreateView(String name, Context context, AttributeSet attrs) {
+            return onCreateView(null, name, context, attrs);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.ui.list;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import com.payoneer.checkout.ui.list.PaymentItemListTest.TestItem;
+
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListUpdateCallback;
+
+@RunWith(RobolectricTestRunner.class)
+public class ListItemDiffCallbackTest {
+
+    @Test
+    public void areItemsTheSame_sameShapeAndStableKey() {
+        List<ListItem> oldItems = Arrays.asList(new TestItem("account", "account:1"), new TestItem("account", "account:2"));
+        List<ListItem> newItems = Arrays.asList(new TestItem("account", "account:1"), new TestItem("network", "account:2"));
+        ListItemDiffCallback callback = new ListItemDiffCallback(oldItems, newItems);
+
+        assertTrue(callback.areItemsTheSame(0, 0));
+        assertFalse(callback.areItemsTheSame(1, 1));
+        assertFalse(callback.areContentsTheSame(0, 0));
+    }
+
+    @Test
+    public void calculateDiff_removedAndInsertedItems() {
+        List<ListItem> oldItems = Arrays.asList(new TestItem("account", "account:1"), new TestItem("account", "account:2"),
+            new TestItem("network", "network:VISA"));
+        List<ListItem> newItems = Arrays.asList(new TestItem("account", "account:2"), new TestItem("network", "network:VISA"),
+            new TestItem("network", "network:SEPADD"));
+        DiffUtil.DiffResult result = DiffUtil.calculateDiff(new ListItemDiffCallback(oldItems, newItems));
+
+        List<String> updates = new ArrayList<>();
+        result.dispatchUpdatesTo(new ListUpdateCallback() {
+            @Override
+            public void onInserted(int position, int count) {
+                updates.add("inserted:" + position + ":" + count);
+            }
+
+            @Override
+            public void onRemoved(int position, int count) {
+                updates.add("removed:" + position + ":" + count);
+            }
+
+            @Override
+            public void onMoved(int fromPosition, int toPosition) {
+                updates.add("moved:" + fromPosition + ":" + toPosition);
+            }
+
+            @Override
+            public void onChanged(int position, int count, @Nullable Object payload) {
+                updates.add("changed:" + position + ":" + count);
+            }
+        });
+        assertTrue(updates.contains("removed:0:1"));
+        assertTrue(updates.contains("inserted:2:1"));
+        assertEquals(3, updates.size());
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.ui.list;
+
+import static com.payoneer.checkout.core.PaymentInputCategory.INPUTELEMENT;
+import static com.payoneer.checkout.core.PaymentInputType.ACCOUNT_NUMBER;
+import static com.payoneer.checkout.core.PaymentInputType.HOLDER_NAME;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.robolectric.Shadows.shadowOf;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import com.google.android.material.textfield.TextInputLayout;
+import com.payoneer.checkout.R;
+import com.payoneer.checkout.model.ApplicableNetwork;
+import com.payoneer.checkout.model.CheckboxMode;
+import com.payoneer.checkout.model.InputElement;
+import com.payoneer.checkout.model.InputElementType;
+import com.payoneer.checkout.model.NetworkOperationType;
+import com.payoneer.checkout.model.PaymentMethod;
+import com.payoneer.checkout.ui.model.NetworkCard;
+import com.payoneer.checkout.ui.model.PaymentCard;
+import com.payoneer.checkout.ui.model.PaymentNetwork;
+import com.payoneer.checkout.ui.model.RegistrationOptions;
+import com.payoneer.checkout.ui.widget.FormWidget;
+import com.payoneer.checkout.validation.Validator;
+
+import android.content.Context;
+import android.os.Looper;
+import android.view.ContextThemeWrapper;
+import android.view.View;
+import android.widget.EditText;
+import android.widget.ViewSwitcher;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.core.app.ApplicationProvider;
+
+@RunWith(RobolectricTestRunner.class)
+public class PaymentCardViewHolderTest {
+
+    private final static String MASTERCARD = "MASTERCARD";
+    private final static String VISA = "VISA";
+    private final static Map<String, String> SELECTION_REGEXES = new HashMap<>();
+
+    static {
+        SELECTION_REGEXES.put(MASTERCARD, "^5[0-9]*$");
+        SELECTION_REGEXES.put(VISA, "^4[0-9]*$");
+    }
+
+    private PaymentItemList itemList;
+    private ListAdapter adapter;
+    private RecyclerView recyclerView;
+
+    @Before
+    public void setUp() {
+        Validator.setInstance(new Validator(new HashMap<>()));
+        Context context = new ContextThemeWrapper(ApplicationProvider.getApplicationContext(), R.style.PaymentTheme);
+        itemList = new PaymentItemList();
+        adapter = new ListAdapter(new TestCardListener(), itemList, new LayoutPrefetcher(context));
+
+        recyclerView = new RecyclerView(context);
+        recyclerView.setLayoutManager(new LinearLayoutManager(context));
+        recyclerView.setItemAnimator(null);
+        recyclerView.setAdapter(adapter);
+    }
+
+    @After
+    public void tearDown() {
+        Validator.setInstance(null);
+    }
+
+    @Test
+    public void onBindPayloads_sameNetwork_onlyNetworkLogosRebound() {
+        NetworkCard card = createNetworkCard(MASTERCARD, VISA);
+        PaymentCardViewHolder holder = bindCard(card);
+        TextInputLayout holderNameLayout = getTextInputLayout(holder, HOLDER_NAME);
+        ViewSwitcher logos = holder.itemView.findViewById(R.id.viewswitcher_logos);
+        holderNameLayout.setHint("unchanged");
+        assertEquals(0, logos.getDisplayedChild());
+
+        // selects MASTERCARD, which is already the visible network of the card
+        getEditText(holder, ACCOUNT_NUMBER).setText("5");
+        runFrame();
+
+        assertSame(holder, recyclerView.findViewHolderForAdapterPosition(0));
+        assertEquals(MASTERCARD, card.getNetworkCode());
+        assertEquals(1, logos.getDisplayedChild());
+        assertEquals("unchanged", String.valueOf(holderNameLayout.getHint()));
+    }
+
+    @Test
+    public void onBindPayloads_networkChanged_inputWidgetsRebound() {
+        NetworkCard card = createNetworkCard(MASTERCARD, VISA);
+        PaymentCardViewHolder holder = bindCard(card);
+        TextInputLayout holderNameLayout = getTextInputLayout(holder, HOLDER_NAME);
+        ViewSwitcher logos = holder.itemView.findViewById(R.id.viewswitcher_logos);
+        holderNameLayout.setHint("unchanged");
+
+        getEditText(holder, ACCOUNT_NUMBER).setText("4");
+        runFrame();
+
+        assertSame(holder, recyclerView.findViewHolderForAdapterPosition(0));
+        assertEquals(VISA, card.getNetworkCode());
+        assertEquals(1, logos.getDisplayedChild());
+        assertNotEquals("unchanged", String.valueOf(holderNameLayout.getHint()));
+    }
+
+    @Test
+    public void onTextInputChanged_coalescedUntilNextFrame() {
+        NetworkCard card = createNetworkCard(MASTERCARD, VISA);
+        PaymentCardViewHolder holder = bindCard(card);
+        EditText number = getEditText(holder, ACCOUNT_NUMBER);
+
+        number.setText("4");
+        number.setText("41");
+        number.setText("411");
+        assertNull(card.getUserInputData(ACCOUNT_NUMBER));
+
+        runFrame();
+        assertEquals("411", card.getUserInputData(ACCOUNT_NUMBER));
+        assertEquals(VISA, card.getNetworkCode());
+    }
+
+    @Test
+    public void onBind_otherCard_pendingInputFlushed() {
+        NetworkCard card = createNetworkCard(VISA);
+        PaymentCardViewHolder holder = bindCard(card);
+
+        getEditText(holder, HOLDER_NAME).setText("John Doe");
+        assertNull(card.getUserInputData(HOLDER_NAME));
+
+        NetworkCard other = createNetworkCard(VISA);
+        PaymentItemList reloaded = new PaymentItemList();
+        reloaded.addItem(new PaymentCardItem(other), true);
+        itemList.setItems(reloaded);
+        adapter.onBindViewHolder(holder, 0);
+
+        assertSame(other, holder.getPaymentCard());
+        assertEquals("John Doe", card.getUserInputData(HOLDER_NAME));
+        runFrame();
+        assertNull(other.getUserInputData(HOLDER_NAME));
+    }
+
+    private PaymentCardViewHolder bindCard(PaymentCard card) {
+        itemList.addItem(new PaymentCardItem(card), true);
+        adapter.notifyDataSetChanged();
+        layoutList();
+        return (PaymentCardViewHolder) recyclerView.findViewHolderForAdapterPosition(0);
+    }
+
+    /**
+     * Run the pending frame callbacks and lay out the list, which binds the changed items
+     */
+    private void runFrame() {
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(100));
+        layoutList();
+    }
+
+    private void layoutList() {
+        recyclerView.measure(View.MeasureSpec.makeMeasureSpec(1080, View.MeasureSpec.EXACTLY),
+            View.MeasureSpec.makeMeasureSpec(1920, View.MeasureSpec.EXACTLY));
+        recyclerView.layout(0, 0, 1080, 1920);
+    }
+
+    private static EditText getEditText(PaymentCardViewHolder holder, String name) {
+        return getWidget(holder, name).getRootView().findViewById(R.id.textinputedittext);
+    }
+
+    private static TextInputLayout getTextInputLayout(PaymentCardViewHolder holder, String name) {
+        return getWidget(holder, name).getRootView().findViewById(R.id.textinputlayout);
+    }
+
+    private static FormWidget getWidget(PaymentCardViewHolder holder, String name) {
+        return holder.getFormWidget(FormWidget.createWidgetKey(INPUTELEMENT, name));
+    }
+
+    private static NetworkCard createNetworkCard(String... codes) {
+        NetworkCard card = new NetworkCard(null);
+        for (String code : codes) {
+            RegistrationOptions options = new RegistrationOptions(Collections.emptyList(), CheckboxMode.NONE, null);
+            card.addPaymentNetwork(new PaymentNetwork(createNetwork(code), "button", options));
+            card.getSmartSwitch().addSelectionRegex(code, SELECTION_REGEXES.get(code));
+        }
+        return card;
+    }
+
+    private static ApplicableNetwork createNetwork(String code) {
+        ApplicableNetwork network = new ApplicableNetwork();
+        network.setCode(code);
+        network.setMethod(PaymentMethod.CREDIT_CARD);
+        network.setOperationType(NetworkOperationType.CHARGE);
+        network.setInputElements(Arrays.asList(createElement(ACCOUNT_NUMBER, InputElementType.NUMERIC),
+            createElement(HOLDER_NAME, InputElementType.STRING)));
+        return network;
+    }
+
+    private static InputElement createElement(String name, String type) {
+        InputElement element = new InputElement();
+        element.setName(name);
+        element.setType(type);
+        return element;
+    }
+
+    private static class TestCardListener implements PaymentCardListener {
+
+        @Override
+        public void onHideKeyboard() {
+        }
+
+        @Override
+        public void onShowKeyboard(View view) {
+        }
+
+        @Override
+        public void onDeleteClicked(PaymentCard paymentCard) {
+        }
+
+        @Override
+        public void onHintClicked(String networkCode, String type) {
+        }
+
+        @Override
+        public void onActionClicked(PaymentCard paymentCard, Map<String, FormWidget> widgets) {
+        }
+
+        @Override
+        public void onCardClicked(int position) {
+        }
+    }
+}
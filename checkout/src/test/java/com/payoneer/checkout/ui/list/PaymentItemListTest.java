@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.ui.list;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class PaymentItemListTest {
+
+    @Test
+    public void addItem_sameShape_sameViewType() {
+        PaymentItemList itemList = new PaymentItemList();
+        ListItem first = new TestItem("account|number");
+        ListItem second = new TestItem("account|number");
+        ListItem other = new TestItem("network|number|holderName");
+        itemList.addItem(first, false);
+        itemList.addItem(other, false);
+        itemList.addItem(second, true);
+
+        assertEquals(first.viewType, second.viewType);
+        assertNotEquals(first.viewType, other.viewType);
+        assertEquals(2, itemList.getViewTypeCount());
+        assertEquals(2, itemList.getSelectedIndex());
+        assertSame(first, itemList.getItemWithViewType(second.viewType));
+        assertSame(other, itemList.getItemWithViewType(other.viewType));
+    }
+
+    @Test
+    public void clear_keepsViewTypes() {
+        PaymentItemList itemList = new PaymentItemList();
+        ListItem item = new TestItem("header");
+        itemList.addItem(item, false);
+        itemList.clear();
+
+        assertEquals(0, itemList.getItemCount());
+        assertNull(itemList.getItemWithViewType(item.viewType));
+
+        ListItem reloaded = new TestItem("header");
+        itemList.addItem(reloaded, false);
+        assertEquals(item.viewType, reloaded.viewType);
+        assertSame(reloaded, itemList.getItemWithViewType(reloaded.viewType));
+    }
+
+    @Test
+    public void setItems_keepsItemIds() {
+        PaymentItemList itemList = new PaymentItemList();
+        itemList.addItem(new TestItem("account", "account:1"), false);
+        itemList.addItem(new TestItem("account", "account:2"), false);
+        long firstId = itemList.getItemId(0);
+        long secondId = itemList.getItemId(1);
+        assertNotEquals(firstId, secondId);
+
+        PaymentItemList reloaded = new PaymentItemList();
+        reloaded.addItem(new TestItem("account", "account:2"), true);
+        reloaded.addItem(new TestItem("account", "account:3"), false);
+        itemList.setItems(reloaded);
+
+        assertEquals(2, itemList.getItemCount());
+        assertEquals(0, itemList.getSelectedIndex());
+        assertEquals(secondId, itemList.getItemId(0));
+        assertNotEquals(firstId, itemList.getItemId(1));
+    }
+
+    @Test
+    public void addItem_sameStableKey_differentItemIds() {
+        PaymentItemList itemList = new PaymentItemList();
+        itemList.addItem(new TestItem("account", "account:null"), false);
+        itemList.addItem(new TestItem("account", "account:null"), false);
+        assertNotEquals(itemList.getItemId(0), itemList.getItemId(1));
+    }
+
+    static class TestItem extends ListItem {
+        private final String shape;
+        private final String stableKey;
+
+        TestItem(String shape) {
+            this(shape, shape);
+        }
+
+        TestItem(String shape, String stableKey) {
+            this.shape = shape;
+            this.stableKey = stableKey;
+        }
+
+        @Override
+        String getShape() {
+            return shape;
+        }
+
+        @Override
+        String getStableKey() {
+            return stableKey;
+        }
+    }
+}
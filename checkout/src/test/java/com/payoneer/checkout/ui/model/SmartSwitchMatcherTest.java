@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.ui.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+public class SmartSwitchMatcherTest {
+
+    private final static List<String> REGEXES = Arrays.asList(
+        "^(6[045]|62212[6-9]|6221[3-9][0-9]|622[2-8][0-9]{2}|6229[01][0-9]|62292[0-5])[0-9]*$",
+        "^(5[0-5]|222[1-9]|22[3-9][0-9]|2[3-6][0-9]{2}|27[01][0-9]|2720)[0-9]*$",
+        "^(2014|2149|30[059]|3[689])[0-9]*$",
+        "^62[0-9]*$",
+        "^3[47][0-9]*$",
+        "^35[0-9]*$",
+        "^4[0-9]*$",
+        null,
+        "^4(1|2)?[0-9]*$");
+
+    @Test
+    public void parsePrefixes_supportedRegex() {
+        assertEquals(Arrays.asList("2014", "2149", "300", "305", "309", "36", "38", "39"),
+            SmartSwitchMatcher.parsePrefixes("^(2014|2149|30[059]|3[689])[0-9]*$"));
+        assertEquals(Collections.singletonList("4"), SmartSwitchMatcher.parsePrefixes("^4\\d*$"));
+        assertEquals(100, SmartSwitchMatcher.parsePrefixes("^5[0-9]{2}[0-9]*$").size());
+    }
+
+    @Test
+    public void parsePrefixes_unsupportedRegex() {
+        assertNull(SmartSwitchMatcher.parsePrefixes("^4(1|2)?[0-9]*$"));
+        assertNull(SmartSwitchMatcher.parsePrefixes("^4[0-9]{12}$"));
+        assertNull(SmartSwitchMatcher.parsePrefixes("^4|5[0-9]*$"));
+        assertNull(SmartSwitchMatcher.parsePrefixes("^[^4][0-9]*$"));
+    }
+
+    @Test
+    public void getInstance_sameRegexes_sameMatcher() {
+        assertSame(SmartSwitchMatcher.getInstance(REGEXES), SmartSwitchMatcher.getInstance(new ArrayList<>(REGEXES)));
+    }
+
+    @Test
+    public void match_sameResultAsPatterns() {
+        SmartSwitchMatcher matcher = SmartSwitchMatcher.getInstance(REGEXES);
+        SmartSwitchMatcher.MatchState state = new SmartSwitchMatcher.MatchState();
+
+        for (int value = 0; value < 100000; value++) {
+            String text = String.valueOf(value);
+            assertEquals(text, matchPatterns(text), matcher.match(text, new SmartSwitchMatcher.MatchState()));
+            assertEquals(text, matchPatterns(text), matcher.match(text, state));
+        }
+        for (String text : new String[] { "", "4a", "a4", "42 1", "6221 26", "4111111111111111" }) {
+            assertEquals(text, matchPatterns(text), matcher.match(text, state));
+        }
+    }
+
+    @Test
+    public void match_typingAndDeleting() {
+        SmartSwitchMatcher matcher = SmartSwitchMatcher.getInstance(REGEXES);
+        SmartSwitchMatcher.MatchState state = new SmartSwitchMatcher.MatchState();
+        String number = "6221261234567890";
+
+        for (int i = 0; i <= number.length(); i++) {
+            String text = number.substring(0, i);
+            assertEquals(text, matchPatterns(text), matcher.match(text, state));
+        }
+        for (int i = number.length(); i >= 0; i--) {
+            String text = number.substring(0, i);
+            assertEquals(text, matchPatterns(text), matcher.match(text, state));
+        }
+    }
+
+    private static List<Integer> matchPatterns(String text) {
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < REGEXES.size(); i++) {
+            String regex = REGEXES.get(i);
+            if (regex != null && Pattern.compile(regex).matcher(text).matches()) {
+                indexes.add(i);
+            }
+        }
+        return indexes;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.ui.service;
+
+import static org.junit.Assume.assumeTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import com.payoneer.checkout.core.PaymentException;
+import com.payoneer.checkout.localization.LocalizationCache;
+import com.payoneer.checkout.localization.LocalizationHolder;
+import com.payoneer.checkout.network.LocalizationConnection;
+import com.payoneer.checkout.test.util.TestUtils;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import android.content.Context;
+import androidx.test.core.app.ApplicationProvider;
+
+/**
+ * Benchmark comparing the time needed to load the network localization files one at a time and in parallel.
+ * The files are served by a local mock server which delays each response to simulate the network round trip.
+ * The benchmark is skipped unless the tests are run with the "benchmark" project property, i.e.
+ * ./gradlew :checkout:testDebugUnitTest --tests '*LocalizationLoaderBenchmark' -Pbenchmark
+ */
+@RunWith(RobolectricTestRunner.class)
+public class LocalizationLoaderBenchmark {
+
+    private final static int RESPONSE_DELAY = 100;
+    private final static int[] NETWORK_COUNTS = { 1, 5, 10, 15, 20 };
+
+    private HttpServer server;
+    private String baseUrl;
+    private LocalizationHolder fallback;
+
+    @Before
+    public void setUp() throws IOException {
+        assumeTrue(Boolean.getBoolean("checkout.benchmark"));
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handleRequest);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        fallback = key -> null;
+    }
+
+    @After
+    public void tearDown() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void loadNetworkLocalizations_serialAndParallel() throws PaymentException {
+        for (int count : NETWORK_COUNTS) {
+            long serial = measureLoadTime(createLoader(1), createLinks("serial" + count, count));
+            long parallel = measureLoadTime(createLoader(LocalizationLoader.MAX_PARALLEL_DOWNLOADS),
+                createLinks("parallel" + count, count));
+            System.out.println(String.format(Locale.US, "LocalizationLoaderBenchmark networks: %d, serial: %dms, parallel: %dms",
+                count, serial, parallel));
+        }
+    }
+
+    private long measureLoadTime(LocalizationLoader loader, Map<String, URL> links) throws PaymentException {
+        long start = System.nanoTime();
+        loader.loadNetworkLocalizations(links, fallback);
+        return (System.nanoTime() - start) / 1000000;
+    }
+
+    private LocalizationLoader createLoader(int maxParallelDownloads) {
+        Context context = ApplicationProvider.getApplicationContext();
+        return new LocalizationLoader(new LocalizationConnection(context), new LocalizationCache(), maxParallelDownloads);
+    }
+
+    private Map<String, URL> createLinks(String path, int count) {
+        Map<String, URL> links = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            String code = "NETWORK" + i;
+            links.put(code, TestUtils.createTestURL(baseUrl + "/" + path + "/" + code + ".json"));
+        }
+        return links;
+    }
+
+    private void handleRequest(HttpExchange exchange) throws IOException {
+        try {
+            Thread.sleep(RESPONSE_DELAY);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        String path = exchange.getRequestURI().getPath();
+        String code = path.substring(path.lastIndexOf('/') + 1, path.lastIndexOf('.'));
+        byte[] body = ("{\"network.label\":\"" + code + "\"}").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json;charset=UTF-8");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.ui.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import com.payoneer.checkout.core.PaymentException;
+import com.payoneer.checkout.localization.LocalizationCache;
+import com.payoneer.checkout.localization.LocalizationHolder;
+import com.payoneer.checkout.network.LocalizationConnection;
+import com.payoneer.checkout.test.util.TestUtils;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import android.content.Context;
+import androidx.test.core.app.ApplicationProvider;
+
+/**
+ * Tests for the LocalizationLoader, the localization files are served by a local mock server
+ * which delays each response to simulate the network round trip and records the number of concurrent downloads.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class LocalizationLoaderTest {
+
+    private final static int RESPONSE_DELAY = 100;
+    private final static int SLOW_RESPONSE_DELAY = 1000;
+    private final static String FALLBACK_KEY = "fallback";
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private HttpServer server;
+    private String baseUrl;
+    private LocalizationHolder fallback;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handleRequest);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        fallback = key -> FALLBACK_KEY.equals(key) ? "fallback" : null;
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void loadNetworkLocalizations_allNetworksLoaded() throws PaymentException {
+        Map<String, URL> links = createLinks("all", 10);
+        Map<String, LocalizationHolder> holders = createLoader(LocalizationLoader.MAX_PARALLEL_DOWNLOADS)
+            .loadNetworkLocalizations(links, fallback);
+
+        assertEquals(10, holders.size());
+        assertEquals("NETWORK5", holders.get("NETWORK5").translate("network.label"));
+        assertEquals("fallback", holders.get("NETWORK5").translate(FALLBACK_KEY));
+    }
+
+    @Test
+    public void loadNetworkLocalizations_failedNetwork_usesFallback() throws PaymentException {
+        Map<String, URL> links = createLinks("failed", 3);
+        links.put("MISSING", TestUtils.createTestURL(baseUrl + "/failed/missing.json"));
+        Map<String, LocalizationHolder> holders = createLoader(LocalizationLoader.MAX_PARALLEL_DOWNLOADS)
+            .loadNetworkLocalizations(links, fallback);
+
+        assertEquals(4, holders.size());
+        assertSame(fallback, holders.get("MISSING"));
+        assertEquals("NETWORK1", holders.get("NETWORK1").translate("network.label"));
+    }
+
+    @Test
+    public void loadNetworkLocalizations_parallelLoader_downloadsConcurrently() throws PaymentException {
+        Map<String, URL> links = createLinks("parallel", 12);
+        Map<String, LocalizationHolder> holders = createLoader(LocalizationLoader.MAX_PARALLEL_DOWNLOADS)
+            .loadNetworkLocalizations(links, fallback);
+
+        assertEquals(12, holders.size());
+        assertTrue(maxInFlight.get() > 1);
+        assertTrue(maxInFlight.get() <= LocalizationLoader.MAX_PARALLEL_DOWNLOADS);
+    }
+
+    @Test
+    public void loadNetworkLocalizations_serialLoader_downloadsOneAtATime() throws PaymentException {
+        Map<String, URL> links = createLinks("serial", 4);
+        Map<String, LocalizationHolder> holders = createLoader(1).loadNetworkLocalizations(links, fallback);
+
+        assertEquals(4, holders.size());
+        assertEquals(1, maxInFlight.get());
+    }
+
+    @Test
+    public void loadNetworkLocalizations_interrupted_downloadsCancelled() throws InterruptedException {
+        Map<String, URL> links = createLinks("slow", 12);
+        LocalizationLoader loader = createLoader(LocalizationLoader.MAX_PARALLEL_DOWNLOADS);
+        AtomicReference<PaymentException> error = new AtomicReference<>();
+        Thread caller = new Thread(() -> {
+            try {
+                loader.loadNetworkLocalizations(links, fallback);
+            } catch (PaymentException e) {
+                error.set(e);
+            }
+        });
+        caller.start();
+        long timeout = System.currentTimeMillis() + 5000;
+        while (requests.get() == 0 && System.currentTimeMillis() < timeout) {
+            Thread.sleep(10);
+        }
+        caller.interrupt();
+        caller.join(5000);
+
+        assertFalse(caller.isAlive());
+        assertNotNull(error.get());
+        assertTrue(error.get().getCause() instanceof InterruptedException);
+
+        // downloads already in progress are completed by the server, no further files are requested
+        Thread.sleep(SLOW_RESPONSE_DELAY * 3);
+        assertTrue(requests.get() <= LocalizationLoader.MAX_PARALLEL_DOWNLOADS);
+    }
+
+    private LocalizationLoader createLoader(int maxParallelDownloads) {
+        Context context = ApplicationProvider.getApplicationContext();
+        return new LocalizationLoader(new LocalizationConnection(context), new LocalizationCache(), maxParallelDownloads);
+    }
+
+    private Map<String, URL> createLinks(String path, int count) {
+        Map<String, URL> links = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            String code = "NETWORK" + i;
+            links.put(code, TestUtils.createTestURL(baseUrl + "/" + path + "/" + code + ".json"));
+        }
+        return links;
+    }
+
+    private void handleRequest(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        requests.incrementAndGet();
+        int current = inFlight.incrementAndGet();
+        maxInFlight.accumulateAndGet(current, Math::max);
+        try {
+            Thread.sleep(path.startsWith("/slow/") ? SLOW_RESPONSE_DELAY : RESPONSE_DELAY);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+        String fileName = path.substring(path.lastIndexOf('/') + 1);
+
+        if (!fileName.startsWith("NETWORK")) {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+            return;
+        }
+        String code = fileName.substring(0, fileName.indexOf('.'));
+        byte[] body = ("{\"network.label\":\"" + code + "\"}").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json;charset=UTF-8");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.ui.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.robolectric.Shadows.shadowOf;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import com.payoneer.checkout.core.PriorityExecutor;
+import com.payoneer.checkout.core.Workers;
+import com.payoneer.checkout.localization.Localization;
+import com.payoneer.checkout.network.HttpRequest;
+import com.payoneer.checkout.network.HttpResponse;
+import com.payoneer.checkout.network.HttpTransport;
+import com.payoneer.checkout.network.InMemoryTransport;
+import com.payoneer.checkout.network.TransportProvider;
+import com.payoneer.checkout.ui.model.PaymentSession;
+
+import android.content.Context;
+import android.os.Looper;
+import androidx.test.core.app.ApplicationProvider;
+
+@RunWith(RobolectricTestRunner.class)
+public class PaymentSessionPrefetcherTest {
+
+    private final static String LIST_URL = "https://api.integration.oscato.com/pci/v1/12345";
+    private final static String LANG_URL = "https://resources.integration.oscato.com/resource/lang/en_US.json";
+    private final static String APP_JSON = "application/json;charset=UTF-8";
+    private final static String LIST_JSON = "{\"links\":{\"self\":\"" + LIST_URL + "\",\"lang\":\"" + LANG_URL + "\"},"
+        + "\"integrationType\":\"MOBILE_NATIVE\",\"operationType\":\"CHARGE\",\"networks\":{\"applicable\":[]}}";
+
+    private Context context;
+    private GatedTransport transport;
+    private PaymentSessionPrefetcher prefetcher;
+    private Localization pageLocalization;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        transport = new GatedTransport();
+        transport.responses.addResponse(LIST_URL, 200, APP_JSON, LIST_JSON);
+        transport.responses.addResponse(LANG_URL, 200, APP_JSON, "{\"button.update.label\":\"Update\"}");
+        TransportProvider.getInstance().setTransport(transport);
+
+        pageLocalization = new Localization(key -> null, new HashMap<>());
+        Localization.setInstance(pageLocalization);
+        prefetcher = PaymentSessionPrefetcher.getInstance();
+    }
+
+    @After
+    public void tearDown() {
+        transport.open();
+        prefetcher.takePaymentSession(LIST_URL);
+        awaitTasks();
+        TransportProvider.getInstance().setTransport(null);
+        Localization.setInstance(null);
+    }
+
+    @Test
+    public void getInstance() {
+        assertSame(PaymentSessionPrefetcher.getInstance(), PaymentSessionPrefetcher.getInstance());
+    }
+
+    @Test
+    public void takePaymentSession_notPrefetched_returnsNull() {
+        assertNull(prefetcher.takePaymentSession(LIST_URL));
+    }
+
+    @Test
+    public void takePaymentSession_prefetched_adoptedOnce() {
+        prefetcher.prefetch(context, LIST_URL);
+        awaitTasks();
+
+        // the prefetch does not replace the Localization of the page that is currently shown
+        assertSame(pageLocalization, Localization.getInstance());
+
+        PaymentSession session = prefetcher.takePaymentSession(LIST_URL);
+        assertNotNull(session);
+        assertEquals(LIST_URL, session.getListSelfUrl());
+        assertNotSame(pageLocalization, Localization.getInstance());
+        assertNull(prefetcher.takePaymentSession(LIST_URL));
+    }
+
+    @Test
+    public void takePaymentSession_otherList_notConsumed() {
+        prefetcher.prefetch(context, LIST_URL);
+        awaitTasks();
+
+        assertNull(prefetcher.takePaymentSession("https://api.integration.oscato.com/pci/v1/67890"));
+        assertNotNull(prefetcher.takePaymentSession(LIST_URL));
+    }
+
+    @Test
+    public void takePaymentSession_expired_returnsNull() {
+        prefetcher.prefetch(context, LIST_URL);
+        awaitTasks();
+
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(PaymentSessionPrefetcher.MAX_AGE));
+        assertNull(prefetcher.takePaymentSession(LIST_URL));
+        assertSame(pageLocalization, Localization.getInstance());
+    }
+
+    @Test
+    public void takePaymentSession_inFlight_prefetchDetached() {
+        transport.close();
+        prefetcher.prefetch(context, LIST_URL);
+
+        PaymentSessionService service = new PaymentSessionService(context);
+        RecordingListener listener = new RecordingListener();
+        service.setListener(listener);
+        service.loadPaymentSession(LIST_URL, context);
+        assertEquals(0, listener.successCount);
+
+        transport.open();
+        awaitTasks();
+        assertEquals(1, listener.successCount);
+        assertSame(service.getLocalization(), Localization.getInstance());
+
+        // the late PaymentSession of the prefetch has been discarded
+        assertNull(prefetcher.takePaymentSession(LIST_URL));
+    }
+
+    @Test
+    public void loadPaymentSession_prefetched_deliveredOnMainThread() {
+        PaymentSessionService service = new PaymentSessionService(context);
+        RecordingListener listener = new RecordingListener();
+        service.setListener(listener);
+        prefetcher.prefetch(context, LIST_URL);
+        awaitTasks();
+
+        service.loadPaymentSession(LIST_URL, context);
+        assertEquals(0, listener.successCount);
+        assertTrue(service.isActive());
+
+        shadowOf(Looper.getMainLooper()).idle();
+        assertEquals(1, listener.successCount);
+        assertEquals(0, listener.builtCount);
+        assertFalse(service.isActive());
+    }
+
+    @Test
+    public void loadPaymentSession_prefetchedAndStopped_notDelivered() {
+        PaymentSessionService service = new PaymentSessionService(context);
+        RecordingListener listener = new RecordingListener();
+        service.setListener(listener);
+        prefetcher.prefetch(context, LIST_URL);
+        awaitTasks();
+
+        service.loadPaymentSession(LIST_URL, context);
+        service.stop();
+        shadowOf(Looper.getMainLooper()).idle();
+        assertEquals(0, listener.successCount);
+    }
+
+    @Test
+    public void loadPaymentSession_reload_prefetchNotAdopted() {
+        PaymentSessionService service = new PaymentSessionService(context);
+        RecordingListener listener = new RecordingListener();
+        service.setListener(listener);
+        prefetcher.prefetch(context, LIST_URL);
+        awaitTasks();
+
+        service.loadPaymentSession(LIST_URL, context);
+        assertEquals(1, countListRequests());
+        shadowOf(Looper.getMainLooper()).idle();
+        assertEquals(1, listener.successCount);
+        assertEquals(0, listener.builtCount);
+
+        prefetcher.prefetch(context, LIST_URL);
+        awaitTasks();
+        service.loadPaymentSession(LIST_URL, context);
+        assertEquals(1, listener.successCount);
+
+        awaitTasks();
+        assertEquals(2, listener.successCount);
+        assertEquals(1, listener.builtCount);
+        assertEquals(3, countListRequests());
+        assertNotNull(prefetcher.takePaymentSession(LIST_URL));
+    }
+
+    private int countListRequests() {
+        int count = 0;
+        for (HttpRequest request : transport.responses.getRequests()) {
+            if (LIST_URL.equals(request.getUrl().toString())) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Wait until the network tasks have completed and their results have been delivered on the main thread
+     */
+    private void awaitTasks() {
+        // real time is used since the SystemClock of the main looper only advances when idled
+        PriorityExecutor executor = Workers.getInstance().forNetworkTasks();
+        long timeout = System.currentTimeMillis() + 10000;
+        do {
+            while (executor.getActiveCount() > 0 || executor.getQueueDepth() > 0) {
+                if (System.currentTimeMillis() > timeout) {
+                    fail("Network tasks did not complete in time");
+                }
+                sleep();
+            }
+            shadowOf(Looper.getMainLooper()).idle();
+        } while (executor.getActiveCount() > 0 || executor.getQueueDepth() > 0);
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(10);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Transport holding back the requests until it is opened
+     */
+    private static class GatedTransport implements HttpTransport {
+        final InMemoryTransport responses = new InMemoryTransport();
+        private volatile CountDownLatch gate = new CountDownLatch(0);
+
+        void close() {
+            gate = new CountDownLatch(1);
+        }
+
+        void open() {
+            gate.countDown();
+        }
+
+        @Override
+        public HttpResponse execute(HttpRequest request) throws IOException {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            return responses.execute(request);
+        }
+    }
+
+    private static class RecordingListener implements PaymentSessionListener {
+        int builtCount;
+        int successCount;
+
+        @Override
+        public void onPaymentSessionBuilt(PaymentSession paymentSession) {
+            builtCount++;
+        }
+
+        @Override
+        public void onPaymentSessionSuccess(PaymentSession paymentSession) {
+            successCount++;
+        }
+
+        @Override
+        public void onPaymentSessionError(Throwable cause) {
+            fail("Unexpected error: " + cause);
+        }
+    }
+}
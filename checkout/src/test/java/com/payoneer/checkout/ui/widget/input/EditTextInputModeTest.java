@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.ui.widget.input;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+
+import com.payoneer.checkout.model.InputElement;
+import com.payoneer.checkout.model.InputElementType;
+
+public class EditTextInputModeTest {
+
+    @Test
+    public void isNormalized_accountNumber() {
+        EditTextInputMode mode = new AccountNumberInputMode(34);
+        assertNormalized(mode, "4111111111111111", true);
+        assertNormalized(mode, "4111 1111 1111 1111", false);
+    }
+
+    @Test
+    public void isNormalized_numericElement() {
+        EditTextInputMode mode = new ElementInputMode(10, createElement(InputElementType.NUMERIC));
+        assertNormalized(mode, "12345", true);
+        assertNormalized(mode, "123-45", false);
+        assertNormalized(mode, "123 45", false);
+    }
+
+    @Test
+    public void isNormalized_stringElement() {
+        EditTextInputMode mode = new ElementInputMode(10, createElement(InputElementType.STRING));
+        assertNormalized(mode, "123 - 45", true);
+    }
+
+    private static void assertNormalized(EditTextInputMode mode, String value, boolean normalized) {
+        assertEquals(normalized, mode.isNormalized(new StringBuilder(value)));
+        if (normalized) {
+            assertEquals(value, mode.normalize(value));
+        } else {
+            assertFalse(value.equals(mode.normalize(value)));
+        }
+    }
+
+    private static InputElement createElement(String type) {
+        InputElement element = new InputElement();
+        element.setName("bankCode");
+        element.setType(type);
+        return element;
+    }
+}
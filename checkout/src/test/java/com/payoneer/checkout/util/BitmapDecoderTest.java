@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.util;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class BitmapDecoderTest {
+
+    @Test
+    public void calculateInSampleSize() {
+        assertEquals(1, BitmapDecoder.calculateInSampleSize(100, 60, 100, 60));
+        assertEquals(2, BitmapDecoder.calculateInSampleSize(200, 120, 100, 60));
+        assertEquals(4, BitmapDecoder.calculateInSampleSize(400, 200, 100, 50));
+        assertEquals(2, BitmapDecoder.calculateInSampleSize(400, 200, 100, 60));
+        assertEquals(1, BitmapDecoder.calculateInSampleSize(50, 30, 100, 60));
+    }
+
+    @Test
+    public void calculateInSampleSize_unknownRequestedSize() {
+        assertEquals(1, BitmapDecoder.calculateInSampleSize(400, 200, 0, 0));
+        assertEquals(4, BitmapDecoder.calculateInSampleSize(400, 200, 0, 50));
+        assertEquals(2, BitmapDecoder.calculateInSampleSize(400, 200, 200, -1));
+    }
+}
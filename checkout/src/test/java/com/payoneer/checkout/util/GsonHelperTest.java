@@ -11,6 +11,7 @@ package com.payoneer.checkout.util;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 
+import java.io.StringReader;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
@@ -20,9 +21,11 @@ import org.junit.runner.RunWith;
 import org.robolectric.RobolectricTestRunner;
 
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
 import com.payoneer.checkout.core.PaymentInputType;
 import com.payoneer.checkout.model.InputElement;
 import com.payoneer.checkout.model.InputElementType;
+import com.payoneer.checkout.model.ListResult;
 
 /**
  * Class for testing the GsonHelper methods
@@ -63,4 +66,21 @@ public class GsonHelperTest {
         assertNotNull(items);
         assertEquals(items.size(), 2);
     }
+
+    @Test
+    public void fromJson_reader() {
+        JsonReader reader = new JsonReader(new StringReader(jsonItem));
+        InputElement element = GsonHelper.getInstance().fromJson(reader, InputElement.class);
+        assertNotNull(element);
+        assertEquals(element.getName(), PaymentInputType.EXPIRY_MONTH);
+    }
+
+    @Test
+    public void warmUp() {
+        GsonHelper helper = GsonHelper.getInstance();
+        helper.warmUp();
+        helper.warmUp();
+        ListResult result = helper.fromJson("{\"resultInfo\":\"info\"}", ListResult.class);
+        assertEquals("info", result.getResultInfo());
+    }
 }
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+import static org.robolectric.Shadows.shadowOf;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import com.payoneer.checkout.core.PriorityExecutor;
+import com.payoneer.checkout.core.Workers;
+import com.payoneer.checkout.network.HttpRequest;
+import com.payoneer.checkout.network.InMemoryTransport;
+import com.payoneer.checkout.network.TransportProvider;
+
+import android.content.Context;
+import android.os.Looper;
+import android.view.ViewGroup;
+import android.widget.ImageView;
+import androidx.test.core.app.ApplicationProvider;
+
+@RunWith(RobolectricTestRunner.class)
+public class NetworkLogoLoaderTest {
+
+    /** Network code without a locally stored logo */
+    private final static String NETWORK_CODE = "TESTNETWORK";
+
+    private InMemoryTransport transport;
+    private Context context;
+    private NetworkLogoLoader loader;
+
+    @Before
+    public void setUp() {
+        transport = new InMemoryTransport();
+        TransportProvider.getInstance().setTransport(transport);
+        context = ApplicationProvider.getApplicationContext();
+        loader = NetworkLogoLoader.getInstance();
+    }
+
+    @After
+    public void tearDown() {
+        transport.release();
+        awaitLoaded();
+        TransportProvider.getInstance().setTransport(null);
+    }
+
+    @Test
+    public void loadNetworkLogo_sameLogo_requestShared() throws MalformedURLException {
+        URL url = addLogo("shared");
+        ImageView first = createView();
+        ImageView second = createView();
+
+        transport.hold();
+        NetworkLogoLoader.loadNetworkLogo(first, NETWORK_CODE, url);
+        NetworkLogoLoader.loadNetworkLogo(second, NETWORK_CODE, url);
+        transport.release();
+        awaitLoaded();
+
+        assertEquals(1, countRequests(url));
+        assertNotNull(first.getDrawable());
+        assertNotNull(second.getDrawable());
+    }
+
+    @Test
+    public void loadNetworkLogo_loaded_memoryCacheHit() throws MalformedURLException {
+        URL url = addLogo("memoryhit");
+        NetworkLogoLoader.loadNetworkLogo(createView(), NETWORK_CODE, url);
+        awaitLoaded();
+
+        int hitCount = loader.getMemoryCacheHitCount();
+        int missCount = loader.getMemoryCacheMissCount();
+        ImageView view = createView();
+        NetworkLogoLoader.loadNetworkLogo(view, NETWORK_CODE, url);
+
+        // the logo is set before the method returns
+        assertNotNull(view.getDrawable());
+        assertEquals(hitCount + 1, loader.getMemoryCacheHitCount());
+        assertEquals(missCount, loader.getMemoryCacheMissCount());
+        assertEquals(1, countRequests(url));
+    }
+
+    @Test
+    public void loadNetworkLogo_reboundWithOtherViewWaiting_requestNotCancelled() throws MalformedURLException {
+        URL url = addLogo("sharedrebound");
+        URL otherUrl = addLogo("sharedrebound_other");
+        ImageView rebound = createView();
+        ImageView waiting = createView();
+
+        transport.hold();
+        NetworkLogoLoader.loadNetworkLogo(rebound, NETWORK_CODE, url);
+        NetworkLogoLoader.loadNetworkLogo(waiting, NETWORK_CODE, url);
+        awaitRequests(url);
+        NetworkLogoLoader.loadNetworkLogo(rebound, NETWORK_CODE, otherUrl);
+        transport.release();
+        awaitLoaded();
+
+        assertEquals(0, transport.getInterruptedRequests());
+        assertEquals(1, countRequests(url));
+        assertNotNull(waiting.getDrawable());
+        assertNotNull(rebound.getDrawable());
+    }
+
+    @Test
+    public void loadNetworkLogo_reboundOnlyView_requestCancelled() throws MalformedURLException {
+        URL url = addLogo("cancelled");
+        URL otherUrl = addLogo("cancelled_other");
+        ImageView view = createView();
+
+        transport.hold();
+        NetworkLogoLoader.loadNetworkLogo(view, NETWORK_CODE, url);
+        awaitRequests(url);
+        NetworkLogoLoader.loadNetworkLogo(view, NETWORK_CODE, otherUrl);
+        assertNull(view.getDrawable());
+        transport.release();
+        awaitLoaded();
+
+        assertEquals(1, transport.getInterruptedRequests());
+        assertNotNull(view.getDrawable());
+
+        // the cancelled logo has not been stored in the memory cache
+        int missCount = loader.getMemoryCacheMissCount();
+        NetworkLogoLoader.loadNetworkLogo(createView(), NETWORK_CODE, url);
+        assertEquals(missCount + 1, loader.getMemoryCacheMissCount());
+        awaitLoaded();
+    }
+
+    private URL addLogo(String name) throws MalformedURLException {
+        String url = "https://localhost/networklogos/" + name + ".png";
+        // the legacy Robolectric BitmapFactory decodes any data into a Bitmap
+        transport.addResponse(url, 200, "image/png", "image data");
+        return new URL(url);
+    }
+
+    private ImageView createView() {
+        ImageView view = new ImageView(context);
+        view.setLayoutParams(new ViewGroup.LayoutParams(100, 60));
+        return view;
+    }
+
+    private int countRequests(URL url) {
+        int count = 0;
+        for (HttpRequest request : transport.getRequests()) {
+            if (url.toString().equals(request.getUrl().toString())) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Wait until the request for the logo has been made and is held back by the transport
+     */
+    private void awaitRequests(URL url) {
+        long timeout = System.currentTimeMillis() + 5000;
+        while (countRequests(url) == 0) {
+            if (System.currentTimeMillis() > timeout) {
+                fail("Logo has not been requested in time");
+            }
+            sleep();
+        }
+    }
+
+    /**
+     * Wait until the image tasks have completed and their results have been delivered on the main thread
+     */
+    private void awaitLoaded() {
+        PriorityExecutor executor = Workers.getInstance().forImageTasks();
+        long timeout = System.currentTimeMillis() + 5000;
+        do {
+            while (executor.getActiveCount() > 0 || executor.getQueueDepth() > 0) {
+                if (System.currentTimeMillis() > timeout) {
+                    fail("Image tasks did not complete in time");
+                }
+                sleep();
+            }
+            shadowOf(Looper.getMainLooper()).idle();
+        } while (executor.getActiveCount() > 0 || executor.getQueueDepth() > 0);
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(10);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
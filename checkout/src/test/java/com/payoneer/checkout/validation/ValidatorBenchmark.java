@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.validation;
+
+import static org.junit.Assume.assumeTrue;
+
+import java.util.Locale;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import com.payoneer.checkout.R;
+import com.payoneer.checkout.core.PaymentException;
+import com.payoneer.checkout.core.PaymentInputType;
+import com.payoneer.checkout.core.PaymentNetworkCodes;
+import com.payoneer.checkout.model.PaymentMethod;
+import com.payoneer.checkout.resource.ResourceLoader;
+
+import android.content.res.Resources;
+import androidx.test.core.app.ApplicationProvider;
+
+/**
+ * JMH-style throughput benchmark of Validator.validate, comparing the validation of typed card input with the
+ * previous validation recompiling the regexes with String.matches and allocating a ValidationResult for every call.
+ * The benchmark is skipped unless the tests are run with the "benchmark" project property, i.e.
+ * ./gradlew :checkout:testDebugUnitTest --tests '*ValidatorBenchmark' -Pbenchmark
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ValidatorBenchmark {
+
+    private final static int WARMUP_ITERATIONS = 5;
+    private final static int MEASURE_ITERATIONS = 10;
+    private final static long ITERATION_NANOS = 200_000_000L;
+
+    private final static String METHOD = PaymentMethod.CREDIT_CARD;
+    private final static String CODE = PaymentNetworkCodes.VISA;
+    private final static String[] NUMBERS = { "4", "41", "4111", "41111111", "411111111111", "4111111111111111" };
+
+    private Validator validator;
+    private String numberRegex;
+    private String verificationCodeRegex;
+    private int blackhole;
+
+    @Before
+    public void setUp() throws PaymentException {
+        assumeTrue(Boolean.getBoolean("checkout.benchmark"));
+        Resources res = ApplicationProvider.getApplicationContext().getResources();
+        validator = new Validator(ResourceLoader.loadValidations(res, R.raw.validations));
+        numberRegex = validator.getValidationRegex(CODE, PaymentInputType.ACCOUNT_NUMBER);
+        verificationCodeRegex = validator.getValidationRegex(CODE, PaymentInputType.VERIFICATION_CODE);
+    }
+
+    @Test
+    public void validate_throughput() {
+        double before = measure("before", this::validateWithStringMatches);
+        double after = measure("after", this::validateWithValidator);
+        System.out.println(String.format(Locale.US, "ValidatorBenchmark speedup: %.2fx", after / before));
+    }
+
+    private void validateWithValidator() {
+        for (String number : NUMBERS) {
+            consume(validator.validate(METHOD, CODE, PaymentInputType.ACCOUNT_NUMBER, number, null));
+        }
+        consume(validator.validate(METHOD, CODE, PaymentInputType.VERIFICATION_CODE, "123", null));
+        consume(validator.validate(METHOD, CODE, PaymentInputType.EXPIRY_DATE, "12", "2040"));
+    }
+
+    private void validateWithStringMatches() {
+        for (String number : NUMBERS) {
+            String error = null;
+            if (!number.matches(numberRegex) || !CardNumberValidator.isValidLuhn(number)) {
+                error = ValidationResult.INVALID_ACCOUNT_NUMBER;
+            }
+            consume(new ValidationResult(error));
+        }
+        consume(new ValidationResult("123".matches(verificationCodeRegex) ? null : ValidationResult.INVALID_VERIFICATION_CODE));
+        boolean expiryDate = "12".matches(Validator.REGEX_MONTH) && "2040".matches(Validator.REGEX_YEAR);
+        consume(new ValidationResult(expiryDate ? null : ValidationResult.INVALID_EXPIRY_DATE));
+    }
+
+    private double measure(String name, Runnable operation) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            runIteration(operation);
+        }
+        double min = Double.MAX_VALUE;
+        double max = 0;
+        double total = 0;
+        for (int i = 0; i < MEASURE_ITERATIONS; i++) {
+            double opsPerMs = runIteration(operation);
+            min = Math.min(min, opsPerMs);
+            max = Math.max(max, opsPerMs);
+            total += opsPerMs;
+        }
+        double mean = total / MEASURE_ITERATIONS;
+        System.out.println(String.format(Locale.US, "ValidatorBenchmark %s: %.1f ops/ms [min %.1f, max %.1f] (blackhole %d)",
+            name, mean, min, max, blackhole));
+        return mean;
+    }
+
+    private double runIteration(Runnable operation) {
+        long ops = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            operation.run();
+            ops++;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < ITERATION_NANOS);
+        return ops / (elapsed / 1_000_000.0);
+    }
+
+    private void consume(ValidationResult result) {
+        blackhole += result.isError() ? 1 : 0;
+    }
+}
@@ -11,7 +11,9 @@ package com.payoneer.checkout.validation;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.util.Calendar;
@@ -893,6 +895,41 @@ public class ValidatorTest {
         assertEquals(ValidationResult.MISSING_BIC, result.getError());
     }
 
+    @Test
+    public void validate_valid_sharedResult() throws PaymentException {
+        final Validator validator = createValidator(R.raw.validations);
+        final String method = PaymentMethod.CREDIT_CARD;
+        final String code = PaymentNetworkCodes.VISA;
+
+        assertSame(ValidationResult.VALID, validator.validate(method, code, PaymentInputType.ACCOUNT_NUMBER, "4111111111111111", null));
+        assertSame(ValidationResult.VALID, validator.validate(method, code, PaymentInputType.VERIFICATION_CODE, "123", null));
+        assertNotSame(validator.validate(method, code, PaymentInputType.VERIFICATION_CODE, "", null),
+            validator.validate(method, code, PaymentInputType.VERIFICATION_CODE, "", null));
+    }
+
+    @Test
+    public void validate_charSequence() throws PaymentException {
+        final Validator validator = createValidator(R.raw.validations);
+        final String method = PaymentMethod.CREDIT_CARD;
+        final String code = PaymentNetworkCodes.VISA;
+        final StringBuilder number = new StringBuilder("411111111111111");
+
+        assertTrue(validator.validate(method, code, PaymentInputType.ACCOUNT_NUMBER, number, null).isError());
+        number.append('1');
+        assertFalse(validator.validate(method, code, PaymentInputType.ACCOUNT_NUMBER, number, null).isError());
+        assertFalse(validator.validate(method, code, PaymentInputType.IBAN, new StringBuilder("DE27100777770209299700"), null).isError());
+    }
+
+    @Test
+    public void setMessage_validResult_messageIgnored() {
+        ValidationResult.VALID.setMessage("message");
+        assertNull(ValidationResult.VALID.getMessage());
+
+        ValidationResult result = new ValidationResult(null);
+        result.setMessage("message");
+        assertEquals("message", result.getMessage());
+    }
+
     private Validator createValidator(int resId) throws PaymentException {
         Resources res = ApplicationProvider.getApplicationContext().getResources();
         return new Validator(ResourceLoader.loadValidations(res, resId));
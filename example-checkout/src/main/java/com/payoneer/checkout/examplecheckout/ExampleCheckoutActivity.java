@@ -58,6 +58,9 @@ public final class ExampleCheckoutActivity extends AppCompatActivity {
     public void onCreate(final Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_examplecheckout);
+        if (BuildConfig.DEBUG) {
+            FrameTimeMonitor.install(getApplication());
+        }
 
         themeSwitch = findViewById(R.id.switch_theme);
         listInput = findViewById(R.id.input_listurl);
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+package com.payoneer.checkout.examplecheckout;
+
+import java.util.Locale;
+
+import android.app.Activity;
+import android.app.Application;
+import android.os.Bundle;
+import android.util.Log;
+import android.view.Choreographer;
+
+/**
+ * Class measuring the frame times of the payment page, the results are written to the log with the tag "FrameTimeMonitor".
+ * For each started Activity of the Checkout SDK the time until the first frame and the number of slow frames
+ * during the first seconds are logged, this shows the impact of changes to the loading and rendering of the payment list.
+ */
+final class FrameTimeMonitor implements Application.ActivityLifecycleCallbacks {
+
+    private final static String TAG = "FrameTimeMonitor";
+    private final static String SDK_PACKAGE = "com.payoneer.checkout.ui";
+    private final static long MEASURE_DURATION_NANOS = 5_000_000_000L;
+    private final static long SLOW_FRAME_NANOS = 17_000_000L;
+    private final static long FROZEN_FRAME_NANOS = 700_000_000L;
+
+    private static boolean installed;
+
+    private FrameTimeMonitor() {
+    }
+
+    /**
+     * Install the FrameTimeMonitor in the application, installing it more than once has no effect.
+     *
+     * @param application in which the Activities are monitored
+     */
+    static void install(Application application) {
+        if (!installed) {
+            installed = true;
+            application.registerActivityLifecycleCallbacks(new FrameTimeMonitor());
+        }
+    }
+
+    @Override
+    public void onActivityCreated(Activity activity, Bundle savedInstanceState) {
+        String name = activity.getClass().getName();
+        if (name.startsWith(SDK_PACKAGE)) {
+            Choreographer.getInstance().postFrameCallback(new FrameRecorder(activity.getClass().getSimpleName()));
+        }
+    }
+
+    @Override
+    public void onActivityStarted(Activity activity) {
+    }
+
+    @Override
+    public void onActivityResumed(Activity activity) {
+    }
+
+    @Override
+    public void onActivityPaused(Activity activity) {
+    }
+
+    @Override
+    public void onActivityStopped(Activity activity) {
+    }
+
+    @Override
+    public void onActivitySaveInstanceState(Activity activity, Bundle outState) {
+    }
+
+    @Override
+    public void onActivityDestroyed(Activity activity) {
+    }
+
+    private static class FrameRecorder implements Choreographer.FrameCallback {
+        private final String name;
+        private final long createdNanos;
+        private long firstFrameNanos;
+        private long lastFrameNanos;
+        private long maxFrameNanos;
+        private int frameCount;
+        private int slowFrameCount;
+        private int frozenFrameCount;
+
+        FrameRecorder(String name) {
+            this.name = name;
+            this.createdNanos = System.nanoTime();
+        }
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            if (firstFrameNanos == 0) {
+                firstFrameNanos = frameTimeNanos;
+                Log.i(TAG, String.format(Locale.US, "%s first frame after %.1fms", name, toMillis(frameTimeNanos - createdNanos)));
+            } else {
+                long frameNanos = frameTimeNanos - lastFrameNanos;
+                frameCount++;
+                maxFrameNanos = Math.max(maxFrameNanos, frameNanos);
+                if (frameNanos > FROZEN_FRAME_NANOS) {
+                    frozenFrameCount++;
+                } else if (frameNanos > SLOW_FRAME_NANOS) {
+                    slowFrameCount++;
+                }
+            }
+            lastFrameNanos = frameTimeNanos;
+
+            if (frameTimeNanos - firstFrameNanos < MEASURE_DURATION_NANOS) {
+                Choreographer.getInstance().postFrameCallback(this);
+                return;
+            }
+            Log.i(TAG, String.format(Locale.US, "%s frames: %d, slow: %d, frozen: %d, max: %.1fms", name, frameCount,
+                slowFrameCount, frozenFrameCount, toMillis(maxFrameNanos)));
+        }
+
+        private static double toMillis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+}